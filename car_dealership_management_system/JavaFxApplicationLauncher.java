@@ -1,36 +1,120 @@
 package com.cardealership.managementsystem;
 
+import com.cardealership.managementsystem.service.DashboardMetricsService;
 import com.cardealership.managementsystem.ui.JavaFXApplication;
+import com.cardealership.managementsystem.ui.controller.LoginController;
+import com.cardealership.managementsystem.ui.util.StartupTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.util.concurrent.CompletableFuture;
+
 public class JavaFxApplicationLauncher extends Application {
 
+    // -Dapp.fast-startup=true: show the login window first and start Spring behind it
+    private static final boolean FAST_STARTUP = Boolean.getBoolean("app.fast-startup");
+
     private ConfigurableApplicationContext applicationContext;
+    private CompletableFuture<ConfigurableApplicationContext> contextFuture;
 
     @Override
     public void init() {
+        if (FAST_STARTUP) {
+            // Start the context on a background thread; start() shows the login window meanwhile
+            contextFuture = new CompletableFuture<>();
+            Thread startup = new Thread(() -> {
+                try {
+                    contextFuture.complete(createContext(true));
+                } catch (Throwable e) {
+                    contextFuture.completeExceptionally(e);
+                }
+            }, "spring-startup");
+            startup.setDaemon(true);
+            startup.start();
+        } else {
+            this.applicationContext = createContext(false);
+            StartupTimer.mark(StartupTimer.CONTEXT_READY);
+        }
+    }
+
+    private ConfigurableApplicationContext createContext(boolean lazy) {
         // Create Spring context but avoid starting the web server
-        this.applicationContext = new SpringApplicationBuilder(CarDealershipManagementSystemApplication.class)
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CarDealershipManagementSystemApplication.class)
                 .headless(false)
-                .web(WebApplicationType.NONE)  // Fixed: Use the enum instead of boolean
-                .run(getParameters().getRaw().toArray(new String[0]));
+                .web(WebApplicationType.NONE);  // Fixed: Use the enum instead of boolean
+        if (lazy) {
+            // Beans (services, repositories, Hibernate) are created on first use; JPA bootstraps in the background
+            builder.lazyInitialization(true)
+                    .properties("spring.data.jpa.repositories.bootstrap-mode=deferred");
+        }
+        return builder.run(getParameters().getRaw().toArray(new String[0]));
     }
 
     @Override
-    public void start(Stage primaryStage) {
-        JavaFXApplication javaFXApplication = applicationContext.getBean(JavaFXApplication.class);
-        javaFXApplication.setPrimaryStage(primaryStage);
-        javaFXApplication.showLoginScreen();
+    public void start(Stage primaryStage) throws Exception {
+        if (!FAST_STARTUP) {
+            JavaFXApplication javaFXApplication = applicationContext.getBean(JavaFXApplication.class);
+            javaFXApplication.setPrimaryStage(primaryStage);
+            javaFXApplication.showLoginScreen();
+            StartupTimer.mark(StartupTimer.FIRST_FRAME);
+            if (isMeasuringWithoutLogin()) {
+                Platform.runLater(javaFXApplication::showDashboard);
+            }
+            return;
+        }
+
+        // The login controller is wired into the context once it is up
+        LoginController loginController = new LoginController();
+        primaryStage.setTitle("Car Dealership Management System");
+        primaryStage.setScene(JavaFXApplication.createLoginScene(type -> loginController));
+        primaryStage.show();
+        loginController.setStarting(true);
+        StartupTimer.mark(StartupTimer.FIRST_FRAME);
+
+        contextFuture.whenComplete((context, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText("Application failed to start");
+                alert.setContentText(error.getMessage());
+                alert.showAndWait();
+                Platform.exit();
+                return;
+            }
+
+            this.applicationContext = context;
+            context.getAutowireCapableBeanFactory().autowireBean(loginController);
+            JavaFXApplication javaFXApplication = context.getBean(JavaFXApplication.class);
+            javaFXApplication.setPrimaryStage(primaryStage);
+            loginController.setStarting(false);
+            StartupTimer.mark(StartupTimer.CONTEXT_READY);
+
+            // Warm up JPA and the dashboard queries while the user is typing credentials
+            Thread warmUp = new Thread(() -> context.getBean(DashboardMetricsService.class).getMetrics(), "startup-warm-up");
+            warmUp.setDaemon(true);
+            warmUp.start();
+
+            if (isMeasuringWithoutLogin()) {
+                javaFXApplication.showDashboard();
+            }
+        }));
+    }
+
+    // Startup measurement runs skip the login form, but only with the development login enabled
+    private static boolean isMeasuringWithoutLogin() {
+        return StartupTimer.isMeasuring() && Boolean.getBoolean("app.dev-mode");
     }
 
     @Override
     public void stop() {
-        applicationContext.close();
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
         Platform.exit();
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.cardealership.managementsystem.benchmark;
+
+import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.model.Customer;
+import com.cardealership.managementsystem.model.Employee;
+import com.cardealership.managementsystem.model.Sale;
+import com.cardealership.managementsystem.service.DashboardMetricsService;
+import com.cardealership.managementsystem.service.SalesRollupService;
+import com.cardealership.managementsystem.service.SchemaMigrationRunner;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Bulk-loads synthetic inventory, customers, salespeople and sales through a Hibernate
+ * {@link StatelessSession}, committing every {@link #CHUNK_SIZE} rows so millions of rows
+ * can be generated without growing the persistence context. Data is derived from a fixed
+ * random seed, so runs with the same volumes see the same data.
+ */
+class BenchmarkDataSeeder {
+
+    static final String[] MAKES = {"Toyota", "Honda", "Ford", "Chevrolet", "BMW", "Audi", "Nissan", "Hyundai", "Kia", "Mazda"};
+    static final String[] MODELS = {"Sedan", "Coupe", "Hatchback", "SUV", "Pickup"};
+    static final String[] COLORS = {"Black", "White", "Silver", "Red", "Blue", "Grey"};
+    static final String[] CONDITIONS = {"New", "Used", "Certified Pre-Owned"};
+    static final String[] PAYMENT_METHODS = {"Cash", "Credit Card", "Financing", "Lease"};
+    static final int MIN_YEAR = 2005;
+    static final int MAX_YEAR = 2025;
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final SessionFactory sessionFactory;
+    private final Random random;
+
+    BenchmarkDataSeeder(SessionFactory sessionFactory, long seed) {
+        this.sessionFactory = sessionFactory;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Seed the database of a running application, then fill the derived tables and columns
+     * the services rely on.
+     */
+    static SeededData seed(ConfigurableApplicationContext context, int cars, int sales,
+                           int customers, int salespeople, long seed) {
+        SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+        SeededData data = new BenchmarkDataSeeder(sessionFactory, seed).seed(cars, sales, customers, salespeople);
+
+        // Stateless inserts skip entity callbacks, so fill the derived tables and columns afterwards
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.executeWithoutResult(status ->
+                context.getBean(SchemaMigrationRunner.class).backfillSearchKeys());
+        context.getBean(SalesRollupService.class).rebuild();
+        context.getBean(DashboardMetricsService.class).invalidate();
+        return data;
+    }
+
+    /**
+     * Seed the database. The first {@code sales} cars are sold; the rest stay available.
+     */
+    SeededData seed(int cars, int sales, int customers, int salespeople) {
+        SeededData data = new SeededData(cars, sales, customers);
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            Employee[] salespeopleRows = new Employee[salespeople];
+            for (int i = 0; i < salespeople; i++) {
+                Employee employee = new Employee("Sales" + i, "Person" + i, "salesperson" + i + "@example.com",
+                        "555-01" + i, "Salesperson", new BigDecimal("45000"), new BigDecimal("0.02"));
+                session.insert(employee);
+                salespeopleRows[i] = employee;
+            }
+            data.salespersonIds = new long[salespeople];
+            for (int i = 0; i < salespeople; i++) {
+                data.salespersonIds[i] = salespeopleRows[i].getId();
+            }
+
+            Customer[] customerRows = new Customer[customers];
+            for (int i = 0; i < customers; i++) {
+                Customer customer = new Customer("First" + i, "Last" + i, customerEmail(i),
+                        "555-" + (1_000_000 + i), i + " Main Street");
+                session.insert(customer);
+                customerRows[i] = customer;
+                data.customerIds[i] = customer.getId();
+                transaction = commitChunk(session, transaction, i);
+            }
+
+            LocalDate today = LocalDate.now();
+            for (int i = 0; i < cars; i++) {
+                Car car = new Car(pick(MAKES), pick(MODELS), MIN_YEAR + random.nextInt(MAX_YEAR - MIN_YEAR + 1),
+                        String.format("VIN%014d", i), pick(COLORS), pick(CONDITIONS),
+                        BigDecimal.valueOf(5_000 + random.nextInt(95_000)), random.nextInt(150_000));
+                car.setSold(i < sales);
+                session.insert(car);
+                data.carIds[i] = car.getId();
+
+                if (i < sales) {
+                    Sale sale = new Sale(car, customerRows[random.nextInt(customers)],
+                            salespeopleRows[random.nextInt(salespeople)], car.getPrice(),
+                            car.getPrice().multiply(new BigDecimal("0.08")), pick(PAYMENT_METHODS));
+                    // Spread sales over the last three years so monthly rollups have history
+                    sale.setSaleDate(today.minusDays(random.nextInt(3 * 365)));
+                    session.insert(sale);
+                } else {
+                    data.unsoldCarIds[i - sales] = car.getId();
+                }
+                transaction = commitChunk(session, transaction, i);
+            }
+            transaction.commit();
+        }
+        return data;
+    }
+
+    static String customerEmail(int index) {
+        return "customer" + index + "@example.com";
+    }
+
+    private Transaction commitChunk(StatelessSession session, Transaction transaction, int index) {
+        if ((index + 1) % CHUNK_SIZE != 0) {
+            return transaction;
+        }
+        transaction.commit();
+        return session.beginTransaction();
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Ids of the seeded rows, used by the benchmarks to pick operation arguments.
+     */
+    static class SeededData {
+        final long[] carIds;
+        final long[] unsoldCarIds;
+        final long[] customerIds;
+        long[] salespersonIds;
+
+        SeededData(int cars, int sales, int customers) {
+            this.carIds = new long[cars];
+            this.unsoldCarIds = new long[cars - sales];
+            this.customerIds = new long[customers];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.cardealership.managementsystem.benchmark;
+
+/**
+ * Throughput and latency percentiles of one benchmarked operation.
+ */
+public class BenchmarkResult {
+
+    private String name;
+    private long operations;
+    private double opsPerSecond;
+    private double meanMicros;
+    private double p50Micros;
+    private double p95Micros;
+    private double p99Micros;
+    private double maxMicros;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public void setOperations(long operations) {
+        this.operations = operations;
+    }
+
+    public double getOpsPerSecond() {
+        return opsPerSecond;
+    }
+
+    public void setOpsPerSecond(double opsPerSecond) {
+        this.opsPerSecond = opsPerSecond;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public void setMeanMicros(double meanMicros) {
+        this.meanMicros = meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public void setP50Micros(double p50Micros) {
+        this.p50Micros = p50Micros;
+    }
+
+    public double getP95Micros() {
+        return p95Micros;
+    }
+
+    public void setP95Micros(double p95Micros) {
+        this.p95Micros = p95Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public void setP99Micros(double p99Micros) {
+        this.p99Micros = p99Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+
+    public void setMaxMicros(double maxMicros) {
+        this.maxMicros = maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-48s %10d ops %12.1f ops/s  p50 %10.1f us  p95 %10.1f us  p99 %10.1f us",
+                name, operations, opsPerSecond, p50Micros, p95Micros, p99Micros);
+    }
+}
\ No newline at end of file
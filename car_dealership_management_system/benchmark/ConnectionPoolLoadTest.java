@@ -0,0 +1,214 @@
+package com.cardealership.managementsystem.benchmark;
+
+import com.cardealership.managementsystem.CarDealershipManagementSystemApplication;
+import com.cardealership.managementsystem.dto.ConnectionPoolStats;
+import com.cardealership.managementsystem.metrics.ConnectionPoolMetrics;
+import com.cardealership.managementsystem.service.SaleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Month-end rush simulation: many threads calling {@code SaleService.processSale} at once,
+ * run twice against fresh embedded H2 databases, first with Hikari's defaults and then with
+ * the {@code ConnectionPoolTuning} settings of the server profile. Prints and writes throughput, latency
+ * percentiles and connection-acquire times for both runs, plus the change between them.
+ *
+ * <p>Options (all optional):</p>
+ * <pre>
+ *   --threads=64              concurrent callers
+ *   --sales-per-thread=50     measured processSale calls per thread
+ *   --warmup-per-thread=10    unmeasured calls per thread before measuring
+ *   --pool-size=0             tuned pool size; 0 uses the server profile's default
+ *   --seed=42
+ *   --out=pool-load-test.json
+ * </pre>
+ */
+public class ConnectionPoolLoadTest {
+
+    private static final int CUSTOMERS = 500;
+    private static final int SALESPEOPLE = 50;
+
+    private final DefaultApplicationArguments arguments;
+
+    private ConnectionPoolLoadTest(String[] args) {
+        this.arguments = new DefaultApplicationArguments(args);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ConnectionPoolLoadTest(args).run();
+    }
+
+    private void run() throws Exception {
+        int threads = intOption("threads", 64);
+        int salesPerThread = intOption("sales-per-thread", 50);
+        int warmupPerThread = intOption("warmup-per-thread", 10);
+        int poolSize = intOption("pool-size", 0);
+        long seed = intOption("seed", 42);
+        File out = new File(stringOption("out", "pool-load-test.json"));
+
+        Map<String, Object> baselineProperties = Map.of("app.datasource.pool.tuning-enabled", "false");
+        Map<String, Object> tunedProperties = poolSize > 0
+                ? Map.of("app.datasource.pool.profile", "server", "app.datasource.pool.max-size", String.valueOf(poolSize))
+                : Map.of("app.datasource.pool.profile", "server");
+
+        Map<String, RunResult> runs = new LinkedHashMap<>();
+        runs.put("hikari-defaults", measure("baseline", baselineProperties, threads, warmupPerThread, salesPerThread, seed));
+        runs.put("tuned", measure("tuned", tunedProperties, threads, warmupPerThread, salesPerThread, seed));
+
+        RunResult before = runs.get("hikari-defaults");
+        RunResult after = runs.get("tuned");
+        System.out.printf("Tuned vs defaults: throughput %+.1f%%, p99 %+.1f%%, acquire p99 %.1f ms -> %.1f ms%n",
+                change(before.result.getOpsPerSecond(), after.result.getOpsPerSecond()),
+                change(before.result.getP99Micros(), after.result.getP99Micros()),
+                before.pool.getAcquireP99Millis(), after.pool.getAcquireP99Millis());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("threads", threads);
+        report.put("salesPerThread", salesPerThread);
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("runs", runs);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out, report);
+        System.out.println("Results written to " + out.getAbsolutePath());
+    }
+
+    private RunResult measure(String name, Map<String, Object> poolProperties, int threads, int warmupPerThread,
+                              int salesPerThread, long seed) throws Exception {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:pool-" + name + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,VALUE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(poolProperties);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CarDealershipManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .logStartupInfo(false)
+                .properties(properties)
+                .run()) {
+
+            int cars = threads * (warmupPerThread + salesPerThread);
+            BenchmarkDataSeeder.SeededData data = BenchmarkDataSeeder.seed(context, cars, 0, CUSTOMERS, SALESPEOPLE, seed);
+            SaleService saleService = context.getBean(SaleService.class);
+            ConnectionPoolMetrics poolMetrics = context.getBean(ConnectionPoolMetrics.class);
+
+            int[] nextCar = {0};
+            rush(saleService, data, threads, warmupPerThread, nextCar, seed);
+            poolMetrics.reset();
+            RunResult run = rush(saleService, data, threads, salesPerThread, nextCar, seed);
+            run.result.setName(name);
+            run.pool = poolMetrics.snapshot("primary");
+
+            System.out.println(run.result);
+            System.out.printf("  pool %d connections, acquire p50 %.2f ms, p99 %.2f ms, max %.2f ms, %d timeouts, %d failed sales%n",
+                    run.pool.getMaxConnections(), run.pool.getAcquireP50Millis(), run.pool.getAcquireP99Millis(),
+                    run.pool.getAcquireMaxMillis(), run.pool.getTimeouts(), run.failures);
+            return run;
+        }
+    }
+
+    /**
+     * Release all threads at once, each selling its own cars, and time every call.
+     */
+    private RunResult rush(SaleService saleService, BenchmarkDataSeeder.SeededData data, int threads,
+                           int salesPerThread, int[] nextCar, long seed) throws Exception {
+        int firstCar = nextCar[0];
+        nextCar[0] += threads * salesPerThread;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong failures = new AtomicLong();
+        List<Future<LatencyRecorder>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = firstCar + t * salesPerThread;
+            Random random = new Random(seed + t);
+            futures.add(executor.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                start.await();
+                for (int i = 0; i < salesPerThread; i++) {
+                    long before = System.nanoTime();
+                    try {
+                        saleService.processSale(data.unsoldCarIds[offset + i],
+                                data.customerIds[random.nextInt(data.customerIds.length)],
+                                data.salespersonIds[random.nextInt(data.salespersonIds.length)],
+                                new BigDecimal("25000"), new BigDecimal("2000"), "Cash");
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                    recorder.record(System.nanoTime() - before);
+                }
+                return recorder;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        LatencyRecorder all = new LatencyRecorder();
+        for (Future<LatencyRecorder> future : futures) {
+            all.addAll(future.get());
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        RunResult run = new RunResult();
+        run.result = all.summarize("processSale", elapsed);
+        run.failures = failures.get();
+        return run;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100.0 / before;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : Integer.parseInt(values.get(0));
+    }
+
+    private String stringOption(String name, String defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    /**
+     * Outcome of one configuration, serialized into the report.
+     */
+    public static class RunResult {
+        BenchmarkResult result;
+        ConnectionPoolStats pool;
+        long failures;
+
+        public BenchmarkResult getResult() {
+            return result;
+        }
+
+        public ConnectionPoolStats getPool() {
+            return pool;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+    }
+}
\ No newline at end of file
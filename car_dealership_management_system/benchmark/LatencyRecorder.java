@@ -0,0 +1,67 @@
+package com.cardealership.managementsystem.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Collects per-operation latencies in nanoseconds and summarizes them as a
+ * {@link BenchmarkResult}.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * Add every sample of another recorder, e.g. to combine per-thread recorders.
+     */
+    void addAll(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samples[i]);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    BenchmarkResult summarize(String name, long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+
+        BenchmarkResult result = new BenchmarkResult();
+        result.setName(name);
+        result.setOperations(count);
+        result.setOpsPerSecond(count == 0 ? 0 : count * 1_000_000_000.0 / elapsedNanos);
+        result.setMeanMicros(count == 0 ? 0 : micros(total / count));
+        result.setP50Micros(micros(percentile(sorted, 0.50)));
+        result.setP95Micros(micros(percentile(sorted, 0.95)));
+        result.setP99Micros(micros(percentile(sorted, 0.99)));
+        result.setMaxMicros(count == 0 ? 0 : micros(sorted[count - 1]));
+        return result;
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double micros(long nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.cardealership.managementsystem.benchmark;
+
+import com.cardealership.managementsystem.CarDealershipManagementSystemApplication;
+import com.cardealership.managementsystem.config.ReplicaRoutingDataSource;
+import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.service.CarService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * End-to-end check of read-replica routing against two in-memory H2 databases standing in
+ * for a primary and a replica. The replica is seeded with different rows than the primary,
+ * so the row count a service call sees tells which database served it:
+ *
+ * <ol>
+ *     <li>read-only service calls go to the replica;</li>
+ *     <li>writes, and reads inside a read-write transaction, go to the primary;</li>
+ *     <li>once the replica reports more lag than allowed, reads fall back to the primary,
+ *     and return to the replica when it catches up.</li>
+ * </ol>
+ *
+ * <p>Run with the application classpath; exits with status 1 if any check fails.</p>
+ */
+public class ReplicaRoutingCheck {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,VALUE";
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,VALUE";
+    private static final int REPLICA_CARS = 2;
+    private static final int PRIMARY_CARS = 1;
+
+    private int failures;
+
+    public static void main(String[] args) throws Exception {
+        ReplicaRoutingCheck check = new ReplicaRoutingCheck();
+        check.run();
+        System.exit(check.failures == 0 ? 0 : 1);
+    }
+
+    private void run() throws Exception {
+        // The replica gets its schema and rows from a context of its own, as if replicated
+        try (ConfigurableApplicationContext replica = start(REPLICA_URL, "create", Map.of())) {
+            seedCars(replica.getBean(CarService.class), "Replica", REPLICA_CARS);
+        }
+        setReplicaLag(0);
+
+        Map<String, Object> routing = new LinkedHashMap<>();
+        routing.put("app.datasource.replica-urls", REPLICA_URL);
+        routing.put("app.datasource.replica-lag-query", "SELECT seconds FROM replica_lag");
+        routing.put("app.datasource.replica-max-lag-seconds", "5");
+        routing.put("app.datasource.replica-check-interval-seconds", "3600");
+
+        try (ConfigurableApplicationContext context = start(PRIMARY_URL, "create-drop", routing)) {
+            CarService carService = context.getBean(CarService.class);
+            ReplicaRoutingDataSource router = context.getBean(DataSource.class).unwrap(ReplicaRoutingDataSource.class);
+            TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            router.checkReplicas();
+
+            seedCars(carService, "Primary", PRIMARY_CARS);
+            expect("read-only call is served by the replica", REPLICA_CARS, carService.countCars());
+            expect("read inside a read-write transaction stays on the primary", PRIMARY_CARS,
+                    readWrite.execute(status -> carService.countCars()));
+
+            setReplicaLag(60);
+            router.checkReplicas();
+            expect("lagging replica is skipped", PRIMARY_CARS, carService.countCars());
+
+            setReplicaLag(0);
+            router.checkReplicas();
+            expect("caught-up replica is used again", REPLICA_CARS, carService.countCars());
+        }
+
+        System.out.println(failures == 0 ? "All routing checks passed" : failures + " routing check(s) failed");
+    }
+
+    private static ConfigurableApplicationContext start(String url, String ddlAuto, Map<String, Object> extra) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", url);
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", ddlAuto);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(extra);
+
+        return new SpringApplicationBuilder(CarDealershipManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .logStartupInfo(false)
+                .properties(properties)
+                .run();
+    }
+
+    private static void seedCars(CarService carService, String make, int count) {
+        for (int i = 0; i < count; i++) {
+            carService.saveCar(new Car(make, "Check", 2024, make.toUpperCase() + "-VIN-" + i, "White",
+                    "New", new BigDecimal("20000"), 0));
+        }
+    }
+
+    private static void setReplicaLag(double seconds) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+            statement.execute("DELETE FROM replica_lag");
+            statement.execute("INSERT INTO replica_lag VALUES (" + seconds + ")");
+        }
+    }
+
+    private void expect(String check, long expectedCars, Long actualCars) {
+        boolean passed = actualCars != null && actualCars == expectedCars;
+        if (!passed) {
+            failures++;
+        }
+        System.out.printf("%s %s (expected %d cars, saw %s)%n", passed ? "PASS" : "FAIL", check, expectedCars, actualCars);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.cardealership.managementsystem.benchmark;
+
+import com.cardealership.managementsystem.CarDealershipManagementSystemApplication;
+import com.cardealership.managementsystem.exception.SaleProcessingException;
+import com.cardealership.managementsystem.repository.CarRepository;
+import com.cardealership.managementsystem.repository.SaleRepository;
+import com.cardealership.managementsystem.service.SaleService;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Races many threads to sell the same car and checks that exactly one sale goes through:
+ * one call returns a sale, every other call is rejected with a SaleProcessingException
+ * ("Car is already sold", or "being sold concurrently" once the retries run out), and the
+ * car ends up with a single sale row. Runs once with row locks (the default) and once
+ * relying on the @Version check alone ({@code app.sales.pessimistic-locking=false}).
+ *
+ * <p>Options (all optional):</p>
+ * <pre>
+ *   --threads=32    concurrent callers per car
+ *   --rounds=20     cars raced, one after another
+ * </pre>
+ *
+ * <p>Run with the application classpath; exits with status 1 if any round fails.</p>
+ */
+public class SaleContentionCheck {
+
+    private static final int CUSTOMERS = 10;
+    private static final int SALESPEOPLE = 5;
+    private static final String REJECTED = "rejected";
+
+    private final DefaultApplicationArguments arguments;
+    private int failures;
+
+    private SaleContentionCheck(String[] args) {
+        this.arguments = new DefaultApplicationArguments(args);
+    }
+
+    public static void main(String[] args) throws Exception {
+        SaleContentionCheck check = new SaleContentionCheck(args);
+        check.run();
+        System.exit(check.failures == 0 ? 0 : 1);
+    }
+
+    private void run() throws Exception {
+        int threads = intOption("threads", 32);
+        int rounds = intOption("rounds", 20);
+
+        race("pessimistic", Map.of("app.sales.pessimistic-locking", "true"), threads, rounds);
+        race("optimistic", Map.of("app.sales.pessimistic-locking", "false"), threads, rounds);
+
+        System.out.println(failures == 0 ? "All contention checks passed" : failures + " contention check(s) failed");
+    }
+
+    private void race(String name, Map<String, Object> lockingProperties, int threads, int rounds) throws Exception {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:contention-" + name + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,VALUE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        // Enough connections for every racer, so the race is decided by the database
+        properties.put("app.datasource.pool.max-size", String.valueOf(threads));
+        properties.putAll(lockingProperties);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CarDealershipManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .logStartupInfo(false)
+                .properties(properties)
+                .run()) {
+
+            BenchmarkDataSeeder.SeededData data = BenchmarkDataSeeder.seed(context, rounds, 0, CUSTOMERS, SALESPEOPLE, 42);
+            SaleService saleService = context.getBean(SaleService.class);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                for (int round = 0; round < rounds; round++) {
+                    long carId = data.unsoldCarIds[round];
+                    Outcome outcome = raceForCar(executor, saleService, data, carId, threads);
+                    long saleRows = countSales(context, carId);
+                    boolean passed = outcome.sold == 1 && outcome.unexpected.isEmpty() && saleRows == 1;
+                    if (!passed) {
+                        failures++;
+                    }
+                    System.out.printf("%s %s car %d: %d sold, %d rejected, %d sale row(s)%s%n",
+                            passed ? "PASS" : "FAIL", name, carId, outcome.sold, outcome.rejected, saleRows,
+                            outcome.unexpected.isEmpty() ? "" : ", unexpected errors: " + outcome.unexpected);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Release all threads at once, each trying to sell the same car.
+     */
+    private static Outcome raceForCar(ExecutorService executor, SaleService saleService,
+                                      BenchmarkDataSeeder.SeededData data, long carId, int threads) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long customerId = data.customerIds[t % data.customerIds.length];
+            long salespersonId = data.salespersonIds[t % data.salespersonIds.length];
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    saleService.processSale(carId, customerId, salespersonId,
+                            new BigDecimal("25000"), new BigDecimal("2000"), "Cash");
+                    return null;
+                } catch (SaleProcessingException e) {
+                    return REJECTED;
+                } catch (RuntimeException e) {
+                    return e.getClass().getSimpleName() + ": " + e.getMessage();
+                }
+            }));
+        }
+        start.countDown();
+
+        Outcome outcome = new Outcome();
+        for (Future<String> future : futures) {
+            String error = future.get();
+            if (error == null) {
+                outcome.sold++;
+            } else if (error.equals(REJECTED)) {
+                outcome.rejected++;
+            } else {
+                outcome.unexpected.add(error);
+            }
+        }
+        return outcome;
+    }
+
+    private static long countSales(ConfigurableApplicationContext context, long carId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        return transactionTemplate.execute(status -> (long) context.getBean(SaleRepository.class)
+                .findByCar(context.getBean(CarRepository.class).getReferenceById(carId)).size());
+    }
+
+    private int intOption(String name, int defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : Integer.parseInt(values.get(0));
+    }
+
+    private static final class Outcome {
+        private int sold;
+        private int rejected;
+        private final List<String> unexpected = new ArrayList<>();
+    }
+}
\ No newline at end of file
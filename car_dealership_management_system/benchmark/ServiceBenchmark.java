@@ -0,0 +1,271 @@
+package com.cardealership.managementsystem.benchmark;
+
+import com.cardealership.managementsystem.CarDealershipManagementSystemApplication;
+import com.cardealership.managementsystem.search.InventoryQuery;
+import com.cardealership.managementsystem.service.CarService;
+import com.cardealership.managementsystem.service.CustomerService;
+import com.cardealership.managementsystem.service.SaleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks the service-layer hot paths against an embedded H2 database seeded with
+ * synthetic data. Each operation is warmed up, then run for a fixed time while every call
+ * is timed; throughput and latency percentiles are printed and written as JSON.
+ *
+ * <p>Options (all optional):</p>
+ * <pre>
+ *   --cars=10000            cars to seed (10k to 10M)
+ *   --sales=5000            sales to seed, at most cars; defaults to half the cars
+ *   --customers=500         customers to seed; defaults to cars / 20
+ *   --salespeople=50        salespeople to seed
+ *   --warmup-seconds=2      warm-up time per operation
+ *   --measure-seconds=10    measured time per operation
+ *   --include=regex         only run operations whose name matches
+ *   --seed=42               random seed for data and arguments
+ *   --db-url=jdbc:h2:...    database to seed (defaults to an in-memory H2)
+ *   --out=benchmark-results.json
+ *   --baseline=previous.json   print the change against an earlier results file
+ * </pre>
+ */
+public class ServiceBenchmark {
+
+    private final Map<String, Object> config = new LinkedHashMap<>();
+    private final DefaultApplicationArguments arguments;
+
+    private ServiceBenchmark(String[] args) {
+        this.arguments = new DefaultApplicationArguments(args);
+    }
+
+    public static void main(String[] args) throws IOException {
+        new ServiceBenchmark(args).run();
+    }
+
+    private void run() throws IOException {
+        int cars = intOption("cars", 10_000);
+        int sales = Math.min(cars, intOption("sales", cars / 2));
+        int customers = Math.max(1, intOption("customers", Math.max(100, cars / 20)));
+        int salespeople = Math.max(1, intOption("salespeople", 50));
+        int warmupSeconds = intOption("warmup-seconds", 2);
+        int measureSeconds = intOption("measure-seconds", 10);
+        long seed = intOption("seed", 42);
+        Pattern include = Pattern.compile(stringOption("include", ".*"));
+        String dbUrl = stringOption("db-url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,VALUE");
+        File out = new File(stringOption("out", "benchmark-results.json"));
+        String baseline = stringOption("baseline", null);
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", dbUrl);
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CarDealershipManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .logStartupInfo(false)
+                .properties(properties)
+                .run()) {
+
+            long seedStart = System.nanoTime();
+            BenchmarkDataSeeder.SeededData data = BenchmarkDataSeeder.seed(context, cars, sales, customers, salespeople, seed);
+            System.out.printf("Seeded %d cars, %d sales, %d customers, %d salespeople in %d s%n",
+                    cars, sales, customers, salespeople, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+
+            List<BenchmarkResult> results = new ArrayList<>();
+            Random random = new Random(seed);
+            for (Map.Entry<String, Operation> operation : operations(context, data, random).entrySet()) {
+                if (include.matcher(operation.getKey()).find()) {
+                    BenchmarkResult result = measure(operation.getKey(), operation.getValue(), warmupSeconds, measureSeconds);
+                    System.out.println(result);
+                    results.add(result);
+                }
+            }
+
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            writeReport(objectMapper, out, results);
+            if (baseline != null) {
+                compare(objectMapper, new File(baseline), results);
+            }
+        }
+    }
+
+    /**
+     * The benchmarked operations, in report order. Names stay stable across runs so result
+     * files can be compared.
+     */
+    private Map<String, Operation> operations(ConfigurableApplicationContext context,
+                                              BenchmarkDataSeeder.SeededData data, Random random) {
+        CarService carService = context.getBean(CarService.class);
+        CustomerService customerService = context.getBean(CustomerService.class);
+        SaleService saleService = context.getBean(SaleService.class);
+
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        operations.put("CarService.getCarById",
+                unlimited(() -> carService.getCarById(pick(random, data.carIds))));
+        operations.put("CarService.searchCars",
+                unlimited(() -> carService.searchCars(pick(random, BenchmarkDataSeeder.MAKES),
+                        pick(random, BenchmarkDataSeeder.MODELS),
+                        BenchmarkDataSeeder.MIN_YEAR + random.nextInt(BenchmarkDataSeeder.MAX_YEAR - BenchmarkDataSeeder.MIN_YEAR + 1))));
+        operations.put("CarService.searchInventory(make OR make, available, price range)",
+                unlimited(() -> carService.searchInventory(
+                        InventoryQuery.make(pick(random, BenchmarkDataSeeder.MAKES))
+                                .or(InventoryQuery.make(pick(random, BenchmarkDataSeeder.MAKES)))
+                                .and(InventoryQuery.sold(false))
+                                .and(InventoryQuery.priceBetween(new BigDecimal("20000"), new BigDecimal("30000"))))));
+        operations.put("CarService.getCarsByMake",
+                unlimited(() -> carService.getCarsByMake(pick(random, BenchmarkDataSeeder.MAKES))));
+        operations.put("CustomerService.findByEmail",
+                unlimited(() -> customerService.findByEmail(
+                        BenchmarkDataSeeder.customerEmail(random.nextInt(data.customerIds.length)))));
+        operations.put("CustomerService.findTopCustomersByPurchaseCount",
+                unlimited(customerService::findTopCustomersByPurchaseCount));
+        operations.put("CustomerService.findTopCustomers(10)",
+                unlimited(() -> customerService.findTopCustomers(10, null, null)));
+        operations.put("SaleService.getSaleSummariesPage",
+                unlimited(() -> saleService.getSaleSummariesPage(null, 50)));
+        operations.put("SaleService.getMonthlySalesTotals",
+                unlimited(saleService::getMonthlySalesTotals));
+
+        // Each processSale consumes one available car, so the budget is the unsold inventory
+        int[] nextCar = {0};
+        operations.put("SaleService.processSale", new Operation(data.unsoldCarIds.length, () -> {
+            long carId = data.unsoldCarIds[nextCar[0]++];
+            saleService.processSale(carId, pick(random, data.customerIds), pick(random, data.salespersonIds),
+                    new BigDecimal("25000"), new BigDecimal("2000"), "Cash");
+        }));
+        return operations;
+    }
+
+    private BenchmarkResult measure(String name, Operation operation, int warmupSeconds, int measureSeconds) {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        while (System.nanoTime() < warmupEnd && operation.hasBudget()) {
+            operation.run();
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(measureSeconds);
+        long now = start;
+        // Always measure at least one call, even for operations slower than the window
+        while ((now < end || recorder.count() == 0) && operation.hasBudget()) {
+            long before = now;
+            operation.run();
+            now = System.nanoTime();
+            recorder.record(now - before);
+        }
+        return recorder.summarize(name, now - start);
+    }
+
+    private void writeReport(ObjectMapper objectMapper, File out, List<BenchmarkResult> results) throws IOException {
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", config);
+        report.put("environment", environment);
+        report.put("results", results);
+
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, report);
+        System.out.println("Results written to " + out.getAbsolutePath());
+    }
+
+    private void compare(ObjectMapper objectMapper, File baselineFile, List<BenchmarkResult> results) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselineFile);
+        if (!config.equals(objectMapper.convertValue(baseline.path("config"), Map.class))) {
+            System.out.println("Warning: baseline was run with a different configuration " + baseline.path("config"));
+        }
+
+        Map<String, JsonNode> previous = new LinkedHashMap<>();
+        baseline.path("results").forEach(node -> previous.put(node.path("name").asText(), node));
+
+        System.out.println("Change against " + baselineFile.getName() + ":");
+        for (BenchmarkResult result : results) {
+            JsonNode before = previous.get(result.getName());
+            if (before == null) {
+                System.out.printf("%-48s (new)%n", result.getName());
+                continue;
+            }
+            System.out.printf("%-48s throughput %+7.1f%%  p99 %+7.1f%%%n", result.getName(),
+                    change(before.path("opsPerSecond").asDouble(), result.getOpsPerSecond()),
+                    change(before.path("p99Micros").asDouble(), result.getP99Micros()));
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100.0 / before;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        int value = values == null || values.isEmpty() ? defaultValue : Integer.parseInt(values.get(0));
+        config.put(name, value);
+        return value;
+    }
+
+    private String stringOption(String name, String defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        String value = values == null || values.isEmpty() ? defaultValue : values.get(0);
+        // Output locations don't change what is measured, so keep them out of the compared config
+        if (!"out".equals(name) && !"baseline".equals(name)) {
+            config.put(name, value);
+        }
+        return value;
+    }
+
+    private static long pick(Random random, long[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Operation unlimited(Runnable action) {
+        return new Operation(Long.MAX_VALUE, action);
+    }
+
+    /**
+     * A benchmarked call with an optional limit on how often it may run.
+     */
+    private static class Operation {
+        private final Runnable action;
+        private long remaining;
+
+        Operation(long budget, Runnable action) {
+            this.remaining = budget;
+            this.action = action;
+        }
+
+        boolean hasBudget() {
+            return remaining > 0;
+        }
+
+        void run() {
+            remaining--;
+            action.run();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.cardealership.managementsystem.config;
+
+import com.cardealership.managementsystem.dto.CarResponse;
+import com.cardealership.managementsystem.dto.CustomerResponse;
+import com.cardealership.managementsystem.dto.EmployeeResponse;
+import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.model.Customer;
+import com.cardealership.managementsystem.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches for read-mostly reference data (cars, customers, salespeople). One region per
+ * entity or finder, each wrapped in a {@link CountingCache} so hit rates can be inspected.
+ * The cache advice runs outside the transaction advice, so evictions happen after commit.
+ *
+ * <p>Regions hold immutable DTO snapshots and hand out new detached entities (see
+ * {@link SnapshotCache}). Each region holds at most {@code app.cache.max-rows} rows
+ * (default 1000; a cached list counts as its size, so a larger table is not cached) and
+ * drops entries {@code app.cache.ttl-seconds} (default 30) after they were stored. Writes
+ * on this terminal evict right away; the TTL bounds how long writes made on other
+ * terminals, such as their sales, go unseen.</p>
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 10)
+public class CacheConfig {
+
+    // Cars by id
+    public static final String CARS = "cars";
+
+    // Result of CarService.getAvailableCars
+    public static final String AVAILABLE_CARS = "availableCars";
+
+    // Result of CustomerService.getAllCustomers
+    public static final String CUSTOMERS = "customers";
+
+    // Results of EmployeeService.findByPosition, keyed by lower-case position
+    public static final String EMPLOYEES_BY_POSITION = "employeesByPosition";
+
+    @Bean
+    public CountingCacheManager cacheManager(@Value("${app.cache.ttl-seconds:30}") long ttlSeconds,
+                                             @Value("${app.cache.max-rows:1000}") int maxRows) {
+        Function<String, Cache> region = name -> new ExpiringCache(name, ttlSeconds, TimeUnit.SECONDS, maxRows);
+        return new CountingCacheManager(List.of(
+                new SnapshotCache<>(region.apply(CARS), Car.class, CarResponse.class,
+                        CarResponse::from, CarResponse::toCar),
+                new SnapshotCache<>(region.apply(AVAILABLE_CARS), Car.class, CarResponse.class,
+                        CarResponse::from, CarResponse::toCar),
+                new SnapshotCache<>(region.apply(CUSTOMERS), Customer.class, CustomerResponse.class,
+                        CustomerResponse::from, CustomerResponse::toCustomer),
+                new SnapshotCache<>(region.apply(EMPLOYEES_BY_POSITION), Employee.class, EmployeeResponse.class,
+                        EmployeeResponse::from, EmployeeResponse::toEmployee)));
+    }
+
+    public static class CountingCacheManager extends AbstractCacheManager {
+
+        private final List<Cache> caches;
+
+        public CountingCacheManager(List<Cache> caches) {
+            this.caches = caches;
+        }
+
+        @Override
+        protected Collection<? extends Cache> loadCaches() {
+            return caches.stream()
+                    .map(CountingCache::new)
+                    .toList();
+        }
+
+        /**
+         * Statistics for every cache region.
+         *
+         * @return Cache name to counters
+         */
+        public Map<String, Object> getStats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            for (String name : getCacheNames()) {
+                Cache cache = getCache(name);
+                if (cache instanceof CountingCache countingCache) {
+                    stats.put(name, countingCache.getStats());
+                }
+            }
+            return stats;
+        }
+    }
+}
\ No newline at end of file
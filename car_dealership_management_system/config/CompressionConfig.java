@@ -0,0 +1,39 @@
+package com.cardealership.managementsystem.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Gzip compression of JSON responses from the embedded server. Configuring
+ * {@code server.compression.*} takes precedence; {@code server.compression.enabled=false}
+ * turns it off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    private static final String[] MIME_TYPES = {
+            "application/json", "application/x-ndjson", "text/plain", "text/html"
+    };
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer(
+            ServerProperties serverProperties) {
+        return factory -> {
+            if (Boolean.TRUE.equals(serverProperties.getCompression().getEnabled())) {
+                return;
+            }
+            Compression compression = new Compression();
+            compression.setEnabled(true);
+            compression.setMimeTypes(MIME_TYPES);
+            compression.setMinResponseSize(DataSize.ofKilobytes(1));
+            factory.setCompression(compression);
+        };
+    }
+}
\ No newline at end of file
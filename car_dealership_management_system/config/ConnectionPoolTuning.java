@@ -0,0 +1,130 @@
+package com.cardealership.managementsystem.config;
+
+import com.cardealership.managementsystem.metrics.ConnectionPoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+
+/**
+ * Settings applied to every Hikari pool of the application: the default datasource (see
+ * {@link DataSourceConfig}) and the primary and replica pools of {@link ReadReplicaConfig}.
+ *
+ * <ul>
+ *     <li>Pool size by {@code app.datasource.pool.profile}. Every terminal runs its own pools
+ *     against the same database, so the {@code desktop} default is small: at most
+ *     {@code app.datasource.pool.max-size} connections (default 4), of which
+ *     {@code app.datasource.pool.min-idle} (default 1) are kept open. The {@code server}
+ *     profile, for a deployment serving many clients, keeps a fixed pool so a sales rush
+ *     does not stall on opening connections. Its default size is twice the CPU count (at
+ *     least 10), capped at the database's share for this instance:
+ *     {@code app.datasource.pool.connection-budget} (default 80, PostgreSQL's default
+ *     max_connections of 100 minus room for admin and replication sessions) divided by
+ *     {@code app.datasource.pool.instances} (default 1). The budget is per database, so it
+ *     applies to the primary and to each replica separately. Callers give up after
+ *     {@code app.datasource.pool.connection-timeout-ms}.</li>
+ *     <li>Driver-side prepared statement caching ({@code app.datasource.pool.statement-cache-size})
+ *     and batch rewriting for PostgreSQL and MySQL/MariaDB, so Hibernate's JDBC batches
+ *     (see {@link HibernateTuningConfig}) go out as multi-row inserts.</li>
+ *     <li>Acquire-time, usage and timeout metrics via {@link ConnectionPoolMetrics}.</li>
+ * </ul>
+ *
+ * <p>Anything set under {@code spring.datasource.hikari.*} wins over these defaults.
+ * {@code app.datasource.pool.tuning-enabled=false} keeps Hikari's own defaults and only
+ * attaches the metrics.</p>
+ */
+@Component
+public class ConnectionPoolTuning {
+
+    private final Environment environment;
+    private final ConnectionPoolMetrics poolMetrics;
+
+    @Value("${app.datasource.pool.tuning-enabled:true}")
+    private boolean tuningEnabled;
+
+    // desktop: small pool per terminal; server: fixed pool sized from the connection budget
+    @Value("${app.datasource.pool.profile:desktop}")
+    private String profile;
+
+    // 0 means the profile's default
+    @Value("${app.datasource.pool.max-size:0}")
+    private int maxSize;
+
+    @Value("${app.datasource.pool.min-idle:1}")
+    private int minIdle;
+
+    // Connections the database allows this application, across all its instances
+    @Value("${app.datasource.pool.connection-budget:80}")
+    private int connectionBudget;
+
+    @Value("${app.datasource.pool.instances:1}")
+    private int instances;
+
+    @Value("${app.datasource.pool.connection-timeout-ms:10000}")
+    private long connectionTimeoutMillis;
+
+    @Value("${app.datasource.pool.statement-cache-size:256}")
+    private int statementCacheSize;
+
+    @Autowired
+    public ConnectionPoolTuning(Environment environment, ConnectionPoolMetrics poolMetrics) {
+        this.environment = environment;
+        this.poolMetrics = poolMetrics;
+    }
+
+    /**
+     * Configure a pool that has not started yet.
+     *
+     * @param pool The pool
+     * @param poolName Name used in logs and metrics, unless the pool already has one
+     */
+    public void apply(HikariDataSource pool, String poolName) {
+        if (pool.getPoolName() == null) {
+            pool.setPoolName(poolName);
+        }
+        if (tuningEnabled) {
+            if ("server".equalsIgnoreCase(profile)) {
+                int size = maxSize > 0 ? maxSize : serverPoolSize();
+                pool.setMaximumPoolSize(size);
+                pool.setMinimumIdle(size);
+            } else {
+                int size = maxSize > 0 ? maxSize : 4;
+                pool.setMaximumPoolSize(size);
+                pool.setMinimumIdle(Math.min(minIdle, size));
+            }
+            pool.setConnectionTimeout(connectionTimeoutMillis);
+        }
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        if (tuningEnabled) {
+            addDriverProperties(pool);
+        }
+        if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+            pool.setMetricsTrackerFactory(poolMetrics);
+        }
+    }
+
+    private int serverPoolSize() {
+        int share = Math.max(1, connectionBudget / Math.max(1, instances));
+        return Math.min(share, Math.max(10, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    private void addDriverProperties(HikariDataSource pool) {
+        String url = pool.getJdbcUrl() == null ? "" : pool.getJdbcUrl();
+        Properties properties = pool.getDataSourceProperties();
+        if (url.startsWith("jdbc:postgresql:")) {
+            properties.putIfAbsent("preparedStatementCacheQueries", String.valueOf(statementCacheSize));
+            properties.putIfAbsent("reWriteBatchedInserts", "true");
+        } else if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            properties.putIfAbsent("cachePrepStmts", "true");
+            properties.putIfAbsent("useServerPrepStmts", "true");
+            properties.putIfAbsent("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            properties.putIfAbsent("prepStmtCacheSqlLimit", "2048");
+            properties.putIfAbsent("rewriteBatchedStatements", "true");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.cardealership.managementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@link ConnectionPoolTuning} to the datasource Spring Boot auto-configures from
+ * {@code spring.datasource.*}. Pools built by {@link ReadReplicaConfig} are tuned there.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPoolTuningPostProcessor(ObjectProvider<ConnectionPoolTuning> tuning) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    tuning.getObject().apply(pool, "primary");
+                }
+                return bean;
+            }
+        };
+    }
+}
\ No newline at end of file
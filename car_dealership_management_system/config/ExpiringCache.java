@@ -0,0 +1,198 @@
+package com.cardealership.managementsystem.config;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory cache whose entries expire a fixed time after they were stored.
+ *
+ * <p>The bound counts rows rather than entries: a cached list weighs as many rows as it
+ * holds, and a list heavier than the whole bound is not cached at all. The least recently
+ * read entries are dropped to make room.</p>
+ *
+ * <p>A value loaded before an eviction of its key is not stored after it: each thread
+ * remembers when its lookup missed, and its put of the loaded value is dropped if that key
+ * was evicted or the cache cleared since, because the value may have been read before the
+ * write that caused it. Evictions are remembered per key for one TTL; a load that takes
+ * longer than that is not stored either.</p>
+ */
+public class ExpiringCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final long ttlNanos;
+    private final int maxWeight;
+
+    // Access order, so the eldest entry is the least recently read
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int weight;
+
+    // When each recently evicted key was evicted (System.nanoTime), oldest first
+    private final LinkedHashMap<Object, Long> evictedAt = new LinkedHashMap<>();
+    private Long clearedAt;
+
+    // Key of this thread's last miss and when it happened
+    private final ThreadLocal<Object[]> lastMiss = new ThreadLocal<>();
+
+    public ExpiringCache(String name, long ttl, TimeUnit unit, int maxWeight) {
+        super(true);
+        this.name = name;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected synchronized Object lookup(Object key) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.storedAt > ttlNanos) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            lastMiss.set(new Object[]{key, now});
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public synchronized void put(Object key, Object value) {
+        Object[] miss = lastMiss.get();
+        lastMiss.remove();
+        if (miss != null && miss[0].equals(key) && invalidatedSince(key, (long) miss[1])) {
+            // Evicted while this value was being loaded; it may predate the write
+            return;
+        }
+        Object stored = toStoreValue(value);
+        int entryWeight = weigh(stored);
+        if (entryWeight > maxWeight) {
+            remove(key);
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry(stored, entryWeight, System.nanoTime()));
+        weight += entryWeight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        markEvicted(key);
+        remove(key);
+    }
+
+    @Override
+    public synchronized boolean evictIfPresent(Object key) {
+        markEvicted(key);
+        return remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        // The clear stamp covers every earlier per-key eviction
+        clearedAt = System.nanoTime();
+        evictedAt.clear();
+        entries.clear();
+        weight = 0;
+    }
+
+    @Override
+    public synchronized boolean invalidate() {
+        boolean notEmpty = !entries.isEmpty();
+        clear();
+        return notEmpty;
+    }
+
+    private void markEvicted(Object key) {
+        long now = System.nanoTime();
+        evictedAt.remove(key);
+        evictedAt.put(key, now);
+        // Forget evictions older than any load whose value would still be stored
+        Iterator<Long> eldest = evictedAt.values().iterator();
+        while (eldest.hasNext() && now - eldest.next() > ttlNanos) {
+            eldest.remove();
+        }
+    }
+
+    private boolean invalidatedSince(Object key, long missedAt) {
+        if (System.nanoTime() - missedAt > ttlNanos) {
+            // Its eviction may already be forgotten
+            return true;
+        }
+        if (clearedAt != null && clearedAt - missedAt >= 0) {
+            return true;
+        }
+        Long evicted = evictedAt.get(key);
+        return evicted != null && evicted - missedAt >= 0;
+    }
+
+    private boolean remove(Object key) {
+        Entry removed = entries.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        weight -= removed.weight;
+        return true;
+    }
+
+    private static int weigh(Object value) {
+        return value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final int weight;
+        private final long storedAt;
+
+        private Entry(Object value, int weight, long storedAt) {
+            this.value = value;
+            this.weight = weight;
+            this.storedAt = storedAt;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.cardealership.managementsystem.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateTuningConfig {
+
+    /**
+     * Enable JDBC batching so bulk writes (e.g. batch sale processing) go out as a few
+     * multi-row statements. Values set explicitly through spring.jpa.properties win.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchingCustomizer(
+            @Value("${app.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize));
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, "true");
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, "true");
+        };
+    }
+
+    /**
+     * Keep the SQL of dynamically built queries (car filters) to a small set of shapes, so
+     * parsed plans and prepared statements are reused: IN lists are padded to the next
+     * power of two, and plans of criteria queries are cached like JPQL ones.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateQueryPlanCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true");
+            properties.putIfAbsent("hibernate.criteria.plan_cache_enabled", "true");
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.cardealership.managementsystem.config;
+
+import com.cardealership.managementsystem.metrics.MethodMetricsInterceptor;
+import com.cardealership.managementsystem.metrics.MetricsRegistry;
+import com.cardealership.managementsystem.metrics.StatementCounter;
+import com.cardealership.managementsystem.repository.CarRepository;
+import com.cardealership.managementsystem.repository.CustomerRepository;
+import com.cardealership.managementsystem.repository.EmployeeRepository;
+import com.cardealership.managementsystem.repository.SaleRepository;
+import com.cardealership.managementsystem.service.CarService;
+import com.cardealership.managementsystem.service.CustomerService;
+import com.cardealership.managementsystem.service.EmployeeService;
+import com.cardealership.managementsystem.service.SaleService;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Per-method timing of the services and repositories (see {@link MetricsRegistry}).
+ * Disable with {@code app.metrics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    private static final List<Class<?>> INSTRUMENTED_TYPES = List.of(
+            CarService.class, CustomerService.class, EmployeeService.class, SaleService.class,
+            CarRepository.class, CustomerRepository.class, EmployeeRepository.class, SaleRepository.class);
+
+    /**
+     * Applied outermost, so timings include caching and the transaction.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor methodMetricsAdvisor(MetricsRegistry metricsRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(clazz -> INSTRUMENTED_TYPES.stream().anyMatch(type -> type.isAssignableFrom(clazz)));
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new MethodMetricsInterceptor(metricsRegistry, INSTRUMENTED_TYPES));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.cardealership.managementsystem.config;
+
+import com.cardealership.managementsystem.metrics.ProfilingJdbc;
+import com.cardealership.managementsystem.metrics.QueryProfiler;
+import com.cardealership.managementsystem.metrics.QueryProfilingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Statement-level SQL profiling (see {@link QueryProfiler}). Off by default since every
+ * JDBC call goes through a proxy; enable with {@code app.profiler.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.profiler.enabled", havingValue = "true")
+public class QueryProfilerConfig {
+
+    /**
+     * Wraps only the top-level {@code dataSource} bean: pools behind it (such as the replica
+     * pools of {@link ReadReplicaConfig}) are already covered, and wrapping them again would
+     * record every statement twice.
+     */
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<QueryProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        ? ProfilingJdbc.wrap(dataSource, profiler.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryProfilingFilter queryProfilingFilter(QueryProfiler profiler) {
+        return new QueryProfilingFilter(profiler);
+    }
+}
\ No newline at end of file
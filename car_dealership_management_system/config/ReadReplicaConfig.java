@@ -0,0 +1,92 @@
+package com.cardealership.managementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas, enabled by listing
+ * them in {@code app.datasource.replica-urls} (comma-separated JDBC URLs). The primary is
+ * still configured through {@code spring.datasource.*}; replicas use the same credentials
+ * unless {@code app.datasource.replica-username}/{@code replica-password} are set. All
+ * pools get the {@link ConnectionPoolTuning} settings.
+ *
+ * <p>Each replica is probed every {@code app.datasource.replica-check-interval-seconds} with
+ * {@code app.datasource.replica-lag-query}, which must return the replication lag in
+ * seconds. The default query is for PostgreSQL streaming replicas; use {@code SELECT 0}
+ * for databases without one. Replicas lagging more than
+ * {@code app.datasource.replica-max-lag-seconds} or failing the probe get no reads until
+ * they recover.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    // Explicit, since the bean may be replaced by a wrapper (see QueryProfilerConfig)
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(DataSourceProperties properties, ConnectionPoolTuning tuning,
+                                 @Value("${app.datasource.replica-urls}") String replicaUrls,
+                                 @Value("${app.datasource.replica-username:${spring.datasource.username:}}") String username,
+                                 @Value("${app.datasource.replica-password:${spring.datasource.password:}}") String password,
+                                 @Value("${app.datasource.replica-lag-query:" + POSTGRES_LAG_QUERY + "}") String lagQuery,
+                                 @Value("${app.datasource.replica-max-lag-seconds:5}") double maxLagSeconds,
+                                 @Value("${app.datasource.replica-check-interval-seconds:5}") long checkIntervalSeconds) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        tuning.apply(primary, "primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            // Same names as the routing keys of ReplicaRoutingDataSource
+            tuning.apply(replica, "replica-" + (replicas.size() + 1));
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty()) {
+            // replica-urls was set but blank: plain primary, no routing or health checks
+            return primary;
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLagSeconds);
+        routing.startHealthChecks(checkIntervalSeconds);
+        return new RoutingDataSourceProxy(routing);
+    }
+
+    /**
+     * Defers fetching a connection until the first statement, when the transaction's
+     * read-only flag is known, and closes the pools with the context.
+     */
+    static class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        RoutingDataSourceProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() throws Exception {
+            routing.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.cardealership.managementsystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a healthy replica, round-robin, and everything else to
+ * the primary. A replica is healthy while its lag query answers within the allowed lag; if
+ * none is, reads fall back to the primary.
+ *
+ * <p>The routing key is read from the transaction's read-only flag, which Spring sets after
+ * the connection for a JPA transaction has been requested, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.</p>
+ *
+ * <p>Reads whose result outlives the transaction (caches, in-memory indexes, dashboard
+ * snapshots) must not come from a lagging replica, or a write this terminal just made would
+ * be missing from them until the next reload. Those loads run inside
+ * {@link #readFromPrimary(Supplier)}. The hint decides where the transaction's connection
+ * comes from, so it must wrap the transaction's first statement.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Depth of readFromPrimary calls on this thread
+    private static final ThreadLocal<Integer> primaryPins = ThreadLocal.withInitial(() -> 0);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    String lagQuery, double maxLagSeconds) {
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + (i + 1), replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.name, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Check every replica now, then every {@code intervalSeconds}. Until a replica's first
+     * check succeeds, its reads go to the primary.
+     */
+    public void startHealthChecks(long intervalSeconds) {
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Run a read on the primary even inside a read-only transaction. Without replicas this
+     * just runs the action.
+     */
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        primaryPins.set(primaryPins.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            int depth = primaryPins.get() - 1;
+            if (depth == 0) {
+                primaryPins.remove();
+            } else {
+                primaryPins.set(depth);
+            }
+        }
+    }
+
+    public static void runOnPrimary(Runnable action) {
+        readFromPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || primaryPins.get() > 0) {
+            return PRIMARY;
+        }
+        if (replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Names of the replicas currently receiving reads.
+     */
+    public List<String> getHealthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).map(replica -> replica.name).toList();
+    }
+
+    /**
+     * Runs on the health-check thread, so nothing may escape: an exception thrown from a
+     * scheduleWithFixedDelay task cancels every later run. A replica that cannot be reached
+     * (a SQLException, or Hikari's PoolInitializationException while its pool cannot start)
+     * is counted as unhealthy.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            String problem;
+            try {
+                double lag = lagSeconds(replica.dataSource);
+                problem = lag > maxLagSeconds ? String.format("lagging %.1f s behind", lag) : null;
+            } catch (SQLException | RuntimeException e) {
+                problem = "unreachable (" + e.getMessage() + ")";
+            }
+
+            boolean healthy = problem == null;
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation", replica.name);
+                } else {
+                    log.warn("Replica {} is {}, taken out of rotation", replica.name, problem);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private double lagSeconds(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(5);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                // No row or NULL: the database reports no replay delay
+                return resultSet.next() ? resultSet.getDouble(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            closeIfPossible(replica.dataSource);
+        }
+        closeIfPossible(primary);
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
\ No newline at end of file
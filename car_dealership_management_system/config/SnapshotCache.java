@@ -0,0 +1,117 @@
+package com.cardealership.managementsystem.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Cache decorator that stores immutable snapshots instead of entities. Entities (or lists
+ * of them) are turned into snapshots when stored, and every read builds new detached
+ * entities from them, so a caller that modifies what it got back can't change what the
+ * next caller sees.
+ *
+ * @param <E> The entity type
+ * @param <S> The snapshot type
+ */
+public class SnapshotCache<E, S> implements Cache {
+
+    private final Cache delegate;
+    private final Class<E> entityType;
+    private final Class<S> snapshotType;
+    private final Function<E, S> toSnapshot;
+    private final Function<S, E> fromSnapshot;
+
+    public SnapshotCache(Cache delegate, Class<E> entityType, Class<S> snapshotType,
+                         Function<E, S> toSnapshot, Function<S, E> fromSnapshot) {
+        this.delegate = delegate;
+        this.entityType = entityType;
+        this.snapshotType = snapshotType;
+        this.toSnapshot = toSnapshot;
+        this.fromSnapshot = fromSnapshot;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper stored = delegate.get(key);
+        return stored == null ? null : new SimpleValueWrapper(restore(stored.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object restored = value == null ? null : value.get();
+        if (restored != null && type != null && !type.isInstance(restored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + restored);
+        }
+        return (T) restored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) restore(delegate.get(key, () -> snapshot(valueLoader.call())));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, snapshot(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, snapshot(value));
+        return existing == null ? null : new SimpleValueWrapper(restore(existing.get()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private Object snapshot(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().map(this::snapshot).toList();
+        }
+        return entityType.isInstance(value) ? toSnapshot.apply(entityType.cast(value)) : value;
+    }
+
+    private Object restore(Object value) {
+        if (value instanceof List<?> list) {
+            // A fresh mutable list, like the repository would have returned
+            List<Object> restored = new ArrayList<>(list.size());
+            list.forEach(element -> restored.add(restore(element)));
+            return restored;
+        }
+        return snapshotType.isInstance(value) ? fromSnapshot.apply(snapshotType.cast(value)) : value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.cardealership.managementsystem.controller;
+
+import com.cardealership.managementsystem.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheConfig.CountingCacheManager cacheManager;
+
+    @Autowired
+    public CacheController(CacheConfig.CountingCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = cacheManager.getStats();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+}
\ No newline at end of file
@@ -1,48 +1,76 @@
 package com.cardealership.managementsystem.controller;
 
+import com.cardealership.managementsystem.dto.CarFilter;
+import com.cardealership.managementsystem.dto.CarResponse;
+import com.cardealership.managementsystem.dto.CarSort;
+import com.cardealership.managementsystem.dto.CursorPage;
 import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.search.InventoryQuery;
 import com.cardealership.managementsystem.service.CarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/cars")
 public class CarController {
 
     private final CarService carService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public CarController(CarService carService) {
+    public CarController(CarService carService, ObjectMapper objectMapper) {
         this.carService = carService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<Car>> getAllCars() {
-        List<Car> cars = carService.getAllCars();
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getAllCars() {
+        return JsonArrayStreams.stream(objectMapper, carService::streamAllCars,
+                CarResponse::from, CarResponse::writeJson);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CarResponse>> getCarsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<Car> page = carService.getCarsPage(cursor, size);
+        return new ResponseEntity<>(page.map(CarResponse::from), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCars() {
+        return NdjsonStreams.stream(objectMapper, carService::streamAllCars,
+                CarResponse::from, CarResponse::writeJson);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Car> getCarById(@PathVariable Long id) {
+    public ResponseEntity<CarResponse> getCarById(@PathVariable Long id) {
         Car car = carService.getCarById(id);
-        return new ResponseEntity<>(car, HttpStatus.OK);
+        return new ResponseEntity<>(CarResponse.from(car), HttpStatus.OK);
     }
 
     @PostMapping
-    public ResponseEntity<Car> createCar(@RequestBody Car car) {
+    public ResponseEntity<CarResponse> createCar(@RequestBody Car car) {
         Car savedCar = carService.saveCar(car);
-        return new ResponseEntity<>(savedCar, HttpStatus.CREATED);
+        return new ResponseEntity<>(CarResponse.from(savedCar), HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Car> updateCar(@PathVariable Long id, @RequestBody Car car) {
+    public ResponseEntity<CarResponse> updateCar(@PathVariable Long id, @RequestBody Car car) {
         Car updatedCar = carService.updateCar(id, car);
-        return new ResponseEntity<>(updatedCar, HttpStatus.OK);
+        return new ResponseEntity<>(CarResponse.from(updatedCar), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -52,73 +80,171 @@ public class CarController {
     }
 
     @PutMapping("/{id}/sold")
-    public ResponseEntity<Car> markCarAsSold(@PathVariable Long id) {
+    public ResponseEntity<CarResponse> markCarAsSold(@PathVariable Long id) {
         Car car = carService.markCarAsSold(id);
-        return new ResponseEntity<>(car, HttpStatus.OK);
+        return new ResponseEntity<>(CarResponse.from(car), HttpStatus.OK);
     }
 
+    /**
+     * Conditional: a request carrying the current ETag gets a 304 after one aggregate query.
+     */
     @GetMapping("/available")
-    public ResponseEntity<List<Car>> getAvailableCars() {
-        List<Car> availableCars = carService.getAvailableCars();
-        return new ResponseEntity<>(availableCars, HttpStatus.OK);
-    }
-
+    public ResponseEntity<StreamingResponseBody> getAvailableCars(WebRequest request) {
+        return ConditionalResponses.ifModified(request, carService.getCarsVersion(), () -> {
+            List<Car> availableCars = carService.getAvailableCars();
+            return JsonArrayStreams.list(objectMapper, availableCars, CarResponse::from, CarResponse::writeJson);
+        });
+    }
+
+    /**
+     * Multi-attribute search answered from the inventory index. Every parameter is optional
+     * and all given parameters must match; make, model, color and condition accept
+     * comma-separated alternatives (e.g. make=Toyota,Honda). Returns every match as a JSON
+     * array; use {@code /search/page} to page through large results.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Car>> searchCars(
+    public ResponseEntity<StreamingResponseBody> searchCars(
+            @RequestParam(required = false) String make,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String condition,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) Boolean sold,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minMileage,
+            @RequestParam(required = false) Integer maxMileage) {
+        InventoryQuery query = inventoryQuery(make, model, year, condition, color, sold,
+                minPrice, maxPrice, minMileage, maxMileage);
+        List<Car> cars = carService.searchInventory(query);
+        return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
+    }
+
+    /**
+     * Same search as {@code /search}, paged by id; pass the returned nextCursor back with the
+     * same parameters for the next page.
+     */
+    @GetMapping("/search/page")
+    public ResponseEntity<CursorPage<CarResponse>> searchCarsPage(
             @RequestParam(required = false) String make,
             @RequestParam(required = false) String model,
-            @RequestParam(required = false) Integer year) {
-        List<Car> cars = carService.searchCars(make, model, year);
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String condition,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) Boolean sold,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minMileage,
+            @RequestParam(required = false) Integer maxMileage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        InventoryQuery query = inventoryQuery(make, model, year, condition, color, sold,
+                minPrice, maxPrice, minMileage, maxMileage);
+        CursorPage<Car> page = carService.searchInventoryPage(query, cursor, size);
+        return new ResponseEntity<>(page.map(CarResponse::from), HttpStatus.OK);
+    }
+
+    private static InventoryQuery inventoryQuery(String make, String model, Integer year, String condition,
+                                                 String color, Boolean sold, BigDecimal minPrice,
+                                                 BigDecimal maxPrice, Integer minMileage, Integer maxMileage) {
+        List<InventoryQuery> criteria = new ArrayList<>();
+        addAnyOf(criteria, make, InventoryQuery::make);
+        addAnyOf(criteria, model, InventoryQuery::model);
+        addAnyOf(criteria, condition, InventoryQuery::condition);
+        addAnyOf(criteria, color, InventoryQuery::color);
+        if (year != null) {
+            criteria.add(InventoryQuery.year(year));
+        }
+        if (sold != null) {
+            criteria.add(InventoryQuery.sold(sold));
+        }
+        if (minPrice != null || maxPrice != null) {
+            criteria.add(InventoryQuery.priceBetween(minPrice, maxPrice));
+        }
+        if (minMileage != null || maxMileage != null) {
+            criteria.add(InventoryQuery.mileageBetween(minMileage, maxMileage));
+        }
+        return InventoryQuery.allOf(criteria);
+    }
+
+    /**
+     * Filter cars in the database on any combination of criteria, sorted and paged by
+     * keyset. Example: {@code /api/cars/filter?make=Toyota,Honda&yearFrom=2018&maxPrice=30000&sort=price}.
+     * Pass the returned nextCursor back with the same filter and sort for the next page.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<CursorPage<CarResponse>> filterCars(
+            @ModelAttribute CarFilter filter,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<Car> page = carService.filterCars(filter, CarSort.fromParameter(sort),
+                "desc".equalsIgnoreCase(direction), cursor, size);
+        return new ResponseEntity<>(page.map(CarResponse::from), HttpStatus.OK);
+    }
+
+    private static void addAnyOf(List<InventoryQuery> criteria, String values,
+                                 Function<String, InventoryQuery> leaf) {
+        if (values == null || values.isBlank()) {
+            return;
+        }
+        criteria.add(InventoryQuery.anyOf(Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(leaf)
+                .toList()));
     }
 
     @GetMapping("/make/{make}")
-    public ResponseEntity<List<Car>> getCarsByMake(@PathVariable String make) {
+    public ResponseEntity<StreamingResponseBody> getCarsByMake(@PathVariable String make) {
         List<Car> cars = carService.getCarsByMake(make);
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
     }
 
     @GetMapping("/model/{model}")
-    public ResponseEntity<List<Car>> getCarsByModel(@PathVariable String model) {
+    public ResponseEntity<StreamingResponseBody> getCarsByModel(@PathVariable String model) {
         List<Car> cars = carService.getCarsByModel(model);
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
     }
 
     @GetMapping("/year/{year}")
-    public ResponseEntity<List<Car>> getCarsByYear(@PathVariable Integer year) {
+    public ResponseEntity<StreamingResponseBody> getCarsByYear(@PathVariable Integer year) {
         List<Car> cars = carService.getCarsByYear(year);
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
     }
 
     @GetMapping("/price-range")
-    public ResponseEntity<List<Car>> getCarsByPriceRange(
+    public ResponseEntity<StreamingResponseBody> getCarsByPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice) {
         List<Car> cars = carService.getCarsByPriceRange(minPrice, maxPrice);
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
     }
 
     @GetMapping("/condition/{condition}")
-    public ResponseEntity<List<Car>> getCarsByCondition(@PathVariable String condition) {
+    public ResponseEntity<StreamingResponseBody> getCarsByCondition(@PathVariable String condition) {
         List<Car> cars = carService.getCarsByCondition(condition);
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
     }
 
     @GetMapping("/vin/{vin}")
-    public ResponseEntity<Car> getCarByVin(@PathVariable String vin) {
+    public ResponseEntity<CarResponse> getCarByVin(@PathVariable String vin) {
         Car car = carService.getCarByVin(vin);
-        return new ResponseEntity<>(car, HttpStatus.OK);
+        return new ResponseEntity<>(CarResponse.from(car), HttpStatus.OK);
     }
 
     @GetMapping("/low-mileage/{maxMileage}")
-    public ResponseEntity<List<Car>> getLowMileageAvailableCars(@PathVariable Integer maxMileage) {
+    public ResponseEntity<StreamingResponseBody> getLowMileageAvailableCars(@PathVariable Integer maxMileage) {
         List<Car> cars = carService.getLowMileageAvailableCars(maxMileage);
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
     }
 
     @GetMapping("/recently-added")
-    public ResponseEntity<List<Car>> getRecentlyAddedCars() {
-        List<Car> cars = carService.getRecentlyAddedCars();
-        return new ResponseEntity<>(cars, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getRecentlyAddedCars(WebRequest request) {
+        return ConditionalResponses.ifModified(request, carService.getCarsVersion(), () -> {
+            List<Car> cars = carService.getRecentlyAddedCars();
+            return JsonArrayStreams.list(objectMapper, cars, CarResponse::from, CarResponse::writeJson);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.cardealership.managementsystem.controller;
+
+import com.cardealership.managementsystem.dto.ChangeBatch;
+import com.cardealership.managementsystem.dto.ChangeEvent;
+import com.cardealership.managementsystem.event.ChangeFeed;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Pushes car and sale changes to clients such as the showroom kiosks, so they can keep
+ * their lists current without polling the full listings.
+ *
+ * <p>One thread decides, in offset order, which events each stream gets and queues them
+ * on the stream; each stream's queue is written out on its own delivery task, so a slow
+ * client only holds up itself. A stream that falls more than {@code MAX_PENDING} events
+ * behind is closed, and its client resumes from its Last-Event-ID when it reconnects.</p>
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_PENDING = 2 * MAX_BATCH_SIZE;
+
+    private final ChangeFeed changeFeed;
+    private final long streamTimeoutMillis;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Consumer<ChangeEvent> feedListener = this::publish;
+
+    // All events are queued on this one thread, in offset order
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Writes each stream's queue out, at most one task per stream at a time
+    private final AtomicInteger deliveryThreads = new AtomicInteger();
+    private final ExecutorService delivery = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-delivery-" + deliveryThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ChangeFeedController(ChangeFeed changeFeed,
+                                @Value("${app.changes.stream-timeout-ms:1800000}") long streamTimeoutMillis,
+                                @Value("${app.changes.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.changeFeed = changeFeed;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        changeFeed.addListener(feedListener);
+        // Keeps idle connections open through proxies
+        sender.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Poll for changes after a cursor. If the cursor is too old or from before a restart,
+     * the response has {@code reset} set and the client should reload its lists.
+     */
+    @GetMapping
+    public ResponseEntity<ChangeBatch> getChanges(
+            @RequestParam(defaultValue = "0") String since,
+            @RequestParam(required = false) Set<String> topics,
+            @RequestParam(required = false) Integer limit) {
+        int batchSize = limit == null ? MAX_BATCH_SIZE : Math.max(1, Math.min(limit, MAX_BATCH_SIZE));
+        ChangeBatch batch = changeFeed.read(since, topics, batchSize);
+        return new ResponseEntity<>(batch, HttpStatus.OK);
+    }
+
+    /**
+     * Stream changes as server-sent events. Each event is named after its topic and carries
+     * its cursor as the event id, so a reconnecting EventSource resumes through the
+     * Last-Event-ID header. Without a resume cursor only new changes are sent. If the resume
+     * cursor is too old or from before a restart, a {@code reset} event is sent first.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Set<String> topics,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscription subscription = new Subscription(emitter, topics);
+        emitter.onCompletion(() -> discard(subscription));
+        emitter.onTimeout(() -> discard(subscription));
+        emitter.onError(error -> discard(subscription));
+
+        String from = lastEventId != null && !lastEventId.isBlank() ? lastEventId : since;
+        sender.execute(() -> subscribe(subscription, from));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        changeFeed.removeListener(feedListener);
+        sender.shutdownNow();
+        delivery.shutdownNow();
+        subscriptions.forEach(subscription -> close(subscription, null));
+        subscriptions.clear();
+    }
+
+    /**
+     * Catch the subscriber up from its cursor, then add it to the live subscribers. Runs on
+     * the sender thread, so changes published meanwhile queue up behind it and are filtered
+     * by the subscriber's last sent offset.
+     */
+    private void subscribe(Subscription subscription, String from) {
+        if (from == null || from.isBlank()) {
+            subscription.lastSent = changeFeed.getLastOffset();
+        } else {
+            ChangeBatch batch = changeFeed.read(from, subscription.topics, MAX_BATCH_SIZE);
+            while (true) {
+                if (batch.isReset()) {
+                    enqueue(subscription, SseEmitter.event()
+                            .id(batch.getCursor())
+                            .name("reset")
+                            .data(Map.of("cursor", batch.getCursor())));
+                }
+                for (ChangeEvent event : batch.getItems()) {
+                    enqueue(subscription, eventOf(event));
+                }
+                subscription.lastSent = batch.getLastOffset();
+                if (subscription.closed || batch.isReset() || batch.getItems().size() < MAX_BATCH_SIZE) {
+                    break;
+                }
+                batch = changeFeed.read(subscription.lastSent, subscription.topics, MAX_BATCH_SIZE);
+            }
+        }
+        if (!subscription.closed) {
+            subscriptions.add(subscription);
+        }
+    }
+
+    private void publish(ChangeEvent event) {
+        sender.execute(() -> {
+            for (Subscription subscription : subscriptions) {
+                if (event.getOffset() <= subscription.lastSent) {
+                    continue;
+                }
+                try {
+                    if (subscription.accepts(event)) {
+                        enqueue(subscription, eventOf(event));
+                    }
+                    subscription.lastSent = event.getOffset();
+                } catch (RuntimeException e) {
+                    // One broken stream must not keep the event from the others
+                    close(subscription, e);
+                }
+            }
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder eventOf(ChangeEvent event) {
+        return SseEmitter.event()
+                .id(event.getCursor())
+                .name(event.getTopic())
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private void sendHeartbeats() {
+        for (Subscription subscription : subscriptions) {
+            // A stream with events queued is not idle
+            try {
+                if (subscription.pendingCount.get() == 0) {
+                    enqueue(subscription, SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (RuntimeException e) {
+                // Escaping would cancel every later heartbeat
+                close(subscription, e);
+            }
+        }
+    }
+
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (subscription.closed) {
+            return;
+        }
+        if (subscription.pendingCount.incrementAndGet() > MAX_PENDING) {
+            // Too slow to keep up; it catches up from its last event id after reconnecting
+            close(subscription, null);
+            return;
+        }
+        subscription.pending.add(event);
+        if (subscription.draining.compareAndSet(false, true)) {
+            delivery.execute(() -> drain(subscription));
+        }
+    }
+
+    /**
+     * Write a stream's queued events out. Sending blocks while the client is slow, so this
+     * runs on a delivery thread rather than the sender thread. Any failure, including the
+     * IllegalStateException of an emitter that already completed or timed out, closes the
+     * stream.
+     */
+    private void drain(Subscription subscription) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscription.pending.poll()) != null) {
+                subscription.pendingCount.decrementAndGet();
+                try {
+                    subscription.emitter.send(event);
+                } catch (Exception e) {
+                    close(subscription, e);
+                    return;
+                }
+            }
+            subscription.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared
+            if (subscription.pending.isEmpty() || !subscription.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void discard(Subscription subscription) {
+        subscription.closed = true;
+        subscriptions.remove(subscription);
+        subscription.pending.clear();
+    }
+
+    private void close(Subscription subscription, Exception error) {
+        discard(subscription);
+        try {
+            if (error == null) {
+                subscription.emitter.complete();
+            } else {
+                subscription.emitter.completeWithError(error);
+            }
+        } catch (RuntimeException e) {
+            // Already completed
+        }
+    }
+
+    private static class Subscription {
+
+        private final SseEmitter emitter;
+        private final Set<String> topics;
+
+        // Offset of the last change queued or skipped; only touched on the sender thread
+        private long lastSent;
+
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(SseEmitter emitter, Set<String> topics) {
+            this.emitter = emitter;
+            this.topics = topics;
+        }
+
+        private boolean accepts(ChangeEvent event) {
+            return topics == null || topics.isEmpty() || topics.contains(event.getTopic());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.cardealership.managementsystem.controller;
+
+import com.cardealership.managementsystem.dto.DataVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for endpoints whose result has a {@link DataVersion}.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Answer If-None-Match from the version, and only build the response if the client's
+     * copy is stale. The version is read before the response is built, so a change
+     * committed meanwhile makes the next request miss rather than pinning the client to
+     * stale data.
+     *
+     * @param request The current request
+     * @param version The version of the data behind the response
+     * @param response Builds the full response; not called for a 304
+     * @return A 304 without body, or the full response; both carry the ETag
+     */
+    static <T> ResponseEntity<T> ifModified(WebRequest request, DataVersion version,
+                                            Supplier<ResponseEntity<T>> response) {
+        if (request.checkNotModified(version.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ResponseEntity<T> full = response.get();
+        return ResponseEntity.status(full.getStatusCode())
+                .headers(full.getHeaders())
+                .cacheControl(CacheControl.noCache())
+                .body(full.getBody());
+    }
+}
\ No newline at end of file
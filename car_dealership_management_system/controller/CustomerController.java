@@ -1,11 +1,18 @@
 package com.cardealership.managementsystem.controller;
 
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.CustomerRanking;
+import com.cardealership.managementsystem.dto.CustomerResponse;
+import com.cardealership.managementsystem.dto.CustomerSuggestion;
 import com.cardealership.managementsystem.model.Customer;
 import com.cardealership.managementsystem.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,34 +23,50 @@ import java.util.Map;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ObjectMapper objectMapper) {
         this.customerService = customerService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<Customer>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
-        return new ResponseEntity<>(customers, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getAllCustomers() {
+        return JsonArrayStreams.stream(objectMapper, customerService::streamAllCustomers,
+                CustomerResponse::from, CustomerResponse::writeJson);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CustomerResponse>> getCustomersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<Customer> page = customerService.getCustomersPage(cursor, size);
+        return new ResponseEntity<>(page.map(CustomerResponse::from), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        return NdjsonStreams.stream(objectMapper, customerService::streamAllCustomers,
+                CustomerResponse::from, CustomerResponse::writeJson);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id) {
         Customer customer = customerService.getCustomerById(id);
-        return new ResponseEntity<>(customer, HttpStatus.OK);
+        return new ResponseEntity<>(CustomerResponse.from(customer), HttpStatus.OK);
     }
 
     @PostMapping
-    public ResponseEntity<Customer> createCustomer(@RequestBody Customer customer) {
+    public ResponseEntity<CustomerResponse> createCustomer(@RequestBody Customer customer) {
         Customer savedCustomer = customerService.saveCustomer(customer);
-        return new ResponseEntity<>(savedCustomer, HttpStatus.CREATED);
+        return new ResponseEntity<>(CustomerResponse.from(savedCustomer), HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Customer> updateCustomer(@PathVariable Long id, @RequestBody Customer customer) {
+    public ResponseEntity<CustomerResponse> updateCustomer(@PathVariable Long id, @RequestBody Customer customer) {
         Customer updatedCustomer = customerService.updateCustomer(id, customer);
-        return new ResponseEntity<>(updatedCustomer, HttpStatus.OK);
+        return new ResponseEntity<>(CustomerResponse.from(updatedCustomer), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -53,35 +76,59 @@ public class CustomerController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Customer>> searchCustomers(
+    public ResponseEntity<StreamingResponseBody> searchCustomers(
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String lastName) {
         List<Customer> customers = customerService.findByName(firstName, lastName);
-        return new ResponseEntity<>(customers, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, customers, CustomerResponse::from, CustomerResponse::writeJson);
+    }
+
+    /**
+     * As-you-type lookup by partial name, email or phone, e.g. {@code /api/customers/suggest?q=jon%20sm}.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CustomerSuggestion>> suggestCustomers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        List<CustomerSuggestion> suggestions = customerService.suggestCustomers(q, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<Customer> getCustomerByEmail(@PathVariable String email) {
+    public ResponseEntity<CustomerResponse> getCustomerByEmail(@PathVariable String email) {
         Customer customer = customerService.findByEmail(email);
-        return new ResponseEntity<>(customer, HttpStatus.OK);
+        return new ResponseEntity<>(CustomerResponse.from(customer), HttpStatus.OK);
     }
 
     @GetMapping("/phone/{phone}")
-    public ResponseEntity<Customer> getCustomerByPhone(@PathVariable String phone) {
+    public ResponseEntity<CustomerResponse> getCustomerByPhone(@PathVariable String phone) {
         Customer customer = customerService.findByPhone(phone);
-        return new ResponseEntity<>(customer, HttpStatus.OK);
+        return new ResponseEntity<>(CustomerResponse.from(customer), HttpStatus.OK);
     }
 
     @GetMapping("/with-purchases")
-    public ResponseEntity<List<Customer>> getCustomersWithPurchases() {
+    public ResponseEntity<StreamingResponseBody> getCustomersWithPurchases() {
         List<Customer> customers = customerService.findCustomersWithPurchases();
-        return new ResponseEntity<>(customers, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, customers, CustomerResponse::from, CustomerResponse::writeJson);
     }
 
     @GetMapping("/registered-after")
-    public ResponseEntity<List<Customer>> getCustomersRegisteredAfter(@RequestParam LocalDate date) {
+    public ResponseEntity<StreamingResponseBody> getCustomersRegisteredAfter(@RequestParam LocalDate date) {
         List<Customer> customers = customerService.findCustomersRegisteredAfter(date);
-        return new ResponseEntity<>(customers, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, customers, CustomerResponse::from, CustomerResponse::writeJson);
+    }
+
+    /**
+     * Top K customers by purchases, e.g. {@code /api/customers/top?limit=5&startDate=2024-01-01}.
+     * Without a date window the ranking is served from the in-memory leaderboard.
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<CustomerRanking>> getTopCustomers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate) {
+        List<CustomerRanking> ranking = customerService.findTopCustomers(limit, startDate, endDate);
+        return new ResponseEntity<>(ranking, HttpStatus.OK);
     }
 
     @GetMapping("/top-by-purchases")
@@ -1,11 +1,17 @@
 package com.cardealership.managementsystem.controller;
 
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.EmployeeResponse;
+import com.cardealership.managementsystem.dto.SalespersonRanking;
 import com.cardealership.managementsystem.model.Employee;
 import com.cardealership.managementsystem.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -17,34 +23,50 @@ import java.util.Map;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getAllEmployees() {
+        return JsonArrayStreams.stream(objectMapper, employeeService::streamAllEmployees,
+                EmployeeResponse::from, EmployeeResponse::writeJson);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<EmployeeResponse>> getEmployeesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<Employee> page = employeeService.getEmployeesPage(cursor, size);
+        return new ResponseEntity<>(page.map(EmployeeResponse::from), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        return NdjsonStreams.stream(objectMapper, employeeService::streamAllEmployees,
+                EmployeeResponse::from, EmployeeResponse::writeJson);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id) {
         Employee employee = employeeService.getEmployeeById(id);
-        return new ResponseEntity<>(employee, HttpStatus.OK);
+        return new ResponseEntity<>(EmployeeResponse.from(employee), HttpStatus.OK);
     }
 
     @PostMapping
-    public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
+    public ResponseEntity<EmployeeResponse> createEmployee(@RequestBody Employee employee) {
         Employee savedEmployee = employeeService.saveEmployee(employee);
-        return new ResponseEntity<>(savedEmployee, HttpStatus.CREATED);
+        return new ResponseEntity<>(EmployeeResponse.from(savedEmployee), HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
         Employee updatedEmployee = employeeService.updateEmployee(id, employee);
-        return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
+        return new ResponseEntity<>(EmployeeResponse.from(updatedEmployee), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -54,39 +76,43 @@ public class EmployeeController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Employee>> searchEmployees(
+    public ResponseEntity<StreamingResponseBody> searchEmployees(
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String lastName) {
+        if (firstName == null && lastName == null) {
+            // No name to match lists everyone; stream it rather than load the whole table
+            return getAllEmployees();
+        }
         List<Employee> employees = employeeService.findByName(firstName, lastName);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, employees, EmployeeResponse::from, EmployeeResponse::writeJson);
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<Employee> getEmployeeByEmail(@PathVariable String email) {
+    public ResponseEntity<EmployeeResponse> getEmployeeByEmail(@PathVariable String email) {
         Employee employee = employeeService.findByEmail(email);
-        return new ResponseEntity<>(employee, HttpStatus.OK);
+        return new ResponseEntity<>(EmployeeResponse.from(employee), HttpStatus.OK);
     }
 
     @GetMapping("/position/{position}")
-    public ResponseEntity<List<Employee>> getEmployeesByPosition(@PathVariable String position) {
+    public ResponseEntity<StreamingResponseBody> getEmployeesByPosition(@PathVariable String position) {
         List<Employee> employees = employeeService.findByPosition(position);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, employees, EmployeeResponse::from, EmployeeResponse::writeJson);
     }
 
     @GetMapping("/hire-date-range")
-    public ResponseEntity<List<Employee>> getEmployeesByHireDateRange(
+    public ResponseEntity<StreamingResponseBody> getEmployeesByHireDateRange(
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate) {
         List<Employee> employees = employeeService.findByHireDateRange(startDate, endDate);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, employees, EmployeeResponse::from, EmployeeResponse::writeJson);
     }
 
     @GetMapping("/salary-range")
-    public ResponseEntity<List<Employee>> getEmployeesBySalaryRange(
+    public ResponseEntity<StreamingResponseBody> getEmployeesBySalaryRange(
             @RequestParam BigDecimal minSalary,
             @RequestParam BigDecimal maxSalary) {
         List<Employee> employees = employeeService.findBySalaryRange(minSalary, maxSalary);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, employees, EmployeeResponse::from, EmployeeResponse::writeJson);
     }
 
     @GetMapping("/top-salespeople")
@@ -95,17 +121,30 @@ public class EmployeeController {
         return new ResponseEntity<>(topSalespeople, HttpStatus.OK);
     }
 
+    /**
+     * Top K salespeople by value sold, e.g. {@code /api/employees/top-salespeople/ranking?limit=5}.
+     * Without a date window the ranking is served from the in-memory leaderboard.
+     */
+    @GetMapping("/top-salespeople/ranking")
+    public ResponseEntity<List<SalespersonRanking>> getTopSalespeople(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate) {
+        List<SalespersonRanking> ranking = employeeService.findTopSalespeople(limit, startDate, endDate);
+        return new ResponseEntity<>(ranking, HttpStatus.OK);
+    }
+
     @GetMapping("/salespeople-no-sales")
-    public ResponseEntity<List<Employee>> getSalespeopleWithNoSales() {
+    public ResponseEntity<StreamingResponseBody> getSalespeopleWithNoSales() {
         List<Employee> employees = employeeService.findSalespeopleWithNoSales();
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, employees, EmployeeResponse::from, EmployeeResponse::writeJson);
     }
 
     @GetMapping("/salespeople-with-sales-in-date-range")
-    public ResponseEntity<List<Employee>> getSalespeopleWithSalesInDateRange(
+    public ResponseEntity<StreamingResponseBody> getSalespeopleWithSalesInDateRange(
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate) {
         List<Employee> employees = employeeService.findSalespeopleWithSalesInDateRange(startDate, endDate);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, employees, EmployeeResponse::from, EmployeeResponse::writeJson);
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.cardealership.managementsystem.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes list responses as a JSON array straight to the response stream with a
+ * {@link JsonGenerator}, using the hand-written writers of the response DTOs. Serializing a
+ * list costs one flat object per item, whatever the entities are linked to.
+ */
+final class JsonArrayStreams {
+
+    private JsonArrayStreams() {
+    }
+
+    /**
+     * Writes one item to a generator, e.g. {@code CarResponse::writeJson}.
+     */
+    interface ItemWriter<T> {
+        void write(T item, JsonGenerator gen) throws IOException;
+    }
+
+    /**
+     * Build a streaming JSON array response. The items are mapped to response DTOs right
+     * away, on the request thread, so nothing entity-related is touched once writing starts.
+     *
+     * @param objectMapper Supplies the generator factory and its settings
+     * @param items The entities to write
+     * @param mapper Maps an entity to its response DTO, e.g. {@code CarResponse::from}
+     * @param writer Writes a response DTO
+     * @return The streaming response
+     */
+    static <T, R> ResponseEntity<StreamingResponseBody> list(ObjectMapper objectMapper, List<T> items,
+                                                             Function<T, R> mapper, ItemWriter<R> writer) {
+        List<R> responses = items.stream().map(mapper).toList();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                gen.writeStartArray();
+                for (R response : responses) {
+                    writer.write(response, gen);
+                }
+                gen.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Build a streaming JSON array response fed by a service-layer entity stream, so the
+     * table is read row by row while it is written and never held in memory. The producer
+     * runs on the writing thread in its own read-only transaction; each item is mapped and
+     * written as it arrives.
+     *
+     * @param objectMapper Supplies the generator factory and its settings
+     * @param producer Pushes every item to the given consumer, e.g. {@code carService::streamAllCars}
+     * @param mapper Maps an item to its response DTO, e.g. {@code CarResponse::from}
+     * @param writer Writes a response DTO
+     * @return The streaming response
+     */
+    static <T, R> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper,
+                                                               Consumer<Consumer<T>> producer, Function<T, R> mapper,
+                                                               ItemWriter<R> writer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                gen.writeStartArray();
+                producer.accept(item -> {
+                    try {
+                        writer.write(mapper.apply(item), gen);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gen.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
\ No newline at end of file
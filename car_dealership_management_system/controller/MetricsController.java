@@ -0,0 +1,58 @@
+package com.cardealership.managementsystem.controller;
+
+import com.cardealership.managementsystem.dto.ConnectionPoolStats;
+import com.cardealership.managementsystem.dto.MethodStats;
+import com.cardealership.managementsystem.metrics.ConnectionPoolMetrics;
+import com.cardealership.managementsystem.metrics.MetricsRegistry;
+import com.cardealership.managementsystem.metrics.PrometheusFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    public MetricsController(MetricsRegistry metricsRegistry, ConnectionPoolMetrics connectionPoolMetrics) {
+        this.metricsRegistry = metricsRegistry;
+        this.connectionPoolMetrics = connectionPoolMetrics;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<MethodStats>> getMethodMetrics() {
+        List<MethodStats> methods = metricsRegistry.snapshot();
+        return new ResponseEntity<>(methods, HttpStatus.OK);
+    }
+
+    @GetMapping("/pools")
+    public ResponseEntity<List<ConnectionPoolStats>> getConnectionPoolMetrics() {
+        List<ConnectionPoolStats> pools = connectionPoolMetrics.snapshot();
+        return new ResponseEntity<>(pools, HttpStatus.OK);
+    }
+
+    /**
+     * The method and connection pool metrics in Prometheus text format, for scraping.
+     */
+    @GetMapping("/prometheus")
+    public ResponseEntity<String> getPrometheusMetrics() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, PrometheusFormat.CONTENT_TYPE)
+                .body(PrometheusFormat.write(metricsRegistry.snapshot())
+                        + PrometheusFormat.writePools(connectionPoolMetrics.snapshot()));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> resetMethodMetrics() {
+        metricsRegistry.reset();
+        connectionPoolMetrics.reset();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.cardealership.managementsystem.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes service-layer entity streams as newline-delimited JSON, one object per line,
+ * so list endpoints never hold a whole table in memory.
+ */
+final class NdjsonStreams {
+
+    private NdjsonStreams() {
+    }
+
+    /**
+     * Build a streaming NDJSON response.
+     *
+     * @param objectMapper Supplies the generator factory and its settings
+     * @param producer Pushes every item to the given consumer, e.g. {@code carService::streamAllCars}
+     * @param mapper Maps an item to its response DTO, e.g. {@code CarResponse::from}
+     * @param writer Writes a response DTO, e.g. {@code CarResponse::writeJson}
+     * @return The streaming response
+     */
+    static <T, R> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper,
+                                                               Consumer<Consumer<T>> producer, Function<T, R> mapper,
+                                                               JsonArrayStreams.ItemWriter<R> writer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                gen.setRootValueSeparator(null);
+                producer.accept(item -> {
+                    try {
+                        writer.write(mapper.apply(item), gen);
+                        gen.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
\ No newline at end of file
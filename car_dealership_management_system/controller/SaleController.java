@@ -1,15 +1,25 @@
 package com.cardealership.managementsystem.controller;
 
+import com.cardealership.managementsystem.dto.BatchSaleResult;
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.DataVersion;
+import com.cardealership.managementsystem.dto.SaleRequest;
+import com.cardealership.managementsystem.dto.SaleResponse;
+import com.cardealership.managementsystem.dto.SaleSummary;
 import com.cardealership.managementsystem.model.Car;
 import com.cardealership.managementsystem.model.Customer;
 import com.cardealership.managementsystem.model.Employee;
 import com.cardealership.managementsystem.model.Sale;
 import com.cardealership.managementsystem.service.SaleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -21,34 +31,72 @@ import java.util.Map;
 public class SaleController {
 
     private final SaleService saleService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public SaleController(SaleService saleService) {
+    public SaleController(SaleService saleService, ObjectMapper objectMapper) {
         this.saleService = saleService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<Sale>> getAllSales() {
-        List<Sale> sales = saleService.getAllSales();
+    public ResponseEntity<StreamingResponseBody> getAllSales() {
+        return JsonArrayStreams.stream(objectMapper, saleService::streamAllSales,
+                SaleResponse::from, SaleResponse::writeJson);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<SaleResponse>> getSalesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<Sale> page = saleService.getSalesPage(cursor, size);
+        return new ResponseEntity<>(page.map(SaleResponse::from), HttpStatus.OK);
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<SaleSummary>> getSaleSummariesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<SaleSummary> page = saleService.getSaleSummariesPage(cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/summaries/date-range")
+    public ResponseEntity<List<SaleSummary>> getSaleSummariesByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<SaleSummary> sales = saleService.getSaleSummariesByDateRange(startDate, endDate);
+        return new ResponseEntity<>(sales, HttpStatus.OK);
+    }
+
+    @GetMapping("/summaries/customer/{customerId}")
+    public ResponseEntity<List<SaleSummary>> getSaleSummariesByCustomer(@PathVariable Long customerId) {
+        List<SaleSummary> sales = saleService.getSaleSummariesByCustomer(customerId);
         return new ResponseEntity<>(sales, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSales() {
+        return NdjsonStreams.stream(objectMapper, saleService::streamAllSales,
+                SaleResponse::from, SaleResponse::writeJson);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Sale> getSaleById(@PathVariable Long id) {
+    public ResponseEntity<SaleResponse> getSaleById(@PathVariable Long id) {
         Sale sale = saleService.getSaleById(id);
-        return new ResponseEntity<>(sale, HttpStatus.OK);
+        return new ResponseEntity<>(SaleResponse.from(sale), HttpStatus.OK);
     }
 
     @PostMapping
-    public ResponseEntity<Sale> createSale(@RequestBody Sale sale) {
+    public ResponseEntity<SaleResponse> createSale(@RequestBody Sale sale) {
         Sale savedSale = saleService.saveSale(sale);
-        return new ResponseEntity<>(savedSale, HttpStatus.CREATED);
+        return new ResponseEntity<>(SaleResponse.from(savedSale), HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Sale> updateSale(@PathVariable Long id, @RequestBody Sale sale) {
+    public ResponseEntity<SaleResponse> updateSale(@PathVariable Long id, @RequestBody Sale sale) {
         Sale updatedSale = saleService.updateSale(id, sale);
-        return new ResponseEntity<>(updatedSale, HttpStatus.OK);
+        return new ResponseEntity<>(SaleResponse.from(updatedSale), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -58,7 +106,7 @@ public class SaleController {
     }
 
     @PostMapping("/process")
-    public ResponseEntity<Sale> processSale(
+    public ResponseEntity<SaleResponse> processSale(
             @RequestParam Long carId,
             @RequestParam Long customerId,
             @RequestParam Long salespersonId,
@@ -66,69 +114,84 @@ public class SaleController {
             @RequestParam BigDecimal tax,
             @RequestParam String paymentMethod) {
         Sale sale = saleService.processSale(carId, customerId, salespersonId, salePrice, tax, paymentMethod);
-        return new ResponseEntity<>(sale, HttpStatus.CREATED);
+        return new ResponseEntity<>(SaleResponse.from(sale), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchSaleResult>> processSales(@RequestBody List<SaleRequest> requests) {
+        List<BatchSaleResult> results = saleService.processSales(requests);
+        return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Sale>> getSalesByCustomer(@PathVariable Long customerId) {
+    public ResponseEntity<StreamingResponseBody> getSalesByCustomer(@PathVariable Long customerId) {
         List<Sale> sales = saleService.getSalesByCustomer(customerId);
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 
     @GetMapping("/salesperson/{salespersonId}")
-    public ResponseEntity<List<Sale>> getSalesBySalesperson(@PathVariable Long salespersonId) {
+    public ResponseEntity<StreamingResponseBody> getSalesBySalesperson(@PathVariable Long salespersonId) {
         List<Sale> sales = saleService.getSalesBySalesperson(salespersonId);
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 
     @GetMapping("/car/{carId}")
-    public ResponseEntity<Sale> getSaleByCar(@PathVariable Long carId) {
+    public ResponseEntity<SaleResponse> getSaleByCar(@PathVariable Long carId) {
         Sale sale = saleService.getSaleByCar(carId);
-        return new ResponseEntity<>(sale, HttpStatus.OK);
+        return new ResponseEntity<>(SaleResponse.from(sale), HttpStatus.OK);
     }
 
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<Sale>> getSalesByDate(
+    public ResponseEntity<StreamingResponseBody> getSalesByDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         List<Sale> sales = saleService.getSalesByDate(date);
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<Sale>> getSalesByDateRange(
+    public ResponseEntity<StreamingResponseBody> getSalesByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         List<Sale> sales = saleService.getSalesByDateRange(startDate, endDate);
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 
     @GetMapping("/payment-method/{paymentMethod}")
-    public ResponseEntity<List<Sale>> getSalesByPaymentMethod(@PathVariable String paymentMethod) {
+    public ResponseEntity<StreamingResponseBody> getSalesByPaymentMethod(@PathVariable String paymentMethod) {
         List<Sale> sales = saleService.getSalesByPaymentMethod(paymentMethod);
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Sale>> getSalesByStatus(@PathVariable String status) {
+    public ResponseEntity<StreamingResponseBody> getSalesByStatus(@PathVariable String status) {
         List<Sale> sales = saleService.getSalesByStatus(status);
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 
     @GetMapping("/total-price-greater-than/{price}")
-    public ResponseEntity<List<Sale>> getSalesWithTotalPriceGreaterThan(@PathVariable BigDecimal price) {
+    public ResponseEntity<StreamingResponseBody> getSalesWithTotalPriceGreaterThan(@PathVariable BigDecimal price) {
         List<Sale> sales = saleService.getSalesWithTotalPriceGreaterThan(price);
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 
     @GetMapping("/monthly-totals")
-    public ResponseEntity<Map<String, Object>> getMonthlySalesTotals() {
+    public ResponseEntity<Map<String, Object>> getMonthlySalesTotals(WebRequest request) {
+        // One row per month, so the rollup itself is the version; a 304 saves the body
         Map<String, Object> monthlySalesTotals = saleService.getMonthlySalesTotals();
-        return new ResponseEntity<>(monthlySalesTotals, HttpStatus.OK);
+        DataVersion version = DataVersion.ofContent("sales-monthly", monthlySalesTotals.toString());
+        return ConditionalResponses.ifModified(request, version,
+                () -> new ResponseEntity<>(monthlySalesTotals, HttpStatus.OK));
+    }
+
+    @PostMapping("/monthly-totals/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildMonthlySalesTotals() {
+        int months = saleService.rebuildMonthlySalesTotals();
+        return new ResponseEntity<>(Map.of("months", months), HttpStatus.OK);
     }
 
     @GetMapping("/today")
-    public ResponseEntity<List<Sale>> getTodaySales() {
+    public ResponseEntity<StreamingResponseBody> getTodaySales() {
         List<Sale> sales = saleService.getTodaySales();
-        return new ResponseEntity<>(sales, HttpStatus.OK);
+        return JsonArrayStreams.list(objectMapper, sales, SaleResponse::from, SaleResponse::writeJson);
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.cardealership.managementsystem.dto;
+
+/**
+ * Outcome of one item of a batch sale request.
+ */
+public class BatchSaleResult {
+
+    public enum Status {
+        PROCESSED, REJECTED
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long saleId;
+    private final String message;
+
+    private BatchSaleResult(int index, Status status, Long saleId, String message) {
+        this.index = index;
+        this.status = status;
+        this.saleId = saleId;
+        this.message = message;
+    }
+
+    public static BatchSaleResult processed(int index, Long saleId) {
+        return new BatchSaleResult(index, Status.PROCESSED, saleId, null);
+    }
+
+    public static BatchSaleResult rejected(int index, String message) {
+        return new BatchSaleResult(index, Status.REJECTED, null, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getSaleId() {
+        return saleId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
\ No newline at end of file
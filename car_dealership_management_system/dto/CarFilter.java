@@ -0,0 +1,137 @@
+package com.cardealership.managementsystem.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional criteria for filtering cars; unset fields don't constrain the result. List
+ * fields match any of their values (bound from comma-separated request parameters, e.g.
+ * {@code make=Toyota,Honda}). Ranges are inclusive and may be open on either side.
+ */
+public class CarFilter {
+
+    private List<String> make;
+    private List<String> model;
+    private List<String> condition;
+    private List<String> color;
+    private Integer yearFrom;
+    private Integer yearTo;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minMileage;
+    private Integer maxMileage;
+    private Boolean sold;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate addedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate addedTo;
+
+    public List<String> getMake() {
+        return make;
+    }
+
+    public void setMake(List<String> make) {
+        this.make = make;
+    }
+
+    public List<String> getModel() {
+        return model;
+    }
+
+    public void setModel(List<String> model) {
+        this.model = model;
+    }
+
+    public List<String> getCondition() {
+        return condition;
+    }
+
+    public void setCondition(List<String> condition) {
+        this.condition = condition;
+    }
+
+    public List<String> getColor() {
+        return color;
+    }
+
+    public void setColor(List<String> color) {
+        this.color = color;
+    }
+
+    public Integer getYearFrom() {
+        return yearFrom;
+    }
+
+    public void setYearFrom(Integer yearFrom) {
+        this.yearFrom = yearFrom;
+    }
+
+    public Integer getYearTo() {
+        return yearTo;
+    }
+
+    public void setYearTo(Integer yearTo) {
+        this.yearTo = yearTo;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Integer getMinMileage() {
+        return minMileage;
+    }
+
+    public void setMinMileage(Integer minMileage) {
+        this.minMileage = minMileage;
+    }
+
+    public Integer getMaxMileage() {
+        return maxMileage;
+    }
+
+    public void setMaxMileage(Integer maxMileage) {
+        this.maxMileage = maxMileage;
+    }
+
+    public Boolean getSold() {
+        return sold;
+    }
+
+    public void setSold(Boolean sold) {
+        this.sold = sold;
+    }
+
+    public LocalDate getAddedFrom() {
+        return addedFrom;
+    }
+
+    public void setAddedFrom(LocalDate addedFrom) {
+        this.addedFrom = addedFrom;
+    }
+
+    public LocalDate getAddedTo() {
+        return addedTo;
+    }
+
+    public void setAddedTo(LocalDate addedTo) {
+        this.addedTo = addedTo;
+    }
+}
\ No newline at end of file
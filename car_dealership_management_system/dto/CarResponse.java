@@ -0,0 +1,139 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.model.Car;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response shape of a car on the REST API.
+ */
+public class CarResponse {
+
+    private final Long id;
+    private final String make;
+    private final String model;
+    private final Integer year;
+    private final String vin;
+    private final String color;
+    private final String condition;
+    private final BigDecimal price;
+    private final Integer mileage;
+    private final LocalDate dateAdded;
+    private final Boolean sold;
+    private final Long version;
+
+    public CarResponse(Long id, String make, String model, Integer year, String vin, String color,
+                       String condition, BigDecimal price, Integer mileage, LocalDate dateAdded, Boolean sold,
+                       Long version) {
+        this.id = id;
+        this.make = make;
+        this.model = model;
+        this.year = year;
+        this.vin = vin;
+        this.color = color;
+        this.condition = condition;
+        this.price = price;
+        this.mileage = mileage;
+        this.dateAdded = dateAdded;
+        this.sold = sold;
+        this.version = version;
+    }
+
+    public static CarResponse from(Car car) {
+        return new CarResponse(car.getId(),
+                car.getMake(),
+                car.getModel(),
+                car.getYear(),
+                car.getVin(),
+                car.getColor(),
+                car.getCondition(),
+                car.getPrice(),
+                car.getMileage(),
+                car.getDateAdded(),
+                car.getSold(),
+                car.getVersion());
+    }
+
+    /**
+     * A new detached car with this car's fields, for callers that work with entities.
+     */
+    public Car toCar() {
+        Car car = new Car(make, model, year, vin, color, condition, price, mileage);
+        car.setId(id);
+        car.setDateAdded(dateAdded);
+        car.setSold(sold);
+        car.setVersion(version);
+        return car;
+    }
+
+    /**
+     * Write this car as a JSON object, without going through bean introspection.
+     */
+    public void writeJson(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        JsonFields.write(gen, "id", id);
+        JsonFields.write(gen, "make", make);
+        JsonFields.write(gen, "model", model);
+        JsonFields.write(gen, "year", year);
+        JsonFields.write(gen, "vin", vin);
+        JsonFields.write(gen, "color", color);
+        JsonFields.write(gen, "condition", condition);
+        JsonFields.write(gen, "price", price);
+        JsonFields.write(gen, "mileage", mileage);
+        JsonFields.write(gen, "dateAdded", dateAdded);
+        JsonFields.write(gen, "sold", sold);
+        JsonFields.write(gen, "version", version);
+        gen.writeEndObject();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getMake() {
+        return make;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Integer getMileage() {
+        return mileage;
+    }
+
+    public LocalDate getDateAdded() {
+        return dateAdded;
+    }
+
+    public Boolean getSold() {
+        return sold;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.exception.InvalidFilterException;
+import com.cardealership.managementsystem.model.Car;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * The orders in which filtered cars can be listed. Each order breaks ties by id, so
+ * (value, id) identifies a position for keyset pagination.
+ */
+public enum CarSort {
+
+    ID("id", Car::getId, Long::valueOf),
+    PRICE("price", Car::getPrice, BigDecimal::new),
+    YEAR("year", Car::getYear, Integer::valueOf),
+    MILEAGE("mileage", Car::getMileage, Integer::valueOf),
+    DATE_ADDED("dateAdded", Car::getDateAdded, LocalDate::parse);
+
+    private final String attribute;
+    private final Function<Car, Comparable<?>> getter;
+    private final Function<String, Comparable<?>> parser;
+
+    CarSort(String attribute, Function<Car, Comparable<?>> getter, Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.getter = getter;
+        this.parser = parser;
+    }
+
+    /**
+     * Resolve a sort request parameter, e.g. {@code price} or {@code dateAdded}.
+     */
+    public static CarSort fromParameter(String value) {
+        for (CarSort sort : values()) {
+            if (sort.attribute.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new InvalidFilterException("Unknown sort: " + value);
+    }
+
+    /**
+     * The Car attribute sorted on.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * The sort value of a car, as written into cursors; null if the car has none.
+     */
+    public String format(Car car) {
+        Comparable<?> value = getter.apply(car);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+
+    /**
+     * Parse a sort value read back from a cursor.
+     */
+    public Comparable<?> parse(String value) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new InvalidFilterException("Invalid " + attribute + " value in cursor: " + value);
+        }
+    }
+}
\ No newline at end of file
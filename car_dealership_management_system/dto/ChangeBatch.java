@@ -0,0 +1,47 @@
+package com.cardealership.managementsystem.dto;
+
+import java.util.List;
+
+/**
+ * The changes after a given offset, as returned to polling clients.
+ */
+public class ChangeBatch {
+
+    private final List<ChangeEvent> items;
+    private final long lastOffset;
+    private final String cursor;
+    private final boolean reset;
+
+    public ChangeBatch(List<ChangeEvent> items, long lastOffset, String cursor, boolean reset) {
+        this.items = items;
+        this.lastOffset = lastOffset;
+        this.cursor = cursor;
+        this.reset = reset;
+    }
+
+    public List<ChangeEvent> getItems() {
+        return items;
+    }
+
+    /**
+     * The offset of the last change covered by this batch.
+     */
+    public long getLastOffset() {
+        return lastOffset;
+    }
+
+    /**
+     * The cursor to resume from on the next request.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * True if the requested offset is no longer retained (or is from before a restart).
+     * The client should reload its lists in full, then resume from {@link #getCursor()}.
+     */
+    public boolean isReset() {
+        return reset;
+    }
+}
\ No newline at end of file
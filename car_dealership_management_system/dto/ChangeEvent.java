@@ -0,0 +1,69 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.event.ChangeType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+
+/**
+ * One entry of the change feed. Offsets increase by one per committed change, so a
+ * client that remembers the cursor of the last event it saw can resume from there.
+ */
+public class ChangeEvent {
+
+    private final long offset;
+    private final String cursor;
+    private final String topic;
+    private final ChangeType type;
+    private final Long id;
+    private final Instant timestamp;
+    private final JsonNode data;
+
+    public ChangeEvent(long offset, String cursor, String topic, ChangeType type, Long id, Instant timestamp,
+                       JsonNode data) {
+        this.offset = offset;
+        this.cursor = cursor;
+        this.topic = topic;
+        this.type = type;
+        this.id = id;
+        this.timestamp = timestamp;
+        this.data = data;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * The offset with the feed's boot epoch; what clients pass back to resume.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * The kind of row that changed, e.g. {@code car} or {@code sale}.
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The row as written; for deletions, as it was before removal.
+     */
+    public JsonNode getData() {
+        return data;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.cardealership.managementsystem.dto;
+
+/**
+ * Snapshot of one JDBC connection pool: its current occupancy and how long callers waited
+ * for a connection.
+ */
+public class ConnectionPoolStats {
+
+    private String pool;
+    private int active;
+    private int idle;
+    private int total;
+    private int maxConnections;
+    private int pendingThreads;
+    private long acquires;
+    private long timeouts;
+    private double acquireTotalMillis;
+    private double acquireP50Millis;
+    private double acquireP95Millis;
+    private double acquireP99Millis;
+    private double acquireMaxMillis;
+    private double usageP50Millis;
+    private double usageP99Millis;
+
+    public String getPool() {
+        return pool;
+    }
+
+    public void setPool(String pool) {
+        this.pool = pool;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public void setIdle(int idle) {
+        this.idle = idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Threads currently waiting for a connection; non-zero means the pool is saturated.
+     */
+    public int getPendingThreads() {
+        return pendingThreads;
+    }
+
+    public void setPendingThreads(int pendingThreads) {
+        this.pendingThreads = pendingThreads;
+    }
+
+    public long getAcquires() {
+        return acquires;
+    }
+
+    public void setAcquires(long acquires) {
+        this.acquires = acquires;
+    }
+
+    /**
+     * Requests that gave up after the pool's connection timeout.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public double getAcquireTotalMillis() {
+        return acquireTotalMillis;
+    }
+
+    public void setAcquireTotalMillis(double acquireTotalMillis) {
+        this.acquireTotalMillis = acquireTotalMillis;
+    }
+
+    public double getAcquireP50Millis() {
+        return acquireP50Millis;
+    }
+
+    public void setAcquireP50Millis(double acquireP50Millis) {
+        this.acquireP50Millis = acquireP50Millis;
+    }
+
+    public double getAcquireP95Millis() {
+        return acquireP95Millis;
+    }
+
+    public void setAcquireP95Millis(double acquireP95Millis) {
+        this.acquireP95Millis = acquireP95Millis;
+    }
+
+    public double getAcquireP99Millis() {
+        return acquireP99Millis;
+    }
+
+    public void setAcquireP99Millis(double acquireP99Millis) {
+        this.acquireP99Millis = acquireP99Millis;
+    }
+
+    public double getAcquireMaxMillis() {
+        return acquireMaxMillis;
+    }
+
+    public void setAcquireMaxMillis(double acquireMaxMillis) {
+        this.acquireMaxMillis = acquireMaxMillis;
+    }
+
+    /**
+     * How long connections were held, from checkout to return.
+     */
+    public double getUsageP50Millis() {
+        return usageP50Millis;
+    }
+
+    public void setUsageP50Millis(double usageP50Millis) {
+        this.usageP50Millis = usageP50Millis;
+    }
+
+    public double getUsageP99Millis() {
+        return usageP99Millis;
+    }
+
+    public void setUsageP99Millis(double usageP99Millis) {
+        this.usageP99Millis = usageP99Millis;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.cardealership.managementsystem.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param <T> The item type
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public CursorPage(List<T> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Build a page from a result that was fetched with one extra row.
+     *
+     * @param fetched Up to size + 1 rows, ordered by id
+     * @param size The requested page size
+     * @param idExtractor Extracts the keyset id from an item
+     * @return The page, with a cursor pointing after its last item
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Long> idExtractor) {
+        return ofSorted(fetched, size, item -> KeysetCursor.encode(idExtractor.apply(item)));
+    }
+
+    /**
+     * Build a page from a result that was fetched with one extra row, in any keyset order.
+     *
+     * @param fetched Up to size + 1 rows
+     * @param size The requested page size
+     * @param cursorEncoder Encodes the position of an item as a cursor
+     * @return The page, with a cursor pointing after its last item
+     */
+    public static <T> CursorPage<T> ofSorted(List<T> fetched, int size, Function<T, String> cursorEncoder) {
+        boolean hasMore = fetched.size() > size;
+        List<T> items = hasMore ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasMore ? cursorEncoder.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Map the items of this page, keeping its cursor.
+     *
+     * @param mapper The item mapper
+     * @return A page of mapped items
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
\ No newline at end of file
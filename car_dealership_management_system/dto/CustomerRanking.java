@@ -0,0 +1,50 @@
+package com.cardealership.managementsystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the top customers ranking.
+ */
+public class CustomerRanking {
+
+    private final Long customerId;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final long purchaseCount;
+    private final BigDecimal totalSpent;
+
+    public CustomerRanking(Long customerId, String firstName, String lastName, String email,
+                           Long purchaseCount, BigDecimal totalSpent) {
+        this.customerId = customerId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.purchaseCount = purchaseCount == null ? 0 : purchaseCount;
+        this.totalSpent = totalSpent;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getPurchaseCount() {
+        return purchaseCount;
+    }
+
+    public BigDecimal getTotalSpent() {
+        return totalSpent;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.model.Customer;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Response shape of a customer on the REST API. Purchases are not included; list them with
+ * /api/sales/summaries/customer/{id}.
+ */
+public class CustomerResponse {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+    private final String address;
+    private final LocalDate registrationDate;
+
+    public CustomerResponse(Long id, String firstName, String lastName, String email, String phone,
+                            String address, LocalDate registrationDate) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+        this.registrationDate = registrationDate;
+    }
+
+    public static CustomerResponse from(Customer customer) {
+        return new CustomerResponse(customer.getId(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getEmail(),
+                customer.getPhone(),
+                customer.getAddress(),
+                customer.getRegistrationDate());
+    }
+
+    /**
+     * A new detached customer with this customer's fields, for callers that work with entities.
+     */
+    public Customer toCustomer() {
+        Customer customer = new Customer(firstName, lastName, email, phone, address);
+        customer.setId(id);
+        customer.setRegistrationDate(registrationDate);
+        return customer;
+    }
+
+    /**
+     * Write this customer as a JSON object, without going through bean introspection.
+     */
+    public void writeJson(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        JsonFields.write(gen, "id", id);
+        JsonFields.write(gen, "firstName", firstName);
+        JsonFields.write(gen, "lastName", lastName);
+        JsonFields.write(gen, "email", email);
+        JsonFields.write(gen, "phone", phone);
+        JsonFields.write(gen, "address", address);
+        JsonFields.write(gen, "registrationDate", registrationDate);
+        gen.writeEndObject();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public LocalDate getRegistrationDate() {
+        return registrationDate;
+    }
+}
\ No newline at end of file
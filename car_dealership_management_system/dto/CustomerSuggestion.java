@@ -0,0 +1,49 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.model.Customer;
+
+/**
+ * A typeahead match: the fields shown in a suggestion list, read from the in-memory
+ * customer index rather than the database.
+ */
+public class CustomerSuggestion {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+
+    public CustomerSuggestion(Long id, String firstName, String lastName, String email, String phone) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    public static CustomerSuggestion of(Customer customer) {
+        return new CustomerSuggestion(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhone());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.cardealership.managementsystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Point-in-time snapshot of the headline numbers shown on the dashboard.
+ */
+public class DashboardMetrics {
+
+    private final long availableCars;
+    private final long totalCustomers;
+    private final long totalSales;
+    private final long todaySales;
+    private final BigDecimal totalRevenue;
+
+    public DashboardMetrics(long availableCars, long totalCustomers, long totalSales,
+                            long todaySales, BigDecimal totalRevenue) {
+        this.availableCars = availableCars;
+        this.totalCustomers = totalCustomers;
+        this.totalSales = totalSales;
+        this.todaySales = todaySales;
+        this.totalRevenue = totalRevenue;
+    }
+
+    public long getAvailableCars() {
+        return availableCars;
+    }
+
+    public long getTotalCustomers() {
+        return totalCustomers;
+    }
+
+    public long getTotalSales() {
+        return totalSales;
+    }
+
+    public long getTodaySales() {
+        return todaySales;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+}
\ No newline at end of file
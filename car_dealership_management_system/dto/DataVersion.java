@@ -0,0 +1,48 @@
+package com.cardealership.managementsystem.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Version of the data behind a read endpoint, which changes whenever a write, from this
+ * terminal or another sharing the database, changes that data.
+ */
+public class DataVersion {
+
+    private final String name;
+    private final String token;
+
+    private DataVersion(String name, String token) {
+        this.name = name;
+        this.token = token;
+    }
+
+    /**
+     * A version made of parts that change with every write, e.g. a change counter.
+     */
+    public static DataVersion of(String name, Object... parts) {
+        return new DataVersion(name, Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-")));
+    }
+
+    /**
+     * A version that is a hash of the data itself, for results small enough to read anyway.
+     */
+    public static DataVersion ofContent(String name, String content) {
+        return new DataVersion(name, DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Weak, since the same version may be sent gzip-encoded or not.
+     */
+    public String getETag() {
+        return "W/\"" + name + "-" + token + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return getETag();
+    }
+}
\ No newline at end of file
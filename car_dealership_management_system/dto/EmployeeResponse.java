@@ -0,0 +1,112 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response shape of an employee on the REST API. Sales are not included.
+ */
+public class EmployeeResponse {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+    private final String position;
+    private final LocalDate hireDate;
+    private final BigDecimal salary;
+    private final BigDecimal commissionRate;
+
+    public EmployeeResponse(Long id, String firstName, String lastName, String email, String phone,
+                            String position, LocalDate hireDate, BigDecimal salary, BigDecimal commissionRate) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.position = position;
+        this.hireDate = hireDate;
+        this.salary = salary;
+        this.commissionRate = commissionRate;
+    }
+
+    public static EmployeeResponse from(Employee employee) {
+        return new EmployeeResponse(employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getPhone(),
+                employee.getPosition(),
+                employee.getHireDate(),
+                employee.getSalary(),
+                employee.getCommissionRate());
+    }
+
+    /**
+     * A new detached employee with this employee's fields, for callers that work with entities.
+     */
+    public Employee toEmployee() {
+        Employee employee = new Employee(firstName, lastName, email, phone, position, salary, commissionRate);
+        employee.setId(id);
+        employee.setHireDate(hireDate);
+        return employee;
+    }
+
+    /**
+     * Write this employee as a JSON object, without going through bean introspection.
+     */
+    public void writeJson(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        JsonFields.write(gen, "id", id);
+        JsonFields.write(gen, "firstName", firstName);
+        JsonFields.write(gen, "lastName", lastName);
+        JsonFields.write(gen, "email", email);
+        JsonFields.write(gen, "phone", phone);
+        JsonFields.write(gen, "position", position);
+        JsonFields.write(gen, "hireDate", hireDate);
+        JsonFields.write(gen, "salary", salary);
+        JsonFields.write(gen, "commissionRate", commissionRate);
+        gen.writeEndObject();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+
+    public BigDecimal getSalary() {
+        return salary;
+    }
+
+    public BigDecimal getCommissionRate() {
+        return commissionRate;
+    }
+}
\ No newline at end of file
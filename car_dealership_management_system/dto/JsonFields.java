@@ -0,0 +1,57 @@
+package com.cardealership.managementsystem.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Null-safe field writes for the hand-written response writers. Dates are written as ISO
+ * strings, the same as the application's ObjectMapper writes them.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    static void write(JsonGenerator gen, String name, String value) throws IOException {
+        gen.writeStringField(name, value);
+    }
+
+    static void write(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    static void write(JsonGenerator gen, String name, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    static void write(JsonGenerator gen, String name, BigDecimal value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    static void write(JsonGenerator gen, String name, Boolean value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeBooleanField(name, value);
+        }
+    }
+
+    static void write(JsonGenerator gen, String name, LocalDate value) throws IOException {
+        gen.writeStringField(name, value == null ? null : value.toString());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors handed out by paginated endpoints.
+ * A cursor holds the id of the last row of the previous page, plus its sort value when
+ * the listing is sorted on something other than id.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String PREFIX = "id:";
+    private static final String SORTED_PREFIX = "key:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decode a cursor into the id to seek after.
+     *
+     * @param cursor The cursor, or null/blank for the first page
+     * @return The last id of the previous page, or 0 for the first page
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Encode a position in a listing sorted on another column, ties broken by id.
+     *
+     * @param sortKey Identifies the sort order, so a cursor can't be replayed against another
+     * @param value The sort value of the last row, or null if it has none
+     * @param lastId The id of the last row
+     */
+    public static String encode(String sortKey, String value, Long lastId) {
+        String raw = SORTED_PREFIX + sortKey + ":" + lastId + (value == null ? "" : ":" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode(String, String, Long)}.
+     *
+     * @param cursor The cursor, or null/blank for the first page
+     * @param sortKey The sort order of the current request
+     * @return The position to seek after, or null for the first page
+     */
+    public static Position decode(String cursor, String sortKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length < 3 || !SORTED_PREFIX.equals(parts[0] + ":") || !parts[1].equals(sortKey)) {
+                throw new InvalidCursorException("Invalid cursor for this sort order: " + cursor);
+            }
+            return new Position(parts.length == 4 ? parts[3] : null, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Clamp a requested page size to the supported range.
+     *
+     * @param requested The requested size, may be null
+     * @return A size between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * A decoded position in a sorted listing.
+     */
+    public static final class Position {
+
+        private final String value;
+        private final long lastId;
+
+        private Position(String value, long lastId) {
+            this.value = value;
+            this.lastId = lastId;
+        }
+
+        /**
+         * The sort value of the last row, or null if it had none.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        public long getLastId() {
+            return lastId;
+        }
+    }
+}
\ No newline at end of file
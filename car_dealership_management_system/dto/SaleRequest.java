@@ -0,0 +1,79 @@
+package com.cardealership.managementsystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One sale to process, as submitted to the batch sale endpoint.
+ */
+public class SaleRequest {
+
+    private Long carId;
+    private Long customerId;
+    private Long salespersonId;
+    private BigDecimal salePrice;
+    private BigDecimal tax;
+    private String paymentMethod;
+
+    // Constructors
+    public SaleRequest() {
+    }
+
+    public SaleRequest(Long carId, Long customerId, Long salespersonId, BigDecimal salePrice,
+                       BigDecimal tax, String paymentMethod) {
+        this.carId = carId;
+        this.customerId = customerId;
+        this.salespersonId = salespersonId;
+        this.salePrice = salePrice;
+        this.tax = tax;
+        this.paymentMethod = paymentMethod;
+    }
+
+    // Getters and Setters
+    public Long getCarId() {
+        return carId;
+    }
+
+    public void setCarId(Long carId) {
+        this.carId = carId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getSalespersonId() {
+        return salespersonId;
+    }
+
+    public void setSalespersonId(Long salespersonId) {
+        this.salespersonId = salespersonId;
+    }
+
+    public BigDecimal getSalePrice() {
+        return salePrice;
+    }
+
+    public void setSalePrice(BigDecimal salePrice) {
+        this.salePrice = salePrice;
+    }
+
+    public BigDecimal getTax() {
+        return tax;
+    }
+
+    public void setTax(BigDecimal tax) {
+        this.tax = tax;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.cardealership.managementsystem.dto;
+
+import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.model.Customer;
+import com.cardealership.managementsystem.model.Employee;
+import com.cardealership.managementsystem.model.Sale;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.hibernate.Hibernate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response shape of a sale on the REST API. The car, customer and salesperson are reduced to
+ * an id and a display name, so serializing a sale never walks into their collections.
+ * Names are only filled in for parties that are already loaded; an uninitialized proxy
+ * contributes just its id instead of triggering a lazy load.
+ */
+public class SaleResponse {
+
+    private final Long id;
+    private final LocalDate saleDate;
+    private final BigDecimal salePrice;
+    private final BigDecimal tax;
+    private final BigDecimal totalPrice;
+    private final String paymentMethod;
+    private final String saleStatus;
+    private final Long version;
+    private final Long carId;
+    private final String carDescription;
+    private final Long customerId;
+    private final String customerName;
+    private final Long salespersonId;
+    private final String salespersonName;
+
+    public SaleResponse(Long id, LocalDate saleDate, BigDecimal salePrice, BigDecimal tax, BigDecimal totalPrice,
+                        String paymentMethod, String saleStatus, Long version,
+                        Long carId, String carDescription, Long customerId, String customerName,
+                        Long salespersonId, String salespersonName) {
+        this.id = id;
+        this.saleDate = saleDate;
+        this.salePrice = salePrice;
+        this.tax = tax;
+        this.totalPrice = totalPrice;
+        this.paymentMethod = paymentMethod;
+        this.saleStatus = saleStatus;
+        this.version = version;
+        this.carId = carId;
+        this.carDescription = carDescription;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.salespersonId = salespersonId;
+        this.salespersonName = salespersonName;
+    }
+
+    public static SaleResponse from(Sale sale) {
+        Car car = sale.getCar();
+        Customer customer = sale.getCustomer();
+        Employee salesperson = sale.getSalesperson();
+        return new SaleResponse(sale.getId(), sale.getSaleDate(), sale.getSalePrice(), sale.getTax(),
+                sale.getTotalPrice(), sale.getPaymentMethod(), sale.getSaleStatus(), sale.getVersion(),
+                car == null ? null : car.getId(),
+                loaded(car) ? car.getYear() + " " + car.getMake() + " " + car.getModel() : null,
+                customer == null ? null : customer.getId(),
+                loaded(customer) ? customer.getFullName() : null,
+                salesperson == null ? null : salesperson.getId(),
+                loaded(salesperson) ? salesperson.getFullName() : null);
+    }
+
+    private static boolean loaded(Object party) {
+        return party != null && Hibernate.isInitialized(party);
+    }
+
+    /**
+     * Write this sale as a JSON object, without going through bean introspection.
+     */
+    public void writeJson(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        JsonFields.write(gen, "id", id);
+        JsonFields.write(gen, "saleDate", saleDate);
+        JsonFields.write(gen, "salePrice", salePrice);
+        JsonFields.write(gen, "tax", tax);
+        JsonFields.write(gen, "totalPrice", totalPrice);
+        JsonFields.write(gen, "paymentMethod", paymentMethod);
+        JsonFields.write(gen, "saleStatus", saleStatus);
+        JsonFields.write(gen, "version", version);
+        JsonFields.write(gen, "carId", carId);
+        JsonFields.write(gen, "carDescription", carDescription);
+        JsonFields.write(gen, "customerId", customerId);
+        JsonFields.write(gen, "customerName", customerName);
+        JsonFields.write(gen, "salespersonId", salespersonId);
+        JsonFields.write(gen, "salespersonName", salespersonName);
+        gen.writeEndObject();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public BigDecimal getSalePrice() {
+        return salePrice;
+    }
+
+    public BigDecimal getTax() {
+        return tax;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public String getSaleStatus() {
+        return saleStatus;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getCarId() {
+        return carId;
+    }
+
+    public String getCarDescription() {
+        return carDescription;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public Long getSalespersonId() {
+        return salespersonId;
+    }
+
+    public String getSalespersonName() {
+        return salespersonName;
+    }
+}
\ No newline at end of file
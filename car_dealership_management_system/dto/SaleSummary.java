@@ -0,0 +1,57 @@
+package com.cardealership.managementsystem.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of a sale for list screens and list endpoints. Populated by a single
+ * projection query, so no Car, Customer or Employee entities are loaded.
+ */
+public interface SaleSummary {
+
+    Long getId();
+
+    LocalDate getSaleDate();
+
+    BigDecimal getSalePrice();
+
+    BigDecimal getTax();
+
+    BigDecimal getTotalPrice();
+
+    String getPaymentMethod();
+
+    String getSaleStatus();
+
+    Long getCarId();
+
+    Integer getCarYear();
+
+    String getCarMake();
+
+    String getCarModel();
+
+    Long getCustomerId();
+
+    String getCustomerFirstName();
+
+    String getCustomerLastName();
+
+    Long getSalespersonId();
+
+    String getSalespersonFirstName();
+
+    String getSalespersonLastName();
+
+    default String getCarDescription() {
+        return getCarId() == null ? "N/A" : getCarYear() + " " + getCarMake() + " " + getCarModel();
+    }
+
+    default String getCustomerName() {
+        return getCustomerId() == null ? "N/A" : getCustomerFirstName() + " " + getCustomerLastName();
+    }
+
+    default String getSalespersonName() {
+        return getSalespersonId() == null ? "N/A" : getSalespersonFirstName() + " " + getSalespersonLastName();
+    }
+}
\ No newline at end of file
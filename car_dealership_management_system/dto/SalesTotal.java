@@ -0,0 +1,38 @@
+package com.cardealership.managementsystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and value of the sales credited to one customer or salesperson.
+ */
+public class SalesTotal {
+
+    private final Long id;
+    private final long count;
+    private final BigDecimal amount;
+
+    public SalesTotal(Long id, Long count, BigDecimal amount) {
+        this.id = id;
+        this.count = count == null ? 0 : count;
+        this.amount = amount == null ? BigDecimal.ZERO : amount;
+    }
+
+    /**
+     * This total with a sale added (positive deltas) or removed (negative deltas).
+     */
+    public SalesTotal plus(long countDelta, BigDecimal amountDelta) {
+        return new SalesTotal(id, count + countDelta, amount.add(amountDelta));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
\ No newline at end of file
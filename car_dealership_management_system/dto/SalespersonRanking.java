@@ -0,0 +1,44 @@
+package com.cardealership.managementsystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the top salespeople ranking.
+ */
+public class SalespersonRanking {
+
+    private final Long employeeId;
+    private final String firstName;
+    private final String lastName;
+    private final long saleCount;
+    private final BigDecimal totalSales;
+
+    public SalespersonRanking(Long employeeId, String firstName, String lastName,
+                              Long saleCount, BigDecimal totalSales) {
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.saleCount = saleCount == null ? 0 : saleCount;
+        this.totalSales = totalSales;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public long getSaleCount() {
+        return saleCount;
+    }
+
+    public BigDecimal getTotalSales() {
+        return totalSales;
+    }
+}
\ No newline at end of file
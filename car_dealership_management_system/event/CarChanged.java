@@ -0,0 +1,10 @@
+package com.cardealership.managementsystem.event;
+
+import com.cardealership.managementsystem.model.Car;
+
+public class CarChanged extends EntityChangedEvent<Car> {
+
+    public CarChanged(ChangeType type, Car car) {
+        super(type, car.getId(), car);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.cardealership.managementsystem.event;
+
+import com.cardealership.managementsystem.dto.CarResponse;
+import com.cardealership.managementsystem.dto.ChangeBatch;
+import com.cardealership.managementsystem.dto.ChangeEvent;
+import com.cardealership.managementsystem.model.Sale;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Numbered log of committed car and sale changes, kept in a fixed-size ring buffer.
+ * Every change gets the next offset, so clients can poll or stream from the last offset
+ * they saw and receive only what changed since, instead of re-reading whole lists.
+ * Offsets restart at 1 when the application restarts, so clients resume from a cursor
+ * that also carries the feed's boot epoch ({@code <epoch>-<offset>}). A cursor from before
+ * a restart, or for an offset the log no longer holds, tells the client to reset.
+ */
+@Component
+public class ChangeFeed {
+
+    public static final String CAR = "car";
+    public static final String SALE = "sale";
+
+    private final ObjectMapper objectMapper;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ChangeEvent[] ring;
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    // Offset of the newest change; guarded by this
+    private long lastOffset;
+
+    @Autowired
+    public ChangeFeed(ObjectMapper objectMapper, @Value("${app.changes.buffer-size:4096}") int bufferSize) {
+        this.objectMapper = objectMapper;
+        this.ring = new ChangeEvent[bufferSize];
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChanged event) {
+        // The API shape, not the entity, which also carries internal columns
+        append(CAR, event.getType(), event.getId(), objectMapper.valueToTree(CarResponse.from(event.getEntity())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaleChanged(SaleChanged event) {
+        append(SALE, event.getType(), event.getId(), saleData(event.getEntity()));
+    }
+
+    /**
+     * Register a listener for new changes. It is called in offset order while the feed is
+     * locked, so it must only hand the event off.
+     */
+    public void addListener(Consumer<ChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<ChangeEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized long getLastOffset() {
+        return lastOffset;
+    }
+
+    public String cursorOf(long offset) {
+        return epoch + "-" + offset;
+    }
+
+    /**
+     * The offset of a cursor handed out by this feed since it started; 0 for {@code "0"}
+     * (everything retained), or null if the cursor is malformed or from before a restart.
+     */
+    public Long offsetOf(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = cursor.trim();
+        if (value.equals("0")) {
+            return 0L;
+        }
+        int separator = value.lastIndexOf('-');
+        if (separator < 0 || !value.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read the changes after a cursor.
+     *
+     * @param since The cursor from the client's last batch or event; {@code "0"} to read
+     *              everything still retained
+     * @param topics The topics to include, or null/empty for all
+     * @param limit The maximum number of changes to return
+     * @return The changes, with the cursor to resume from; a reset if the cursor is stale
+     */
+    public ChangeBatch read(String since, Set<String> topics, int limit) {
+        Long offset = offsetOf(since);
+        return offset == null ? reset() : read(offset, topics, limit);
+    }
+
+    /**
+     * Read the changes after an offset of the current epoch.
+     *
+     * @param since The last offset the client saw; 0 to read everything still retained
+     * @param topics The topics to include, or null/empty for all
+     * @param limit The maximum number of changes to return
+     * @return The changes, with the offset to resume from
+     */
+    public synchronized ChangeBatch read(long since, Set<String> topics, int limit) {
+        long oldest = Math.max(1, lastOffset - ring.length + 1);
+        if (since < oldest - 1 || since > lastOffset) {
+            return reset();
+        }
+
+        List<ChangeEvent> items = new ArrayList<>();
+        long offset = since;
+        while (offset < lastOffset && items.size() < limit) {
+            offset++;
+            ChangeEvent event = ring[slot(offset)];
+            if (topics == null || topics.isEmpty() || topics.contains(event.getTopic())) {
+                items.add(event);
+            }
+        }
+        return new ChangeBatch(items, offset, cursorOf(offset), false);
+    }
+
+    private synchronized ChangeBatch reset() {
+        return new ChangeBatch(List.of(), lastOffset, cursorOf(lastOffset), true);
+    }
+
+    private synchronized void append(String topic, ChangeType type, Long id, JsonNode data) {
+        lastOffset++;
+        ChangeEvent event = new ChangeEvent(lastOffset, cursorOf(lastOffset), topic, type, id, Instant.now(), data);
+        ring[slot(lastOffset)] = event;
+        for (Consumer<ChangeEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    private int slot(long offset) {
+        return (int) (offset % ring.length);
+    }
+
+    /**
+     * Flatten a sale to its columns and the ids of its associations, which are lazy and
+     * may not be loaded once the transaction has ended.
+     */
+    private JsonNode saleData(Sale sale) {
+        ObjectNode data = objectMapper.createObjectNode();
+        data.put("id", sale.getId());
+        data.put("carId", sale.getCar() != null ? sale.getCar().getId() : null);
+        data.put("customerId", sale.getCustomer() != null ? sale.getCustomer().getId() : null);
+        data.put("salespersonId", sale.getSalesperson() != null ? sale.getSalesperson().getId() : null);
+        data.set("saleDate", objectMapper.valueToTree(sale.getSaleDate()));
+        data.put("salePrice", sale.getSalePrice());
+        data.put("tax", sale.getTax());
+        data.put("totalPrice", sale.getTotalPrice());
+        data.put("paymentMethod", sale.getPaymentMethod());
+        data.put("saleStatus", sale.getSaleStatus());
+        return data;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.cardealership.managementsystem.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.cardealership.managementsystem.event;
+
+import com.cardealership.managementsystem.model.Customer;
+
+public class CustomerChanged extends EntityChangedEvent<Customer> {
+
+    public CustomerChanged(ChangeType type, Customer customer) {
+        super(type, customer.getId(), customer);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.cardealership.managementsystem.event;
+
+/**
+ * Base class of the domain events published by the services when a row changes.
+ * Listeners should use {@code @TransactionalEventListener} so they only see changes that
+ * were committed.
+ *
+ * @param <T> The entity type
+ */
+public abstract class EntityChangedEvent<T> {
+
+    private final ChangeType type;
+    private final Long id;
+    private final T entity;
+
+    protected EntityChangedEvent(ChangeType type, Long id, T entity) {
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * The entity as it was written; for deletions, as it was before removal.
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{type=" + type + ", id=" + id + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.cardealership.managementsystem.event;
+
+import com.cardealership.managementsystem.model.Sale;
+
+/**
+ * A sale was created, edited or deleted. Sales made through the sell flow are published
+ * as the more specific {@link SaleProcessed}.
+ */
+public class SaleChanged extends EntityChangedEvent<Sale> {
+
+    public SaleChanged(ChangeType type, Sale sale) {
+        super(type, sale.getId(), sale);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.cardealership.managementsystem.event;
+
+import com.cardealership.managementsystem.model.Sale;
+
+/**
+ * A car was sold through {@code SaleService.processSale} or {@code processSales}. The
+ * sold car is published separately as a {@link CarChanged} update.
+ */
+public class SaleProcessed extends SaleChanged {
+
+    public SaleProcessed(Sale sale) {
+        super(ChangeType.CREATED, sale);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.cardealership.managementsystem.exception;
+
+public class InvalidFilterException extends RuntimeException {
+
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
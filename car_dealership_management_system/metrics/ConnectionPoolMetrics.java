@@ -0,0 +1,48 @@
+package com.cardealership.managementsystem.metrics;
+
+import com.cardealership.managementsystem.dto.ConnectionPoolStats;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connection pool metrics of every Hikari pool the application creates; handed to the
+ * pools as their metrics tracker factory by {@code ConnectionPoolTuning}.
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetrics metrics = new PoolMetrics(poolName, poolStats);
+        pools.put(poolName, metrics);
+        return metrics;
+    }
+
+    public List<ConnectionPoolStats> snapshot() {
+        return pools.values().stream()
+                .map(PoolMetrics::snapshot)
+                .sorted(Comparator.comparing(ConnectionPoolStats::getPool))
+                .toList();
+    }
+
+    public ConnectionPoolStats snapshot(String poolName) {
+        PoolMetrics metrics = pools.get(poolName);
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    /**
+     * Clear the wait and usage histograms; occupancy is live and unaffected.
+     */
+    public void reset() {
+        pools.values().forEach(PoolMetrics::reset);
+    }
+}
\ No newline at end of file
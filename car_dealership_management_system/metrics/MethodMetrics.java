@@ -0,0 +1,134 @@
+package com.cardealership.managementsystem.metrics;
+
+import com.cardealership.managementsystem.dto.MethodStats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and a latency histogram for one instrumented method. Latencies are counted in
+ * log-scale buckets (four per power of two), so recording is a couple of atomic adds and
+ * percentiles are accurate to within one bucket, about 19%.
+ */
+public class MethodMetrics {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int BUCKETS = 64 << SUB_BUCKET_BITS;
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public MethodMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record one call.
+     *
+     * @param nanos How long it took
+     * @param failed Whether it threw
+     * @param rowCount Rows it returned, or -1 if not a row-returning call
+     * @param statementCount SQL statements it prepared
+     */
+    public void record(long nanos, boolean failed, long rowCount, long statementCount) {
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        buckets.incrementAndGet(bucket(nanos));
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        if (statementCount > 0) {
+            statements.add(statementCount);
+        }
+    }
+
+    /**
+     * Zero every counter in place. Not atomic with concurrent calls: a call finishing during
+     * the reset may be partly counted.
+     */
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        totalNanos.reset();
+        rows.reset();
+        statements.reset();
+        maxNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+    }
+
+    public MethodStats snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        MethodStats stats = new MethodStats();
+        stats.setName(name);
+        stats.setCalls(calls.sum());
+        stats.setErrors(errors.sum());
+        stats.setRows(rows.sum());
+        stats.setStatements(statements.sum());
+        stats.setTotalMillis(totalNanos.sum() / 1_000_000.0);
+        stats.setMaxMillis(maxNanos.get() / 1_000_000.0);
+        stats.setP50Millis(percentile(counts, total, 0.50) / 1_000_000.0);
+        stats.setP95Millis(percentile(counts, total, 0.95) / 1_000_000.0);
+        stats.setP99Millis(percentile(counts, total, 0.99) / 1_000_000.0);
+        return stats;
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < (1L << SUB_BUCKET_BITS)) {
+            return (int) Math.max(nanos, 0);
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (magnitude - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return (magnitude << SUB_BUCKET_BITS) | subBucket;
+    }
+
+    // Largest value that falls in the bucket
+    static long upperBound(int bucket) {
+        int magnitude = bucket >>> SUB_BUCKET_BITS;
+        if (magnitude < SUB_BUCKET_BITS) {
+            return bucket;
+        }
+        int subBucket = bucket & ((1 << SUB_BUCKET_BITS) - 1);
+        long base = 1L << magnitude;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return base + (subBucket + 1) * width - 1;
+    }
+
+    // Nearest-rank percentile over the histogram, reported as its bucket's upper bound
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+}
\ No newline at end of file
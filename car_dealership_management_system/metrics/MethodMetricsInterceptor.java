@@ -0,0 +1,94 @@
+package com.cardealership.managementsystem.metrics;
+
+import com.cardealership.managementsystem.dto.CursorPage;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Times every call to an instrumented service or repository and records it under
+ * {@code <Type>.<method>}, with the rows it returned and the SQL statements it caused.
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+
+    private final MetricsRegistry registry;
+    private final List<Class<?>> instrumentedTypes;
+    private final Map<Class<?>, Map<Method, MethodMetrics>> metricsByClass = new ConcurrentHashMap<>();
+
+    public MethodMetricsInterceptor(MetricsRegistry registry, List<Class<?>> instrumentedTypes) {
+        this.registry = registry;
+        this.instrumentedTypes = instrumentedTypes;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodMetrics metrics = metricsFor(invocation);
+        long statementsBefore = StatementCounter.current();
+        long start = System.nanoTime();
+        boolean failed = false;
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable t) {
+            failed = true;
+            throw t;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed, rows(result),
+                    StatementCounter.current() - statementsBefore);
+        }
+    }
+
+    private MethodMetrics metricsFor(MethodInvocation invocation) {
+        Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+        return metricsByClass
+                .computeIfAbsent(targetClass, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(invocation.getMethod(),
+                        method -> registry.method(typeName(targetClass) + "." + method.getName()));
+    }
+
+    // Repositories are proxies, so name them after the instrumented interface they implement
+    private String typeName(Class<?> targetClass) {
+        for (Class<?> type : instrumentedTypes) {
+            if (type.isAssignableFrom(targetClass)) {
+                return type.getSimpleName();
+            }
+        }
+        return targetClass.getSimpleName();
+    }
+
+    /**
+     * Rows in a result, or -1 if it is not a row-returning result (counts, streams, void).
+     */
+    private static long rows(Object result) {
+        if (result == null || result instanceof Number || result instanceof Boolean
+                || result instanceof String || result instanceof Stream) {
+            return -1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof CursorPage<?> page) {
+            return page.getItems().size();
+        }
+        return 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.cardealership.managementsystem.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the method and connection pool metrics to a JSON file, for the desktop client which has no web
+ * server to scrape. Enabled by {@code app.metrics.dump-file}; the file is rewritten every
+ * {@code app.metrics.dump-interval-seconds} and once more on shutdown. Nothing injects it,
+ * so it is created eagerly even when the context is started with lazy initialization.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "app.metrics.dump-file")
+public class MetricsDumpWriter {
+
+    private final MetricsRegistry metricsRegistry;
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-dump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public MetricsDumpWriter(MetricsRegistry metricsRegistry, ConnectionPoolMetrics connectionPoolMetrics,
+                             ObjectMapper objectMapper,
+                             @Value("${app.metrics.dump-file}") String file,
+                             @Value("${app.metrics.dump-interval-seconds:60}") long intervalSeconds) {
+        this.metricsRegistry = metricsRegistry;
+        this.connectionPoolMetrics = connectionPoolMetrics;
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+        this.file = Path.of(file);
+        scheduler.scheduleAtFixedRate(this::write, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        write();
+    }
+
+    private void write() {
+        Map<String, Object> dump = new LinkedHashMap<>();
+        dump.put("timestamp", Instant.now().toString());
+        dump.put("methods", metricsRegistry.snapshot());
+        dump.put("pools", connectionPoolMetrics.snapshot());
+        try {
+            // Write then rename, so readers never see a partial file
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), dump);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.cardealership.managementsystem.metrics;
+
+import com.cardealership.managementsystem.dto.MethodStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the per-method metrics recorded by {@link MethodMetricsInterceptor}.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    /**
+     * The metrics for a method, e.g. {@code CarService.getCarById}, created on first use.
+     */
+    public MethodMetrics method(String name) {
+        return methods.computeIfAbsent(name, MethodMetrics::new);
+    }
+
+    /**
+     * Snapshot of every method with at least one call, by name.
+     */
+    public List<MethodStats> snapshot() {
+        return methods.values().stream()
+                .map(MethodMetrics::snapshot)
+                .filter(stats -> stats.getCalls() > 0)
+                .sorted(Comparator.comparing(MethodStats::getName))
+                .toList();
+    }
+
+    /**
+     * Zero every method's metrics. The entries stay, since {@link MethodMetricsInterceptor}
+     * keeps references to them and would otherwise record into orphaned copies.
+     */
+    public void reset() {
+        methods.values().forEach(MethodMetrics::reset);
+    }
+}
\ No newline at end of file
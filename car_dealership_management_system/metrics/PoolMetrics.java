@@ -0,0 +1,76 @@
+package com.cardealership.managementsystem.metrics;
+
+import com.cardealership.managementsystem.dto.ConnectionPoolStats;
+import com.cardealership.managementsystem.dto.MethodStats;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics tracker of one pool. Connection-acquire and usage times go into the same
+ * log-bucket histograms as the method metrics; occupancy is read live from the pool.
+ */
+public class PoolMetrics implements IMetricsTracker {
+
+    private final String poolName;
+    private final PoolStats poolStats;
+    private volatile MethodMetrics acquire;
+    private volatile MethodMetrics usage;
+    private final LongAdder timeouts = new LongAdder();
+
+    PoolMetrics(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        reset();
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquire.record(elapsedAcquiredNanos, false, -1, 0);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis), false, -1, 0);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public ConnectionPoolStats snapshot() {
+        MethodStats acquireStats = acquire.snapshot();
+        MethodStats usageStats = usage.snapshot();
+
+        ConnectionPoolStats stats = new ConnectionPoolStats();
+        stats.setPool(poolName);
+        stats.setActive(poolStats.getActiveConnections());
+        stats.setIdle(poolStats.getIdleConnections());
+        stats.setTotal(poolStats.getTotalConnections());
+        stats.setMaxConnections(poolStats.getMaxConnections());
+        stats.setPendingThreads(poolStats.getPendingThreads());
+        stats.setAcquires(acquireStats.getCalls());
+        stats.setTimeouts(timeouts.sum());
+        stats.setAcquireTotalMillis(acquireStats.getTotalMillis());
+        stats.setAcquireP50Millis(acquireStats.getP50Millis());
+        stats.setAcquireP95Millis(acquireStats.getP95Millis());
+        stats.setAcquireP99Millis(acquireStats.getP99Millis());
+        stats.setAcquireMaxMillis(acquireStats.getMaxMillis());
+        stats.setUsageP50Millis(usageStats.getP50Millis());
+        stats.setUsageP99Millis(usageStats.getP99Millis());
+        return stats;
+    }
+
+    void reset() {
+        acquire = new MethodMetrics(poolName + ".acquire");
+        usage = new MethodMetrics(poolName + ".usage");
+        timeouts.reset();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.cardealership.managementsystem.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * JDBC proxies that time every statement execution and capture its bind values for the
+ * {@link QueryProfiler}. Hibernate's StatementInspector only sees the SQL text, so this is
+ * done one level down, on the DataSource.
+ */
+public final class ProfilingJdbc {
+
+    private ProfilingJdbc() {
+    }
+
+    /**
+     * Wrap a DataSource. If it is closable (a connection pool), so is the wrapper, and
+     * close() reaches the pool, so the context still shuts it down.
+     */
+    public static DataSource wrap(DataSource dataSource, QueryProfiler profiler) {
+        TargetHandler handler = (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection, profiler) : result;
+        };
+        return dataSource instanceof AutoCloseable
+                ? proxy(DataSource.class, dataSource, handler, AutoCloseable.class)
+                : proxy(DataSource.class, dataSource, handler);
+    }
+
+    private static Connection wrapConnection(Connection connection, QueryProfiler profiler) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, new StatementHandler(profiler, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(profiler, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(profiler, null));
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, TargetHandler handler, Class<?>... extraTypes) {
+        Class<?>[] types = new Class<?>[extraTypes.length + 1];
+        types[0] = type;
+        System.arraycopy(extraTypes, 0, types, 1, extraTypes.length);
+        return (T) Proxy.newProxyInstance(ProfilingJdbc.class.getClassLoader(), types,
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "unwrap":
+                            return ((Class<?>) args[0]).isInstance(proxy) ? proxy : invoke(target, method, args);
+                        case "isWrapperFor":
+                            return ((Class<?>) args[0]).isInstance(proxy) || (boolean) invoke(target, method, args);
+                        default:
+                            return handler.invoke(target, method, args);
+                    }
+                });
+    }
+
+    private interface TargetHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Collects bind values from the setXxx(index, value, ...) calls and records each execute.
+     * For plain Statements the SQL is the execute argument; a batch is recorded once.
+     */
+    private static final class StatementHandler implements TargetHandler {
+
+        private final QueryProfiler profiler;
+        private final List<Object> binds = new ArrayList<>();
+        private String sql;
+
+        private StatementHandler(QueryProfiler profiler, String sql) {
+            this.profiler = profiler;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                long start = System.nanoTime();
+                try {
+                    return ProfilingJdbc.invoke(target, method, args);
+                } finally {
+                    if (executed != null) {
+                        profiler.record(executed, List.copyOf(binds), System.nanoTime() - start);
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                sql = (String) args[0];
+            }
+            return ProfilingJdbc.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            while (binds.size() < index) {
+                binds.add(null);
+            }
+            binds.set(index - 1, value);
+        }
+    }
+}
\ No newline at end of file
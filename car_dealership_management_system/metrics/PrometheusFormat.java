@@ -0,0 +1,120 @@
+package com.cardealership.managementsystem.metrics;
+
+import com.cardealership.managementsystem.dto.ConnectionPoolStats;
+import com.cardealership.managementsystem.dto.MethodStats;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders method and connection pool metrics in the Prometheus text exposition format
+ * (version 0.0.4).
+ */
+public final class PrometheusFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusFormat() {
+    }
+
+    public static String write(List<MethodStats> methods) {
+        StringBuilder out = new StringBuilder();
+
+        header(out, "app_method_duration_seconds", "summary", "Latency of service and repository methods");
+        for (MethodStats stats : methods) {
+            String labels = labels(stats);
+            quantile(out, labels, "0.5", stats.getP50Millis());
+            quantile(out, labels, "0.95", stats.getP95Millis());
+            quantile(out, labels, "0.99", stats.getP99Millis());
+            sample(out, "app_method_duration_seconds_sum", labels, stats.getTotalMillis() / 1000.0);
+            sample(out, "app_method_duration_seconds_count", labels, stats.getCalls());
+        }
+
+        header(out, "app_method_errors_total", "counter", "Calls that threw an exception");
+        for (MethodStats stats : methods) {
+            sample(out, "app_method_errors_total", labels(stats), stats.getErrors());
+        }
+
+        header(out, "app_method_rows_total", "counter", "Rows returned");
+        for (MethodStats stats : methods) {
+            sample(out, "app_method_rows_total", labels(stats), stats.getRows());
+        }
+
+        header(out, "app_method_statements_total", "counter", "SQL statements prepared by Hibernate");
+        for (MethodStats stats : methods) {
+            sample(out, "app_method_statements_total", labels(stats), stats.getStatements());
+        }
+        return out.toString();
+    }
+
+    public static String writePools(List<ConnectionPoolStats> pools) {
+        StringBuilder out = new StringBuilder();
+
+        header(out, "app_pool_connections", "gauge", "Connections by state");
+        for (ConnectionPoolStats stats : pools) {
+            sample(out, "app_pool_connections", poolLabels(stats) + ",state=\"active\"", stats.getActive());
+            sample(out, "app_pool_connections", poolLabels(stats) + ",state=\"idle\"", stats.getIdle());
+        }
+
+        header(out, "app_pool_max_connections", "gauge", "Maximum pool size");
+        for (ConnectionPoolStats stats : pools) {
+            sample(out, "app_pool_max_connections", poolLabels(stats), stats.getMaxConnections());
+        }
+
+        header(out, "app_pool_pending_threads", "gauge", "Threads waiting for a connection");
+        for (ConnectionPoolStats stats : pools) {
+            sample(out, "app_pool_pending_threads", poolLabels(stats), stats.getPendingThreads());
+        }
+
+        header(out, "app_pool_acquire_seconds", "summary", "Time spent waiting for a connection");
+        for (ConnectionPoolStats stats : pools) {
+            String labels = poolLabels(stats);
+            sample(out, "app_pool_acquire_seconds", labels + ",quantile=\"0.5\"", stats.getAcquireP50Millis() / 1000.0);
+            sample(out, "app_pool_acquire_seconds", labels + ",quantile=\"0.95\"", stats.getAcquireP95Millis() / 1000.0);
+            sample(out, "app_pool_acquire_seconds", labels + ",quantile=\"0.99\"", stats.getAcquireP99Millis() / 1000.0);
+            sample(out, "app_pool_acquire_seconds_sum", labels, stats.getAcquireTotalMillis() / 1000.0);
+            sample(out, "app_pool_acquire_seconds_count", labels, stats.getAcquires());
+        }
+
+        header(out, "app_pool_timeouts_total", "counter", "Connection requests that timed out");
+        for (ConnectionPoolStats stats : pools) {
+            sample(out, "app_pool_timeouts_total", poolLabels(stats), stats.getTimeouts());
+        }
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void quantile(StringBuilder out, String labels, String quantile, double millis) {
+        sample(out, "app_method_duration_seconds", labels + ",quantile=\"" + quantile + "\"", millis / 1000.0);
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append('{').append(labels).append("} ")
+                .append(String.format(Locale.ROOT, "%.9g", value)).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    // "CarService.getCarById" -> component="CarService",method="getCarById"
+    private static String labels(MethodStats stats) {
+        String name = stats.getName();
+        int dot = name.indexOf('.');
+        String component = dot < 0 ? name : name.substring(0, dot);
+        String method = dot < 0 ? "" : name.substring(dot + 1);
+        return "component=\"" + escape(component) + "\",method=\"" + escape(method) + "\"";
+    }
+
+    private static String poolLabels(ConnectionPoolStats stats) {
+        return "pool=\"" + escape(stats.getPool()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.cardealership.managementsystem.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SQL statements executed within one profiling scope: an HTTP request, a transaction,
+ * or an explicit {@link QueryProfiler#profile} call.
+ */
+public class QueryProfile {
+
+    private final String name;
+    final QueryProfile enclosing;
+    private final Map<String, Integer> executionsByShape = new LinkedHashMap<>();
+    private int statementCount;
+    private long totalNanos;
+
+    QueryProfile(String name, QueryProfile enclosing) {
+        this.name = name;
+        this.enclosing = enclosing;
+    }
+
+    void record(String shape, long nanos) {
+        statementCount++;
+        totalNanos += nanos;
+        executionsByShape.merge(shape, 1, Integer::sum);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    /**
+     * How often each statement shape (SQL with literals replaced by ?) was executed.
+     */
+    public Map<String, Integer> getExecutionsByShape() {
+        return executionsByShape;
+    }
+
+    /**
+     * SELECT shapes executed at least {@code threshold} times, the usual sign of an N+1
+     * pattern: one query per row of an earlier result, typically a lazy association.
+     */
+    public Map<String, Integer> getRepeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsByShape.forEach((shape, count) -> {
+            if (count >= threshold && shape.regionMatches(true, 0, "select", 0, 6)) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+}
\ No newline at end of file
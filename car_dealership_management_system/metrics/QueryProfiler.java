@@ -0,0 +1,203 @@
+package com.cardealership.managementsystem.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Statement-level SQL profiler, fed by the profiling DataSource wrapper (see
+ * {@link ProfilingJdbc}) when {@code app.profiler.enabled=true}.
+ *
+ * <ul>
+ *     <li>Statements are grouped per scope: an HTTP request (see {@link QueryProfilingFilter}),
+ *     an explicit {@link #profile} call, or otherwise the current transaction.</li>
+ *     <li>When a scope ends, SELECT shapes repeated {@code app.profiler.n-plus-one-threshold}
+ *     times or more are reported as likely N+1 queries, and scopes over
+ *     {@code app.profiler.statement-warn-threshold} statements are reported too.</li>
+ *     <li>Statements slower than {@code app.profiler.slow-query-ms} are logged with their
+ *     bind values.</li>
+ * </ul>
+ */
+@Component
+public class QueryProfiler {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final int MAX_BIND_LENGTH = 100;
+
+    private final ThreadLocal<QueryProfile> currentScope = new ThreadLocal<>();
+    private final long slowQueryNanos;
+    private final int nPlusOneThreshold;
+    private final int statementWarnThreshold;
+
+    public QueryProfiler(@Value("${app.profiler.slow-query-ms:200}") long slowQueryMillis,
+                         @Value("${app.profiler.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                         @Value("${app.profiler.statement-warn-threshold:100}") int statementWarnThreshold) {
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.statementWarnThreshold = statementWarnThreshold;
+    }
+
+    /**
+     * Run an action in its own profiling scope and return what it executed. Statements of
+     * nested transactions are counted in this scope, and also in any enclosing scope.
+     */
+    public QueryProfile profile(String name, Runnable action) {
+        return profile(name, () -> {
+            action.run();
+            return null;
+        }).profile;
+    }
+
+    public <T> Profiled<T> profile(String name, Supplier<T> action) {
+        QueryProfile profile = open(name);
+        try {
+            T result = action.get();
+            return new Profiled<>(result, profile);
+        } finally {
+            close(profile);
+        }
+    }
+
+    /**
+     * Run an action and fail if it executes more than {@code maxStatements} statements,
+     * e.g. to pin the query count of a service call in a test.
+     *
+     * @throws IllegalStateException If the budget is exceeded; the message lists the statements
+     */
+    public QueryProfile expectMaxStatements(int maxStatements, String name, Runnable action) {
+        QueryProfile profile = profile(name, action);
+        if (profile.getStatementCount() > maxStatements) {
+            throw new IllegalStateException(name + " executed " + profile.getStatementCount()
+                    + " statements, expected at most " + maxStatements + ":\n" + describe(profile.getExecutionsByShape()));
+        }
+        return profile;
+    }
+
+    /**
+     * Open a scope on the current thread, nested in the current one if there is one.
+     */
+    QueryProfile open(String name) {
+        QueryProfile profile = new QueryProfile(name, currentScope.get());
+        currentScope.set(profile);
+        return profile;
+    }
+
+    /**
+     * Close a scope opened by {@link #open}; only outermost scopes are reported, so a
+     * statement shows up in the logs once.
+     */
+    void close(QueryProfile profile) {
+        if (profile.enclosing == null) {
+            currentScope.remove();
+            report(profile);
+        } else {
+            currentScope.set(profile.enclosing);
+        }
+    }
+
+    /**
+     * Called by the JDBC wrapper after each statement execution.
+     */
+    void record(String sql, List<Object> binds, long nanos) {
+        String shape = shape(sql);
+        QueryProfile scope = currentScope.get();
+        if (scope == null) {
+            scope = transactionScope();
+        }
+        for (; scope != null; scope = scope.enclosing) {
+            scope.record(shape, nanos);
+        }
+        if (nanos >= slowQueryNanos) {
+            System.out.println("[query-profiler] slow query (" + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms): "
+                    + sql + " " + formatBinds(binds));
+        }
+    }
+
+    private QueryProfile transactionScope() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        QueryProfile profile = (QueryProfile) TransactionSynchronizationManager.getResource(this);
+        if (profile == null) {
+            String name = TransactionSynchronizationManager.getCurrentTransactionName();
+            QueryProfile transactionProfile = new QueryProfile(name == null ? "transaction" : name, null);
+            TransactionSynchronizationManager.bindResource(this, transactionProfile);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(QueryProfiler.this);
+                    report(transactionProfile);
+                }
+            });
+            profile = transactionProfile;
+        }
+        return profile;
+    }
+
+    private void report(QueryProfile profile) {
+        Map<String, Integer> repeated = profile.getRepeatedSelects(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            System.out.println("[query-profiler] possible N+1 in " + profile.getName() + ":\n" + describe(repeated));
+        }
+        if (profile.getStatementCount() > statementWarnThreshold) {
+            System.out.println("[query-profiler] " + profile.getName() + " executed "
+                    + profile.getStatementCount() + " statements");
+        }
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        return NUMBER_LITERAL.matcher(shape).replaceAll("?").trim();
+    }
+
+    private static String describe(Map<String, Integer> executionsByShape) {
+        StringBuilder out = new StringBuilder();
+        executionsByShape.forEach((shape, count) -> out.append("  ").append(count).append("x ").append(shape).append('\n'));
+        return out.toString();
+    }
+
+    private static String formatBinds(List<Object> binds) {
+        if (binds.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < binds.size(); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            String value = String.valueOf(binds.get(i));
+            out.append(value.length() > MAX_BIND_LENGTH ? value.substring(0, MAX_BIND_LENGTH) + "..." : value);
+        }
+        return out.append(']').toString();
+    }
+
+    /**
+     * The result of an action together with the statements it executed.
+     */
+    public static final class Profiled<T> {
+
+        private final T result;
+        private final QueryProfile profile;
+
+        private Profiled(T result, QueryProfile profile) {
+            this.result = result;
+            this.profile = profile;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        public QueryProfile getProfile() {
+            return profile;
+        }
+    }
+}
\ No newline at end of file
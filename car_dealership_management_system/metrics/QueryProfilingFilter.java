@@ -0,0 +1,33 @@
+package com.cardealership.managementsystem.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Profiles each REST request as one scope, so an N+1 spread over several transactions of
+ * the same request is still caught.
+ */
+public class QueryProfilingFilter extends OncePerRequestFilter {
+
+    private final QueryProfiler profiler;
+
+    public QueryProfilingFilter(QueryProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryProfile profile = profiler.open(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            profiler.close(profile);
+        }
+    }
+}
\ No newline at end of file
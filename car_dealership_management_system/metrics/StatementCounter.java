@@ -0,0 +1,25 @@
+package com.cardealership.managementsystem.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on each thread,
+ * so an instrumented call can tell how many statements it caused. It never changes the SQL.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on the current thread so far.
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
\ No newline at end of file
@@ -1,14 +1,31 @@
 package com.cardealership.managementsystem.model;
 
+import com.cardealership.managementsystem.search.InventoryIndexListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "cars")
+@Table(name = "cars", indexes = {
+        @Index(name = "idx_cars_make_normalized", columnList = "make_normalized"),
+        @Index(name = "idx_cars_model_normalized", columnList = "model_normalized"),
+        @Index(name = "idx_cars_vin_normalized", columnList = "vin_normalized"),
+        @Index(name = "idx_cars_condition_normalized", columnList = "condition_normalized"),
+        // Sort columns of filtered listings; the id makes each a usable keyset
+        @Index(name = "idx_cars_price_id", columnList = "price, id"),
+        @Index(name = "idx_cars_year_id", columnList = "year, id"),
+        @Index(name = "idx_cars_mileage_id", columnList = "mileage, id"),
+        @Index(name = "idx_cars_date_added_id", columnList = "date_added, id")
+})
+@EntityListeners(InventoryIndexListener.class)
 public class Car {
+    // Must equal the sequence's INCREMENT BY; SchemaMigrationRunner aligns existing sequences
+    public static final String ID_SEQUENCE = "cars_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "car_seq")
+    @SequenceGenerator(name = "car_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String make;
@@ -22,6 +39,15 @@ public class Car {
     private LocalDate dateAdded;
     private Boolean sold = false;
 
+    @Version
+    private Long version;
+
+    // Normalized copies of the searchable columns (see SearchKeys), maintained on every write
+    private String makeNormalized;
+    private String modelNormalized;
+    private String vinNormalized;
+    private String conditionNormalized;
+
     // Constructors
     public Car() {
     }
@@ -39,6 +65,16 @@ public class Car {
         this.dateAdded = LocalDate.now();
     }
 
+    // Recompute the normalized search-key columns; also called by the search-key backfill
+    @PrePersist
+    @PreUpdate
+    public void updateSearchKeys() {
+        this.makeNormalized = SearchKeys.lower(make);
+        this.modelNormalized = SearchKeys.lower(model);
+        this.vinNormalized = SearchKeys.lower(vin);
+        this.conditionNormalized = SearchKeys.lower(condition);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -128,6 +164,14 @@ public class Car {
         this.sold = sold;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return year + " " + make + " " + model + " (" + vin + ")";
@@ -6,7 +6,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_email_normalized", columnList = "email_normalized"),
+        @Index(name = "idx_customers_phone_normalized", columnList = "phone_normalized"),
+        @Index(name = "idx_customers_name_normalized", columnList = "last_name_normalized, first_name_normalized"),
+        @Index(name = "idx_customers_first_name_normalized", columnList = "first_name_normalized")
+})
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +24,12 @@ public class Customer {
     private String address;
     private LocalDate registrationDate;
 
+    // Normalized copies of the searchable columns (see SearchKeys), maintained on every write
+    private String firstNameNormalized;
+    private String lastNameNormalized;
+    private String emailNormalized;
+    private String phoneNormalized;
+
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Sale> purchases = new ArrayList<>();
 
@@ -36,6 +47,16 @@ public class Customer {
         this.registrationDate = LocalDate.now();
     }
 
+    // Recompute the normalized search-key columns; also called by the search-key backfill
+    @PrePersist
+    @PreUpdate
+    public void updateSearchKeys() {
+        this.firstNameNormalized = SearchKeys.lower(firstName);
+        this.lastNameNormalized = SearchKeys.lower(lastName);
+        this.emailNormalized = SearchKeys.lower(email);
+        this.phoneNormalized = SearchKeys.phone(phone);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
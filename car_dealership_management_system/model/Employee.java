@@ -7,7 +7,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_email_normalized", columnList = "email_normalized"),
+        @Index(name = "idx_employees_position_normalized", columnList = "position_normalized"),
+        @Index(name = "idx_employees_name_normalized", columnList = "last_name_normalized, first_name_normalized"),
+        @Index(name = "idx_employees_first_name_normalized", columnList = "first_name_normalized")
+})
 public class Employee {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +27,12 @@ public class Employee {
     private BigDecimal salary;
     private BigDecimal commissionRate;
 
+    // Normalized copies of the searchable columns (see SearchKeys), maintained on every write
+    private String firstNameNormalized;
+    private String lastNameNormalized;
+    private String emailNormalized;
+    private String positionNormalized;
+
     @OneToMany(mappedBy = "salesperson", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Sale> sales = new ArrayList<>();
 
@@ -42,6 +53,16 @@ public class Employee {
         this.hireDate = LocalDate.now();
     }
 
+    // Recompute the normalized search-key columns; also called by the search-key backfill
+    @PrePersist
+    @PreUpdate
+    public void updateSearchKeys() {
+        this.firstNameNormalized = SearchKeys.lower(firstName);
+        this.lastNameNormalized = SearchKeys.lower(lastName);
+        this.emailNormalized = SearchKeys.lower(email);
+        this.positionNormalized = SearchKeys.lower(position);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -5,21 +5,38 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "sales")
+@Table(name = "sales", indexes = {
+        @Index(name = "idx_sales_sale_date", columnList = "sale_date"),
+        @Index(name = "idx_sales_sale_status_normalized", columnList = "sale_status_normalized"),
+        @Index(name = "idx_sales_payment_method_normalized", columnList = "payment_method_normalized")
+})
+@NamedEntityGraph(name = Sale.WITH_PARTIES, attributeNodes = {
+        @NamedAttributeNode("car"),
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("salesperson")
+})
 public class Sale {
+    // Must equal the sequence's INCREMENT BY; SchemaMigrationRunner aligns existing sequences
+    public static final String ID_SEQUENCE = "sales_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Fetch graph loading the car, customer and salesperson together with the sale
+    public static final String WITH_PARTIES = "Sale.withParties";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_seq")
+    @SequenceGenerator(name = "sale_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "car_id")
     private Car car;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "salesperson_id")
     private Employee salesperson;
 
@@ -30,6 +47,13 @@ public class Sale {
     private String paymentMethod;
     private String saleStatus; // Pending, Completed, Cancelled
 
+    @Version
+    private Long version;
+
+    // Normalized copies of the searchable columns (see SearchKeys), maintained on every write
+    private String paymentMethodNormalized;
+    private String saleStatusNormalized;
+
     // Constructors
     public Sale() {
         this.saleDate = LocalDate.now();
@@ -48,6 +72,14 @@ public class Sale {
         this.saleStatus = "Completed";
     }
 
+    // Recompute the normalized search-key columns; also called by the search-key backfill
+    @PrePersist
+    @PreUpdate
+    public void updateSearchKeys() {
+        this.paymentMethodNormalized = SearchKeys.lower(paymentMethod);
+        this.saleStatusNormalized = SearchKeys.lower(saleStatus);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -137,6 +169,14 @@ public class Sale {
         this.saleStatus = saleStatus;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public BigDecimal calculateCommission() {
         if (salesperson != null && salesperson.getCommissionRate() != null && salePrice != null) {
             return salePrice.multiply(salesperson.getCommissionRate());
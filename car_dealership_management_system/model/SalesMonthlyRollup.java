@@ -0,0 +1,82 @@
+package com.cardealership.managementsystem.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "sales_monthly_rollup")
+public class SalesMonthlyRollup {
+    @Id
+    private Integer period; // year * 100 + month, e.g. 202405
+
+    @Column(name = "sale_year")
+    private Integer year;
+
+    @Column(name = "sale_month")
+    private Integer month;
+
+    private BigDecimal total;
+    private Long saleCount;
+
+    // Constructors
+    public SalesMonthlyRollup() {
+    }
+
+    public SalesMonthlyRollup(Integer year, Integer month, BigDecimal total, Long saleCount) {
+        this.period = periodOf(year, month);
+        this.year = year;
+        this.month = month;
+        this.total = total;
+        this.saleCount = saleCount;
+    }
+
+    public static Integer periodOf(Integer year, Integer month) {
+        return year * 100 + month;
+    }
+
+    // Getters and Setters
+    public Integer getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(Integer period) {
+        this.period = period;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getSaleCount() {
+        return saleCount;
+    }
+
+    public void setSaleCount(Long saleCount) {
+        this.saleCount = saleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Rollup " + period + ": " + saleCount + " sales, " + total;
+    }
+}
\ No newline at end of file
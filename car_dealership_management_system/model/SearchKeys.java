@@ -0,0 +1,29 @@
+package com.cardealership.managementsystem.model;
+
+import java.util.Locale;
+
+/**
+ * Normalization rules for the indexed search-key columns. Entities apply them before
+ * every write and repositories apply them to query parameters, so case-insensitive
+ * lookups become plain equality on an indexed column instead of {@code UPPER(col) = UPPER(?)}.
+ */
+public final class SearchKeys {
+
+    private SearchKeys() {
+    }
+
+    /**
+     * Trimmed, lower-cased value; null stays null.
+     */
+    public static String lower(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Phone number without spaces, dashes, dots, parentheses or plus signs, so
+     * "(555) 123-4567" and "555.123.4567" share a key.
+     */
+    public static String phone(String value) {
+        return value == null ? null : value.replaceAll("[\\s\\-().+]", "");
+    }
+}
\ No newline at end of file
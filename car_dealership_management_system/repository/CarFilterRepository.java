@@ -0,0 +1,24 @@
+package com.cardealership.managementsystem.repository;
+
+import com.cardealership.managementsystem.model.Car;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Filtered car listings as a single limited query, without the count query that
+ * {@code JpaSpecificationExecutor}'s paged methods add.
+ */
+public interface CarFilterRepository {
+
+    /**
+     * Find the first cars matching a specification.
+     *
+     * @param spec The criteria
+     * @param sort The order
+     * @param limit The maximum number of cars to return
+     * @return Up to limit matching cars, in order
+     */
+    List<Car> findAll(Specification<Car> spec, Sort sort, int limit);
+}
\ No newline at end of file
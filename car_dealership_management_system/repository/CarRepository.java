@@ -1,21 +1,42 @@
 package com.cardealership.managementsystem.repository;
 
 import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.model.SearchKeys;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CarRepository extends JpaRepository<Car, Long> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car>, CarFilterRepository {
+
+    // Case-insensitive finders go through the indexed normalized columns (see SearchKeys)
 
     // Find cars by make
-    List<Car> findByMakeIgnoreCase(String make);
+    default List<Car> findByMakeIgnoreCase(String make) {
+        return findByMakeNormalized(SearchKeys.lower(make));
+    }
+
+    List<Car> findByMakeNormalized(String makeNormalized);
 
     // Find cars by model
-    List<Car> findByModelIgnoreCase(String model);
+    default List<Car> findByModelIgnoreCase(String model) {
+        return findByModelNormalized(SearchKeys.lower(model));
+    }
+
+    List<Car> findByModelNormalized(String modelNormalized);
 
     // Find cars by year
     List<Car> findByYear(Integer year);
@@ -24,16 +45,55 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     List<Car> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
 
     // Find cars by condition
-    List<Car> findByConditionIgnoreCase(String condition);
+    default List<Car> findByConditionIgnoreCase(String condition) {
+        return findByConditionNormalized(SearchKeys.lower(condition));
+    }
+
+    List<Car> findByConditionNormalized(String conditionNormalized);
 
     // Find cars by availability (sold or not)
     List<Car> findBySold(Boolean sold);
 
+    // Count cars by availability
+    long countBySold(Boolean sold);
+
+    // Row count, highest id and sum of versions: an insert raises the id, a delete lowers the
+    // count and an update bumps a version, so any committed change alters the triple.
+    // Scans the table, so it is checked periodically (CarService.checkCarsTableVersion)
+    @Query("SELECT COUNT(c), COALESCE(MAX(c.id), 0), COALESCE(SUM(c.version), 0) FROM Car c")
+    List<Object[]> findTableVersion();
+
     // Search cars by make, model, and year
-    List<Car> findByMakeIgnoreCaseAndModelIgnoreCaseAndYear(String make, String model, Integer year);
+    default List<Car> findByMakeIgnoreCaseAndModelIgnoreCaseAndYear(String make, String model, Integer year) {
+        return findByMakeNormalizedAndModelNormalizedAndYear(SearchKeys.lower(make), SearchKeys.lower(model), year);
+    }
+
+    List<Car> findByMakeNormalizedAndModelNormalizedAndYear(String makeNormalized, String modelNormalized, Integer year);
 
     // Find cars by VIN
-    Car findByVinIgnoreCase(String vin);
+    default Car findByVinIgnoreCase(String vin) {
+        return findByVinNormalized(SearchKeys.lower(vin));
+    }
+
+    Car findByVinNormalized(String vinNormalized);
+
+    // Rows whose normalized columns were never filled (written before they existed, or by
+    // plain SQL), in id order after the given id; see SearchKeys
+    @Query("SELECT c FROM Car c WHERE c.id > ?1 AND ((c.make IS NOT NULL AND c.makeNormalized IS NULL) " +
+            "OR (c.model IS NOT NULL AND c.modelNormalized IS NULL) " +
+            "OR (c.vin IS NOT NULL AND c.vinNormalized IS NULL) " +
+            "OR (c.condition IS NOT NULL AND c.conditionNormalized IS NULL)) ORDER BY c.id")
+    List<Car> findMissingSearchKeys(Long id, Pageable pageable);
+
+    // Find a car by id and lock its row until the transaction ends (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Car c WHERE c.id = ?1")
+    Optional<Car> findByIdForUpdate(Long id);
+
+    // Find cars by ids and lock their rows until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Car c WHERE c.id IN ?1")
+    List<Car> findAllByIdForUpdate(Collection<Long> ids);
 
     // Custom query to find cars with mileage less than specified value and not sold
     @Query("SELECT c FROM Car c WHERE c.mileage < ?1 AND c.sold = false")
@@ -42,4 +102,17 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     // Custom query to find recently added cars
     @Query("SELECT c FROM Car c WHERE c.sold = false ORDER BY c.dateAdded DESC")
     List<Car> findRecentlyAddedCars();
+
+    // Keyset pagination: next page of cars after the given id
+    List<Car> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Id and version of every car, for reconciling the inventory index; Object[] {id, version}
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id, c.version FROM Car c")
+    Stream<Object[]> streamIdsAndVersions();
+
+    // Stream all cars in id order without materializing the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Car c ORDER BY c.id")
+    Stream<Car> streamAllOrderById();
 }
\ No newline at end of file
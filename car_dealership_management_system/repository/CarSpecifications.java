@@ -0,0 +1,139 @@
+package com.cardealership.managementsystem.repository;
+
+import com.cardealership.managementsystem.dto.CarFilter;
+import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.model.SearchKeys;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Composable car criteria. Each factory returns a specification that matches everything
+ * when its argument is absent, so they can be chained with {@code and} without null
+ * checks. Text attributes are compared through their normalized columns where one
+ * exists, so the indexes on them apply.
+ */
+public final class CarSpecifications {
+
+    private CarSpecifications() {
+    }
+
+    /**
+     * All criteria of a filter, combined with AND.
+     */
+    public static Specification<Car> matching(CarFilter filter) {
+        return all()
+                .and(makeIn(filter.getMake()))
+                .and(modelIn(filter.getModel()))
+                .and(conditionIn(filter.getCondition()))
+                .and(colorIn(filter.getColor()))
+                .and(between("year", filter.getYearFrom(), filter.getYearTo()))
+                .and(between("price", filter.getMinPrice(), filter.getMaxPrice()))
+                .and(between("mileage", filter.getMinMileage(), filter.getMaxMileage()))
+                .and(between("dateAdded", filter.getAddedFrom(), filter.getAddedTo()))
+                .and(sold(filter.getSold()));
+    }
+
+    public static Specification<Car> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static Specification<Car> makeIn(Collection<String> makes) {
+        return normalizedIn("makeNormalized", makes);
+    }
+
+    public static Specification<Car> modelIn(Collection<String> models) {
+        return normalizedIn("modelNormalized", models);
+    }
+
+    public static Specification<Car> conditionIn(Collection<String> conditions) {
+        return normalizedIn("conditionNormalized", conditions);
+    }
+
+    public static Specification<Car> colorIn(Collection<String> colors) {
+        List<String> keys = keys(colors);
+        // No normalized column for color, so this one is not index-backed
+        return (root, query, cb) -> in(cb, cb.lower(cb.trim(root.get("color"))), keys);
+    }
+
+    public static Specification<Car> sold(Boolean sold) {
+        return (root, query, cb) -> sold == null ? null : cb.equal(root.get("sold"), sold);
+    }
+
+    /**
+     * An inclusive range on a comparable attribute; either bound may be null.
+     */
+    public static <V extends Comparable<? super V>> Specification<Car> between(String attribute, V from, V to) {
+        return (root, query, cb) -> {
+            Path<V> path = root.get(attribute);
+            if (from != null && to != null) {
+                return cb.between(path, from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return to != null ? cb.lessThanOrEqualTo(path, to) : null;
+        };
+    }
+
+    public static Specification<Car> isNull(String attribute) {
+        return (root, query, cb) -> cb.isNull(root.get(attribute));
+    }
+
+    /**
+     * Rows after the given id in the given direction; everything if the id is null.
+     */
+    public static Specification<Car> idAfter(Long lastId, boolean descending) {
+        return (root, query, cb) -> lastId == null ? null
+                : descending ? cb.lessThan(root.get("id"), lastId) : cb.greaterThan(root.get("id"), lastId);
+    }
+
+    /**
+     * Rows with a value for the attribute that come after (value, lastId) when ordered by
+     * the attribute, then id. Without a position, all rows with a value.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Car> valueAfter(String attribute, Comparable value, Long lastId, boolean descending) {
+        return (root, query, cb) -> {
+            Path<Comparable> path = root.get(attribute);
+            Predicate present = cb.isNotNull(path);
+            if (value == null) {
+                return present;
+            }
+            Path<Long> id = root.get("id");
+            Predicate beyond = descending ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+            Predicate tie = cb.and(cb.equal(path, value), descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId));
+            return cb.and(present, cb.or(beyond, tie));
+        };
+    }
+
+    private static Specification<Car> normalizedIn(String attribute, Collection<String> values) {
+        List<String> keys = keys(values);
+        return (root, query, cb) -> in(cb, root.get(attribute), keys);
+    }
+
+    private static Predicate in(CriteriaBuilder cb, Expression<String> expression, List<String> keys) {
+        if (keys.isEmpty()) {
+            return null;
+        }
+        return keys.size() == 1 ? cb.equal(expression, keys.get(0)) : expression.in(keys);
+    }
+
+    private static List<String> keys(Collection<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .map(SearchKeys::lower)
+                .filter(Objects::nonNull)
+                .filter(key -> !key.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
\ No newline at end of file
@@ -1,30 +1,68 @@
 package com.cardealership.managementsystem.repository;
 
+import com.cardealership.managementsystem.dto.CustomerRanking;
+import com.cardealership.managementsystem.dto.SalesTotal;
 import com.cardealership.managementsystem.model.Customer;
+import com.cardealership.managementsystem.model.SearchKeys;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    // Case-insensitive finders go through the indexed normalized columns (see SearchKeys)
+
     // Find customers by first name
-    List<Customer> findByFirstNameIgnoreCase(String firstName);
+    default List<Customer> findByFirstNameIgnoreCase(String firstName) {
+        return findByFirstNameNormalized(SearchKeys.lower(firstName));
+    }
+
+    List<Customer> findByFirstNameNormalized(String firstNameNormalized);
 
     // Find customers by last name
-    List<Customer> findByLastNameIgnoreCase(String lastName);
+    default List<Customer> findByLastNameIgnoreCase(String lastName) {
+        return findByLastNameNormalized(SearchKeys.lower(lastName));
+    }
+
+    List<Customer> findByLastNameNormalized(String lastNameNormalized);
 
     // Find customers by email
-    Customer findByEmailIgnoreCase(String email);
+    default Customer findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(SearchKeys.lower(email));
+    }
 
-    // Find customers by phone
-    Customer findByPhone(String phone);
+    Customer findByEmailNormalized(String emailNormalized);
+
+    // Find customers by phone, ignoring punctuation and spacing
+    default Customer findByPhone(String phone) {
+        return findByPhoneNormalized(SearchKeys.phone(phone));
+    }
+
+    Customer findByPhoneNormalized(String phoneNormalized);
 
     // Find customers by name (both first and last)
-    List<Customer> findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName);
+    default List<Customer> findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName) {
+        return findByLastNameNormalizedAndFirstNameNormalized(SearchKeys.lower(lastName), SearchKeys.lower(firstName));
+    }
+
+    List<Customer> findByLastNameNormalizedAndFirstNameNormalized(String lastNameNormalized, String firstNameNormalized);
+
+    // Rows whose normalized columns were never filled (written before they existed, or by
+    // plain SQL), in id order after the given id; see SearchKeys
+    @Query("SELECT c FROM Customer c WHERE c.id > ?1 AND ((c.firstName IS NOT NULL AND c.firstNameNormalized IS NULL) " +
+            "OR (c.lastName IS NOT NULL AND c.lastNameNormalized IS NULL) " +
+            "OR (c.email IS NOT NULL AND c.emailNormalized IS NULL) " +
+            "OR (c.phone IS NOT NULL AND c.phoneNormalized IS NULL)) ORDER BY c.id")
+    List<Customer> findMissingSearchKeys(Long id, Pageable pageable);
 
     // Custom query to find customers with purchases
     @Query("SELECT DISTINCT c FROM Customer c JOIN c.purchases p")
@@ -36,4 +74,25 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     // Custom query to find top customers by number of purchases
     @Query("SELECT c, COUNT(p) FROM Customer c JOIN c.purchases p GROUP BY c ORDER BY COUNT(p) DESC")
     List<Object[]> findTopCustomersByPurchaseCount();
+
+    // Top customers by purchases within a sale date window; the Pageable limits it to the top K
+    @Query("SELECT new com.cardealership.managementsystem.dto.CustomerRanking(" +
+            "c.id, c.firstName, c.lastName, c.email, COUNT(s), SUM(s.totalPrice)) " +
+            "FROM Sale s JOIN s.customer c WHERE s.saleDate BETWEEN ?1 AND ?2 " +
+            "GROUP BY c.id, c.firstName, c.lastName, c.email " +
+            "ORDER BY COUNT(s) DESC, SUM(s.totalPrice) DESC, c.id")
+    List<CustomerRanking> findTopCustomers(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // Purchase count and value per customer, to fill the customer leaderboard
+    @Query("SELECT new com.cardealership.managementsystem.dto.SalesTotal(s.customer.id, COUNT(s), SUM(s.totalPrice)) " +
+            "FROM Sale s WHERE s.customer IS NOT NULL GROUP BY s.customer.id")
+    List<SalesTotal> findPurchaseTotals();
+
+    // Keyset pagination: next page of customers after the given id
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Stream all customers in id order without materializing the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Customer c ORDER BY c.id")
+    Stream<Customer> streamAllOrderById();
 }
\ No newline at end of file
@@ -1,28 +1,54 @@
 package com.cardealership.managementsystem.repository;
 
+import com.cardealership.managementsystem.dto.SalesTotal;
+import com.cardealership.managementsystem.dto.SalespersonRanking;
 import com.cardealership.managementsystem.model.Employee;
+import com.cardealership.managementsystem.model.SearchKeys;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
+    // Case-insensitive finders go through the indexed normalized columns (see SearchKeys)
+
     // Find employees by first name
-    List<Employee> findByFirstNameIgnoreCase(String firstName);
+    default List<Employee> findByFirstNameIgnoreCase(String firstName) {
+        return findByFirstNameNormalized(SearchKeys.lower(firstName));
+    }
+
+    List<Employee> findByFirstNameNormalized(String firstNameNormalized);
 
     // Find employees by last name
-    List<Employee> findByLastNameIgnoreCase(String lastName);
+    default List<Employee> findByLastNameIgnoreCase(String lastName) {
+        return findByLastNameNormalized(SearchKeys.lower(lastName));
+    }
+
+    List<Employee> findByLastNameNormalized(String lastNameNormalized);
 
     // Find employees by email
-    Employee findByEmailIgnoreCase(String email);
+    default Employee findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(SearchKeys.lower(email));
+    }
+
+    Employee findByEmailNormalized(String emailNormalized);
 
     // Find employees by position
-    List<Employee> findByPositionIgnoreCase(String position);
+    default List<Employee> findByPositionIgnoreCase(String position) {
+        return findByPositionNormalized(SearchKeys.lower(position));
+    }
+
+    List<Employee> findByPositionNormalized(String positionNormalized);
 
     // Find employees by hire date range
     List<Employee> findByHireDateBetween(LocalDate startDate, LocalDate endDate);
@@ -31,18 +57,51 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findBySalaryBetween(BigDecimal minSalary, BigDecimal maxSalary);
 
     // Find employees by first and last name
-    List<Employee> findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName);
+    default List<Employee> findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName) {
+        return findByLastNameNormalizedAndFirstNameNormalized(SearchKeys.lower(lastName), SearchKeys.lower(firstName));
+    }
+
+    List<Employee> findByLastNameNormalizedAndFirstNameNormalized(String lastNameNormalized, String firstNameNormalized);
+
+    // Rows whose normalized columns were never filled (written before they existed, or by
+    // plain SQL), in id order after the given id; see SearchKeys
+    @Query("SELECT e FROM Employee e WHERE e.id > ?1 AND ((e.firstName IS NOT NULL AND e.firstNameNormalized IS NULL) " +
+            "OR (e.lastName IS NOT NULL AND e.lastNameNormalized IS NULL) " +
+            "OR (e.email IS NOT NULL AND e.emailNormalized IS NULL) " +
+            "OR (e.position IS NOT NULL AND e.positionNormalized IS NULL)) ORDER BY e.id")
+    List<Employee> findMissingSearchKeys(Long id, Pageable pageable);
 
     // Custom query to find top performing salespeople by sales amount
     @Query("SELECT e, SUM(s.totalPrice) FROM Employee e JOIN e.sales s " +
             "GROUP BY e ORDER BY SUM(s.totalPrice) DESC")
     List<Object[]> findTopSalespeopleByTotalSales();
 
+    // Top salespeople by sales value within a sale date window; the Pageable limits it to the top K
+    @Query("SELECT new com.cardealership.managementsystem.dto.SalespersonRanking(" +
+            "e.id, e.firstName, e.lastName, COUNT(s), SUM(s.totalPrice)) " +
+            "FROM Sale s JOIN s.salesperson e WHERE s.saleDate BETWEEN ?1 AND ?2 " +
+            "GROUP BY e.id, e.firstName, e.lastName " +
+            "ORDER BY SUM(s.totalPrice) DESC, COUNT(s) DESC, e.id")
+    List<SalespersonRanking> findTopSalespeople(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // Sale count and value per salesperson, to fill the salesperson leaderboard
+    @Query("SELECT new com.cardealership.managementsystem.dto.SalesTotal(s.salesperson.id, COUNT(s), SUM(s.totalPrice)) " +
+            "FROM Sale s WHERE s.salesperson IS NOT NULL GROUP BY s.salesperson.id")
+    List<SalesTotal> findSalesTotals();
+
     // Custom query to find employees with no sales
-    @Query("SELECT e FROM Employee e LEFT JOIN e.sales s WHERE s.id IS NULL AND e.position = 'Salesperson'")
+    @Query("SELECT e FROM Employee e LEFT JOIN e.sales s WHERE s.id IS NULL AND e.positionNormalized = 'salesperson'")
     List<Employee> findSalespeopleWithNoSales();
 
     // Custom query to find salespeople with sales in a given date range
     @Query("SELECT DISTINCT e FROM Employee e JOIN e.sales s WHERE s.saleDate BETWEEN ?1 AND ?2")
     List<Employee> findSalespeopleWithSalesInDateRange(LocalDate startDate, LocalDate endDate);
+
+    // Keyset pagination: next page of employees after the given id
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Stream all employees in id order without materializing the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAllOrderById();
 }
\ No newline at end of file
@@ -1,45 +1,101 @@
 package com.cardealership.managementsystem.repository;
 
+import com.cardealership.managementsystem.dto.SaleSummary;
 import com.cardealership.managementsystem.model.Car;
 import com.cardealership.managementsystem.model.Customer;
 import com.cardealership.managementsystem.model.Employee;
 import com.cardealership.managementsystem.model.Sale;
+import com.cardealership.managementsystem.model.SearchKeys;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Long> {
 
+    // Select list shared by the SaleSummary projection queries
+    String SUMMARY_SELECT = "SELECT s.id AS id, s.saleDate AS saleDate, s.salePrice AS salePrice, s.tax AS tax, " +
+            "s.totalPrice AS totalPrice, s.paymentMethod AS paymentMethod, s.saleStatus AS saleStatus, " +
+            "c.id AS carId, c.year AS carYear, c.make AS carMake, c.model AS carModel, " +
+            "cu.id AS customerId, cu.firstName AS customerFirstName, cu.lastName AS customerLastName, " +
+            "e.id AS salespersonId, e.firstName AS salespersonFirstName, e.lastName AS salespersonLastName " +
+            "FROM Sale s LEFT JOIN s.car c LEFT JOIN s.customer cu LEFT JOIN s.salesperson e ";
+
+    // Sale's relations are lazy; queries whose results are displayed fetch them in one join
+    @Override
+    @EntityGraph(Sale.WITH_PARTIES)
+    List<Sale> findAll();
+
+    @Override
+    @EntityGraph(Sale.WITH_PARTIES)
+    Optional<Sale> findById(Long id);
+
     // Find sales by customer
+    @EntityGraph(Sale.WITH_PARTIES)
     List<Sale> findByCustomer(Customer customer);
 
     // Find sales by salesperson
+    @EntityGraph(Sale.WITH_PARTIES)
     List<Sale> findBySalesperson(Employee salesperson);
 
     // Find sales by car
+    @EntityGraph(Sale.WITH_PARTIES)
     List<Sale> findByCar(Car car);
 
     // Find sales by sale date
+    @EntityGraph(Sale.WITH_PARTIES)
     List<Sale> findBySaleDate(LocalDate saleDate);
 
+    // Count sales on a given date
+    long countBySaleDate(LocalDate saleDate);
+
+    // Sum of all sale totals
+    @Query("SELECT COALESCE(SUM(s.totalPrice), 0) FROM Sale s")
+    BigDecimal sumTotalPrice();
+
     // Find sales by sale date range
+    @EntityGraph(Sale.WITH_PARTIES)
     List<Sale> findBySaleDateBetween(LocalDate startDate, LocalDate endDate);
 
     // Find sales by total price range
+    @EntityGraph(Sale.WITH_PARTIES)
     List<Sale> findByTotalPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
 
-    // Find sales by payment method
-    List<Sale> findByPaymentMethodIgnoreCase(String paymentMethod);
+    // Find sales by payment method (indexed normalized column, see SearchKeys)
+    default List<Sale> findByPaymentMethodIgnoreCase(String paymentMethod) {
+        return findByPaymentMethodNormalized(SearchKeys.lower(paymentMethod));
+    }
+
+    @EntityGraph(Sale.WITH_PARTIES)
+    List<Sale> findByPaymentMethodNormalized(String paymentMethodNormalized);
+
+    // Find sales by status (indexed normalized column, see SearchKeys)
+    default List<Sale> findBySaleStatusIgnoreCase(String saleStatus) {
+        return findBySaleStatusNormalized(SearchKeys.lower(saleStatus));
+    }
 
-    // Find sales by status
-    List<Sale> findBySaleStatusIgnoreCase(String saleStatus);
+    @EntityGraph(Sale.WITH_PARTIES)
+    List<Sale> findBySaleStatusNormalized(String saleStatusNormalized);
+
+    // Rows whose normalized columns were never filled (written before they existed, or by
+    // plain SQL), in id order after the given id; see SearchKeys
+    @Query("SELECT s FROM Sale s WHERE s.id > ?1 AND ((s.paymentMethod IS NOT NULL AND s.paymentMethodNormalized IS NULL) " +
+            "OR (s.saleStatus IS NOT NULL AND s.saleStatusNormalized IS NULL)) ORDER BY s.id")
+    List<Sale> findMissingSearchKeys(Long id, Pageable pageable);
 
     // Custom query to find sales with total price greater than specified value
+    @EntityGraph(Sale.WITH_PARTIES)
     @Query("SELECT s FROM Sale s WHERE s.totalPrice > ?1")
     List<Sale> findSalesWithTotalPriceGreaterThan(BigDecimal price);
 
@@ -51,6 +107,29 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     List<Object[]> findMonthlySalesTotals();
 
     // Custom query to find today's sales
+    @EntityGraph(Sale.WITH_PARTIES)
     @Query("SELECT s FROM Sale s WHERE s.saleDate = CURRENT_DATE")
     List<Sale> findTodaySales();
+
+    // Keyset pagination: next page of sales after the given id
+    @EntityGraph(Sale.WITH_PARTIES)
+    List<Sale> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Stream all sales in id order without materializing the whole table
+    @EntityGraph(Sale.WITH_PARTIES)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Sale s ORDER BY s.id")
+    Stream<Sale> streamAllOrderById();
+
+    // Lightweight list rows: keyset page of sale summaries after the given id
+    @Query(SUMMARY_SELECT + "WHERE s.id > ?1 ORDER BY s.id")
+    List<SaleSummary> findSummariesByIdGreaterThan(Long id, Pageable pageable);
+
+    // Lightweight list rows: sale summaries in a date range
+    @Query(SUMMARY_SELECT + "WHERE s.saleDate BETWEEN ?1 AND ?2 ORDER BY s.saleDate DESC, s.id DESC")
+    List<SaleSummary> findSummariesBySaleDateBetween(LocalDate startDate, LocalDate endDate);
+
+    // Lightweight list rows: sale summaries for a customer
+    @Query(SUMMARY_SELECT + "WHERE cu.id = ?1 ORDER BY s.saleDate DESC, s.id DESC")
+    List<SaleSummary> findSummariesByCustomerId(Long customerId);
 }
\ No newline at end of file
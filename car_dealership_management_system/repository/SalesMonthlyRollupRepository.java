@@ -0,0 +1,23 @@
+package com.cardealership.managementsystem.repository;
+
+import com.cardealership.managementsystem.model.SalesMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface SalesMonthlyRollupRepository extends JpaRepository<SalesMonthlyRollup, Integer> {
+
+    // Find all monthly rollups, most recent first
+    List<SalesMonthlyRollup> findAllByOrderByPeriodDesc();
+
+    // Apply a sale delta to a month in place; returns 0 if the month has no row yet
+    @Modifying
+    @Query("UPDATE SalesMonthlyRollup r SET r.total = r.total + ?2, r.saleCount = r.saleCount + ?3 " +
+            "WHERE r.period = ?1")
+    int applyDelta(Integer period, BigDecimal total, Long saleCount);
+}
\ No newline at end of file
@@ -0,0 +1,419 @@
+package com.cardealership.managementsystem.search;
+
+import com.cardealership.managementsystem.dto.CustomerSuggestion;
+import com.cardealership.managementsystem.event.ChangeType;
+import com.cardealership.managementsystem.event.CustomerChanged;
+import com.cardealership.managementsystem.model.Customer;
+import com.cardealership.managementsystem.model.SearchKeys;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory typeahead index over customers' names, emails and phone numbers.
+ *
+ * <p>Prefix matches come from a sorted term map: each customer is filed under their
+ * first name, last name, full name both ways round, email and phone digits, so typing
+ * any of them narrows the suggestions. When prefixes don't fill the list, a trigram index
+ * over names and email local parts adds near misses (typos, transposed letters), ranked
+ * by trigram overlap.</p>
+ *
+ * <p>The index is filled lazily from the database on first use and then kept in sync from
+ * {@link CustomerChanged} events. Those only cover this terminal; {@link #reconcile}
+ * picks up customers added, edited or deleted on other terminals.</p>
+ */
+@Component
+public class CustomerSearchIndex {
+
+    // Below this trigram overlap (Jaccard) a fuzzy match is too loose to suggest
+    private static final double MIN_SIMILARITY = 0.3;
+    // Bound on prefix candidates checked against the remaining words of a multi-word query
+    private static final int MAX_PREFIX_CANDIDATES = 5000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeMap<String, Set<Long>> terms = new TreeMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    // Ids changed by events while a reconcile reads the table; its rows for them may be older
+    private Set<Long> changedDuringReconcile;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Fill the index if it has not been loaded yet.
+     *
+     * @param source Pushes every customer in the database to the given consumer
+     */
+    public void loadIfNeeded(Consumer<Consumer<Customer>> source) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                source.accept(customer -> put(new Entry(customer)));
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop everything; the next lookup reloads from the database.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            terms.clear();
+            trigrams.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChanged event) {
+        if (event.getType() == ChangeType.DELETED) {
+            remove(event.getId());
+        } else {
+            index(event.getEntity());
+        }
+    }
+
+    public void index(Customer customer) {
+        Entry entry = new Entry(customer);
+        lock.writeLock().lock();
+        try {
+            // Nothing to keep in sync until the first lookup loads the index
+            if (loaded) {
+                put(entry);
+                noteChanged(entry.suggestion.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = loaded ? entries.remove(id) : null;
+            if (entry != null) {
+                unpost(entry);
+            }
+            noteChanged(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bring a loaded index in line with the customers table: customers missing from it are
+     * added, those whose indexed fields differ are re-indexed and those no longer in the
+     * table are dropped. The table is read without holding the lock; customers changed by
+     * this terminal's events meanwhile are left as the events set them.
+     *
+     * @param source Pushes every customer in the database to the given consumer
+     * @return The number of customers added, re-indexed or dropped
+     */
+    public int reconcile(Consumer<Consumer<Customer>> source) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return 0;
+            }
+            changedDuringReconcile = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Entry> current = new HashMap<>();
+        try {
+            source.accept(customer -> current.put(customer.getId(), new Entry(customer)));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringReconcile = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Set<Long> skipped = changedDuringReconcile;
+            changedDuringReconcile = null;
+            if (!loaded) {
+                return 0;
+            }
+            int changed = 0;
+            for (Long id : new ArrayList<>(entries.keySet())) {
+                if (!current.containsKey(id) && !skipped.contains(id)) {
+                    unpost(entries.remove(id));
+                    changed++;
+                }
+            }
+            for (Entry entry : current.values()) {
+                Entry existing = entries.get(entry.suggestion.getId());
+                if (!skipped.contains(entry.suggestion.getId()) && (existing == null || !existing.sameFields(entry))) {
+                    put(entry);
+                    changed++;
+                }
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Suggest customers for what has been typed so far: prefix matches first, then fuzzy
+     * matches.
+     *
+     * @param query Part of a name ("jo", "john sm", "smith j"), an email or a phone number
+     * @param limit The maximum number of suggestions
+     * @return The suggestions, best first
+     */
+    public List<CustomerSuggestion> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = new LinkedHashSet<>();
+            addPrefixMatches(normalized, matches, limit);
+            String digits = SearchKeys.phone(normalized);
+            if (matches.size() < limit && digits.length() >= 3 && digits.matches("\\d+")) {
+                addPrefixMatches(digits, matches, limit);
+            }
+            String[] words = normalized.split(" ");
+            if (matches.size() < limit && words.length > 1) {
+                addAllWordMatches(words, matches, limit);
+            }
+            if (matches.size() < limit && normalized.length() >= 3) {
+                addFuzzyMatches(normalized, matches, limit);
+            }
+
+            List<CustomerSuggestion> suggestions = new ArrayList<>(matches.size());
+            for (Long id : matches) {
+                suggestions.add(entries.get(id).suggestion);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPrefixMatches(String prefix, Set<Long> matches, int limit) {
+        for (Set<Long> ids : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                matches.add(id);
+                if (matches.size() >= limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Customers that have a word starting with each query word, in any order
+     * (e.g. "smi jo" for John Smith).
+     */
+    private void addAllWordMatches(String[] words, Set<Long> matches, int limit) {
+        int checked = 0;
+        for (Set<Long> ids : terms.subMap(words[0], true, words[0] + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                if (++checked > MAX_PREFIX_CANDIDATES) {
+                    return;
+                }
+                if (!matches.contains(id) && entries.get(id).hasWordsStartingWith(words)) {
+                    matches.add(id);
+                    if (matches.size() >= limit) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void addFuzzyMatches(String query, Set<Long> matches, int limit) {
+        Set<String> queryGrams = trigramsOf(query.split(" "));
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = trigrams.get(gram);
+            if (ids != null) {
+                for (Long id : ids) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Map.Entry<Long, Double>> scored = new ArrayList<>();
+        for (Map.Entry<Long, Integer> hit : shared.entrySet()) {
+            if (matches.contains(hit.getKey())) {
+                continue;
+            }
+            int entryGrams = entries.get(hit.getKey()).trigrams.size();
+            double similarity = (double) hit.getValue() / (queryGrams.size() + entryGrams - hit.getValue());
+            if (similarity >= MIN_SIMILARITY) {
+                scored.add(Map.entry(hit.getKey(), similarity));
+            }
+        }
+        scored.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<Long, Double> match : scored) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            matches.add(match.getKey());
+        }
+    }
+
+    private void noteChanged(Long id) {
+        if (changedDuringReconcile != null) {
+            changedDuringReconcile.add(id);
+        }
+    }
+
+    private void put(Entry entry) {
+        Entry previous = entries.put(entry.suggestion.getId(), entry);
+        if (previous != null) {
+            unpost(previous);
+        }
+        for (String term : entry.terms) {
+            terms.computeIfAbsent(term, k -> new HashSet<>()).add(entry.suggestion.getId());
+        }
+        for (String gram : entry.trigrams) {
+            trigrams.computeIfAbsent(gram, k -> new HashSet<>()).add(entry.suggestion.getId());
+        }
+    }
+
+    private void unpost(Entry entry) {
+        Long id = entry.suggestion.getId();
+        for (String term : entry.terms) {
+            unpost(terms, term, id);
+        }
+        for (String gram : entry.trigrams) {
+            unpost(trigrams, gram, id);
+        }
+    }
+
+    private static void unpost(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        String lower = SearchKeys.lower(value);
+        return lower == null ? "" : lower.replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Trigrams of each word, padded so word starts weigh more: "ann" gives "  a", " an",
+     * "ann", "nn ".
+     */
+    private static Set<String> trigramsOf(String... words) {
+        Set<String> grams = new HashSet<>();
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * The indexed form of one customer.
+     */
+    private static final class Entry {
+
+        private final CustomerSuggestion suggestion;
+        private final Set<String> terms = new HashSet<>();
+        private final Set<String> trigrams;
+        private final List<String> words = new ArrayList<>();
+
+        private Entry(Customer customer) {
+            this.suggestion = CustomerSuggestion.of(customer);
+            String first = normalize(customer.getFirstName());
+            String last = normalize(customer.getLastName());
+            String email = normalize(customer.getEmail());
+            String emailLocal = email.contains("@") ? email.substring(0, email.indexOf('@')) : email;
+            String phone = SearchKeys.phone(customer.getPhone());
+
+            addTerm(first);
+            addTerm(last);
+            addTerm((first + " " + last).trim());
+            addTerm((last + " " + first).trim());
+            addTerm(email);
+            addTerm(phone);
+            words.addAll(Arrays.asList(first.split(" ")));
+            words.addAll(Arrays.asList(last.split(" ")));
+            words.add(email);
+            this.trigrams = trigramsOf(first, last, emailLocal);
+        }
+
+        private void addTerm(String term) {
+            if (term != null && !term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+
+        private boolean sameFields(Entry other) {
+            return Objects.equals(suggestion.getFirstName(), other.suggestion.getFirstName())
+                    && Objects.equals(suggestion.getLastName(), other.suggestion.getLastName())
+                    && Objects.equals(suggestion.getEmail(), other.suggestion.getEmail())
+                    && Objects.equals(suggestion.getPhone(), other.suggestion.getPhone());
+        }
+
+        private boolean hasWordsStartingWith(String[] prefixes) {
+            for (String prefix : prefixes) {
+                if (words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,397 @@
+package com.cardealership.managementsystem.search;
+
+import com.cardealership.managementsystem.model.Car;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index over the car inventory. Every car gets a dense slot number;
+ * each attribute value maps to a posting list (a {@link BitSet} of slots), and price,
+ * mileage and year additionally keep sorted maps for range lookups. Queries combine
+ * posting lists with bitwise AND/OR, so multi-attribute searches never touch the database.
+ *
+ * <p>The index is filled lazily from the database on first use and then kept in sync by
+ * {@link InventoryIndexListener}. Writes from other terminals sharing the database are
+ * picked up by the periodic {@link #reconcile(Map)} pass.</p>
+ */
+@Component
+public class InventoryIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final List<Long> idsBySlot = new ArrayList<>();
+    private final Map<Integer, CarTerms> termsBySlot = new HashMap<>();
+    private final BitSet freeSlots = new BitSet();
+    private final BitSet live = new BitSet();
+
+    private final Map<String, BitSet> makes = new HashMap<>();
+    private final Map<String, BitSet> models = new HashMap<>();
+    private final Map<String, BitSet> colors = new HashMap<>();
+    private final Map<String, BitSet> conditions = new HashMap<>();
+    private final BitSet sold = new BitSet();
+    private final TreeMap<Integer, BitSet> years = new TreeMap<>();
+    private final TreeMap<BigDecimal, BitSet> prices = new TreeMap<>();
+    private final TreeMap<Integer, BitSet> mileages = new TreeMap<>();
+
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Fill the index if it has not been loaded yet.
+     *
+     * @param source Pushes every car in the database to the given consumer
+     */
+    public void loadIfNeeded(Consumer<Consumer<Car>> source) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                source.accept(car -> put(car.getId(), CarTerms.of(car)));
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop everything; the next query reloads from the database.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            idsBySlot.clear();
+            termsBySlot.clear();
+            freeSlots.clear();
+            live.clear();
+            makes.clear();
+            models.clear();
+            colors.clear();
+            conditions.clear();
+            sold.clear();
+            years.clear();
+            prices.clear();
+            mileages.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace the postings of one car.
+     *
+     * @param id The car id
+     * @param terms The indexed attribute values
+     */
+    public void index(Long id, CarTerms terms) {
+        lock.writeLock().lock();
+        try {
+            // Nothing to keep in sync until the first query loads the index
+            if (loaded) {
+                put(id, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compare the index with the (id, version) pairs currently in the database. Cars the
+     * database no longer has are removed, unless their id is above every id seen there
+     * (inserted after the scan). Returns the ids whose indexed version differs or that the
+     * index lacks; the caller reloads those and passes them to {@link #refresh}.
+     *
+     * @param currentVersions Version of every car in the database, by id
+     * @return The ids to reload, or an empty list if the index is not loaded
+     */
+    public List<Long> reconcile(Map<Long, Long> currentVersions) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return List.of();
+            }
+            long maxScannedId = currentVersions.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+            List<Long> missing = new ArrayList<>();
+            for (Long id : slotsById.keySet()) {
+                if (!currentVersions.containsKey(id) && id <= maxScannedId) {
+                    missing.add(id);
+                }
+            }
+            missing.forEach(this::remove);
+
+            List<Long> stale = new ArrayList<>();
+            for (Map.Entry<Long, Long> entry : currentVersions.entrySet()) {
+                Integer slot = slotsById.get(entry.getKey());
+                if (slot == null || !Objects.equals(termsBySlot.get(slot).version, entry.getValue())) {
+                    stale.add(entry.getKey());
+                }
+            }
+            return stale;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index a car read during reconciliation, unless this terminal has meanwhile
+     * indexed a newer version of it.
+     */
+    public void refresh(Long id, CarTerms terms) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = loaded ? slotsById.get(id) : null;
+            CarTerms current = slot == null ? null : termsBySlot.get(slot);
+            if (loaded && (current == null || current.version == null || terms.version == null
+                    || terms.version >= current.version)) {
+                put(id, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = loaded ? slotsById.remove(id) : null;
+            if (slot != null) {
+                unpost(slot, termsBySlot.remove(slot));
+                idsBySlot.set(slot, null);
+                live.clear(slot);
+                freeSlots.set(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluate a query against the index.
+     *
+     * @param query The query
+     * @return Matching car ids in ascending order
+     */
+    public List<Long> search(InventoryQuery query) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = query.evaluate(this);
+            matches.and(live);
+
+            List<Long> ids = new ArrayList<>(matches.cardinality());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                ids.add(idsBySlot.get(slot));
+            }
+            ids.sort(null);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int count(InventoryQuery query) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = query.evaluate(this);
+            matches.and(live);
+            return matches.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Posting list accessors used by InventoryQuery; each returns a copy the caller may modify
+
+    BitSet all() {
+        return (BitSet) live.clone();
+    }
+
+    BitSet make(String make) {
+        return copy(makes.get(key(make)));
+    }
+
+    BitSet model(String model) {
+        return copy(models.get(key(model)));
+    }
+
+    BitSet color(String color) {
+        return copy(colors.get(key(color)));
+    }
+
+    BitSet condition(String condition) {
+        return copy(conditions.get(key(condition)));
+    }
+
+    BitSet sold(boolean isSold) {
+        if (isSold) {
+            return (BitSet) sold.clone();
+        }
+        BitSet available = (BitSet) live.clone();
+        available.andNot(sold);
+        return available;
+    }
+
+    BitSet yearRange(Integer min, Integer max) {
+        return union(range(years, min, max));
+    }
+
+    BitSet priceRange(BigDecimal min, BigDecimal max) {
+        return union(range(prices, min, max));
+    }
+
+    BitSet mileageRange(Integer min, Integer max) {
+        return union(range(mileages, min, max));
+    }
+
+    private void put(Long id, CarTerms terms) {
+        Integer slot = slotsById.get(id);
+        if (slot != null) {
+            unpost(slot, termsBySlot.get(slot));
+        } else {
+            slot = allocateSlot(id);
+        }
+
+        termsBySlot.put(slot, terms);
+        live.set(slot);
+        post(makes, terms.make, slot);
+        post(models, terms.model, slot);
+        post(colors, terms.color, slot);
+        post(conditions, terms.condition, slot);
+        post(years, terms.year, slot);
+        post(prices, terms.price, slot);
+        post(mileages, terms.mileage, slot);
+        sold.set(slot, terms.sold);
+    }
+
+    private void unpost(int slot, CarTerms terms) {
+        if (terms == null) {
+            return;
+        }
+        unpost(makes, terms.make, slot);
+        unpost(models, terms.model, slot);
+        unpost(colors, terms.color, slot);
+        unpost(conditions, terms.condition, slot);
+        unpost(years, terms.year, slot);
+        unpost(prices, terms.price, slot);
+        unpost(mileages, terms.mileage, slot);
+        sold.clear(slot);
+    }
+
+    private int allocateSlot(Long id) {
+        int slot = freeSlots.nextSetBit(0);
+        if (slot >= 0) {
+            freeSlots.clear(slot);
+            idsBySlot.set(slot, id);
+        } else {
+            slot = idsBySlot.size();
+            idsBySlot.add(id);
+        }
+        slotsById.put(id, slot);
+        return slot;
+    }
+
+    private static <K> void post(Map<K, BitSet> postings, K value, int slot) {
+        if (value != null) {
+            postings.computeIfAbsent(value, k -> new BitSet()).set(slot);
+        }
+    }
+
+    private static <K> void unpost(Map<K, BitSet> postings, K value, int slot) {
+        if (value == null) {
+            return;
+        }
+        BitSet posting = postings.get(value);
+        if (posting != null) {
+            posting.clear(slot);
+            if (posting.isEmpty()) {
+                postings.remove(value);
+            }
+        }
+    }
+
+    private static <K extends Comparable<K>> Iterable<BitSet> range(NavigableMap<K, BitSet> postings, K min, K max) {
+        if (min == null && max == null) {
+            return postings.values();
+        }
+        if (min == null) {
+            return postings.headMap(max, true).values();
+        }
+        if (max == null) {
+            return postings.tailMap(min, true).values();
+        }
+        if (min.compareTo(max) > 0) {
+            return List.of();
+        }
+        return postings.subMap(min, true, max, true).values();
+    }
+
+    private static BitSet union(Iterable<BitSet> postings) {
+        BitSet result = new BitSet();
+        for (BitSet posting : postings) {
+            result.or(posting);
+        }
+        return result;
+    }
+
+    private static BitSet copy(BitSet posting) {
+        return posting == null ? new BitSet() : (BitSet) posting.clone();
+    }
+
+    static String key(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable copy of the indexed attributes of a car, taken when the car is written so
+     * the index can be updated after the transaction commits.
+     */
+    public static final class CarTerms {
+
+        private final String make;
+        private final String model;
+        private final String color;
+        private final String condition;
+        private final Integer year;
+        private final BigDecimal price;
+        private final Integer mileage;
+        private final boolean sold;
+        private final Long version;
+
+        private CarTerms(Car car) {
+            this.make = key(car.getMake());
+            this.model = key(car.getModel());
+            this.color = key(car.getColor());
+            this.condition = key(car.getCondition());
+            this.year = car.getYear();
+            // Strip scale so 20000 and 20000.00 share a posting
+            this.price = car.getPrice() == null ? null : car.getPrice().stripTrailingZeros();
+            this.mileage = car.getMileage();
+            this.sold = Boolean.TRUE.equals(car.getSold());
+            this.version = car.getVersion();
+        }
+
+        public static CarTerms of(Car car) {
+            return new CarTerms(car);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.cardealership.managementsystem.search;
+
+import com.cardealership.managementsystem.model.Car;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link InventoryIndex} in step with the cars table.
+ * Hibernate resolves it from the Spring context, and changes are only applied once the
+ * surrounding transaction commits so rolled-back writes never reach the index.
+ */
+@Component
+public class InventoryIndexListener {
+
+    private final InventoryIndex inventoryIndex;
+
+    public InventoryIndexListener(InventoryIndex inventoryIndex) {
+        this.inventoryIndex = inventoryIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void carSaved(Car car) {
+        Long id = car.getId();
+        InventoryIndex.CarTerms terms = InventoryIndex.CarTerms.of(car);
+        afterCommit(() -> inventoryIndex.index(id, terms));
+    }
+
+    @PostRemove
+    public void carRemoved(Car car) {
+        Long id = car.getId();
+        afterCommit(() -> inventoryIndex.remove(id));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.cardealership.managementsystem.search;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Boolean expression over {@link InventoryIndex} posting lists. Leaf queries match one
+ * attribute value or range; {@link #and}, {@link #or} and {@link #not} combine them.
+ */
+@FunctionalInterface
+public interface InventoryQuery {
+
+    /**
+     * Evaluate against the index. Called with the index read lock held.
+     *
+     * @param index The index
+     * @return A fresh bit set of matching slots that the caller may modify
+     */
+    BitSet evaluate(InventoryIndex index);
+
+    default InventoryQuery and(InventoryQuery other) {
+        return allOf(List.of(this, other));
+    }
+
+    default InventoryQuery or(InventoryQuery other) {
+        return anyOf(List.of(this, other));
+    }
+
+    default InventoryQuery not() {
+        InventoryQuery self = this;
+        return index -> {
+            BitSet result = index.all();
+            result.andNot(self.evaluate(index));
+            return result;
+        };
+    }
+
+    static InventoryQuery all() {
+        return InventoryIndex::all;
+    }
+
+    static InventoryQuery make(String make) {
+        return index -> index.make(make);
+    }
+
+    static InventoryQuery model(String model) {
+        return index -> index.model(model);
+    }
+
+    static InventoryQuery color(String color) {
+        return index -> index.color(color);
+    }
+
+    static InventoryQuery condition(String condition) {
+        return index -> index.condition(condition);
+    }
+
+    static InventoryQuery sold(boolean sold) {
+        return index -> index.sold(sold);
+    }
+
+    static InventoryQuery year(int year) {
+        return index -> index.yearRange(year, year);
+    }
+
+    static InventoryQuery yearBetween(Integer min, Integer max) {
+        return index -> index.yearRange(min, max);
+    }
+
+    static InventoryQuery priceBetween(BigDecimal min, BigDecimal max) {
+        return index -> index.priceRange(min, max);
+    }
+
+    static InventoryQuery mileageBetween(Integer min, Integer max) {
+        return index -> index.mileageRange(min, max);
+    }
+
+    /**
+     * Intersect the given queries; an empty collection matches everything.
+     */
+    static InventoryQuery allOf(Collection<InventoryQuery> queries) {
+        return index -> {
+            BitSet result = null;
+            for (InventoryQuery query : queries) {
+                if (result == null) {
+                    result = query.evaluate(index);
+                } else {
+                    result.and(query.evaluate(index));
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result == null ? index.all() : result;
+        };
+    }
+
+    /**
+     * Union the given queries; an empty collection matches nothing.
+     */
+    static InventoryQuery anyOf(Collection<InventoryQuery> queries) {
+        return index -> {
+            BitSet result = new BitSet();
+            for (InventoryQuery query : queries) {
+                result.or(query.evaluate(index));
+            }
+            return result;
+        };
+    }
+}
\ No newline at end of file
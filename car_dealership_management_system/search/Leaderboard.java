@@ -0,0 +1,142 @@
+package com.cardealership.managementsystem.search;
+
+import com.cardealership.managementsystem.dto.SalesTotal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Sales totals per customer or salesperson kept in ranking order, so the top K are read
+ * by walking the first K entries and each sale moves one entry in O(log n).
+ *
+ * <p>Filled from the database on first use and then updated with each committed sale
+ * (see {@link SalesLeaderboards}). A sale committed while a load is running may or may
+ * not be in the loaded totals; such a load is used once and then redone.</p>
+ *
+ * <p>Sales made on other terminals sharing the database raise no events here, so the
+ * totals are also reloaded on the first read after they are {@code maxAge} old.</p>
+ */
+public class Leaderboard {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, SalesTotal> totals = new HashMap<>();
+    private final TreeSet<SalesTotal> ranked;
+
+    private volatile boolean loaded;
+    private volatile boolean loading;
+    private volatile boolean stale;
+    private volatile int loadGeneration;
+    private volatile long loadedAt;
+
+    private final long maxAgeNanos;
+
+    /**
+     * @param order The ranking order, best first; must break ties by id
+     * @param maxAge How long loaded totals are used before they are read again
+     * @param unit The unit of maxAge
+     */
+    public Leaderboard(Comparator<SalesTotal> order, long maxAge, TimeUnit unit) {
+        this.ranked = new TreeSet<>(order);
+        this.maxAgeNanos = unit.toNanos(maxAge);
+    }
+
+    /**
+     * Fill the leaderboard if it has not been loaded yet.
+     *
+     * @param source Reads the current totals from the database
+     */
+    public void loadIfNeeded(Supplier<List<SalesTotal>> source) {
+        if (isCurrent()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!isCurrent()) {
+                loading = true;
+                loadGeneration++;
+                stale = false;
+                totals.clear();
+                ranked.clear();
+                for (SalesTotal total : source.get()) {
+                    totals.put(total.getId(), total);
+                    ranked.add(total);
+                }
+                loadedAt = System.nanoTime();
+                // Served as is this time; reloaded next time if sales raced with the load
+                loaded = !stale;
+            }
+        } finally {
+            loading = false;
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isCurrent() {
+        return loaded && System.nanoTime() - loadedAt < maxAgeNanos;
+    }
+
+    /**
+     * Drop the totals; the next read reloads them.
+     */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Apply a committed sale: positive deltas for a new sale, negative for a removed one.
+     */
+    public void add(Long id, long countDelta, BigDecimal amountDelta) {
+        int generation = loadGeneration;
+        if (loading) {
+            stale = true;
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // A load that started after this sale committed already counts it
+            if (!loaded || generation != loadGeneration) {
+                return;
+            }
+            SalesTotal previous = totals.remove(id);
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            SalesTotal updated = previous != null
+                    ? previous.plus(countDelta, amountDelta)
+                    : new SalesTotal(id, countDelta, amountDelta);
+            if (updated.getCount() > 0) {
+                totals.put(id, updated);
+                ranked.add(updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The first k entries in ranking order.
+     */
+    public List<SalesTotal> top(int k) {
+        lock.readLock().lock();
+        try {
+            List<SalesTotal> top = new ArrayList<>(Math.min(k, ranked.size()));
+            Iterator<SalesTotal> iterator = ranked.iterator();
+            while (top.size() < k && iterator.hasNext()) {
+                top.add(iterator.next());
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.cardealership.managementsystem.search;
+
+import com.cardealership.managementsystem.dto.SalesTotal;
+import com.cardealership.managementsystem.event.SaleChanged;
+import com.cardealership.managementsystem.model.Sale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The customer and salesperson leaderboards, kept current from committed sale changes and
+ * reloaded {@code app.leaderboards.reload-seconds} (default 300) after they were loaded,
+ * to pick up sales made on other terminals.
+ */
+@Component
+public class SalesLeaderboards {
+
+    private final Leaderboard customers;
+    private final Leaderboard salespeople;
+
+    @Autowired
+    public SalesLeaderboards(@Value("${app.leaderboards.reload-seconds:300}") long reloadSeconds) {
+        // Customers rank by number of purchases, then by amount spent
+        this.customers = new Leaderboard(Comparator
+                .comparingLong(SalesTotal::getCount).reversed()
+                .thenComparing(SalesTotal::getAmount, Comparator.reverseOrder())
+                .thenComparing(SalesTotal::getId), reloadSeconds, TimeUnit.SECONDS);
+
+        // Salespeople rank by value sold, then by number of sales
+        this.salespeople = new Leaderboard(Comparator
+                .comparing(SalesTotal::getAmount, Comparator.reverseOrder())
+                .thenComparing(Comparator.comparingLong(SalesTotal::getCount).reversed())
+                .thenComparing(SalesTotal::getId), reloadSeconds, TimeUnit.SECONDS);
+    }
+
+    public Leaderboard customers() {
+        return customers;
+    }
+
+    public Leaderboard salespeople() {
+        return salespeople;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaleChanged(SaleChanged event) {
+        switch (event.getType()) {
+            case CREATED:
+                apply(event.getEntity(), 1);
+                break;
+            case DELETED:
+                apply(event.getEntity(), -1);
+                break;
+            case UPDATED:
+                // The previous customer, salesperson and amount aren't known; recount
+                customers.invalidate();
+                salespeople.invalidate();
+                break;
+        }
+    }
+
+    private void apply(Sale sale, int sign) {
+        BigDecimal amount = sale.getTotalPrice() == null ? BigDecimal.ZERO : sale.getTotalPrice();
+        if (sign < 0) {
+            amount = amount.negate();
+        }
+        if (sale.getCustomer() != null) {
+            customers.add(sale.getCustomer().getId(), sign, amount);
+        }
+        if (sale.getSalesperson() != null) {
+            salespeople.add(sale.getSalesperson().getId(), sign, amount);
+        }
+    }
+}
\ No newline at end of file
@@ -1,45 +1,166 @@
 package com.cardealership.managementsystem.service;
 
+import com.cardealership.managementsystem.config.CacheConfig;
+import com.cardealership.managementsystem.config.ReplicaRoutingDataSource;
+import com.cardealership.managementsystem.dto.CarFilter;
+import com.cardealership.managementsystem.dto.CarSort;
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.DataVersion;
+import com.cardealership.managementsystem.dto.KeysetCursor;
+import com.cardealership.managementsystem.event.CarChanged;
+import com.cardealership.managementsystem.event.ChangeType;
 import com.cardealership.managementsystem.exception.CarNotFoundException;
 import com.cardealership.managementsystem.model.Car;
 import com.cardealership.managementsystem.repository.CarRepository;
+import com.cardealership.managementsystem.repository.CarSpecifications;
+import com.cardealership.managementsystem.search.InventoryIndex;
+import com.cardealership.managementsystem.search.InventoryQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CarService {
 
+    // Ids per findAllById, so a broad index hit never becomes one huge IN list
+    private static final int ID_FETCH_CHUNK = 500;
+
     private final CarRepository carRepository;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final InventoryIndex inventoryIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // In-memory version of the cars table for conditional GETs; the epoch keeps tags
+    // handed out before a restart from matching the restarted counter
+    private final String versionEpoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong carsVersion = new AtomicLong();
+    private volatile Object[] lastTableVersion;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public CarService(CarRepository carRepository) {
+    public CarService(CarRepository carRepository, DashboardMetricsService dashboardMetricsService,
+                      InventoryIndex inventoryIndex, ApplicationEventPublisher eventPublisher) {
         this.carRepository = carRepository;
+        this.dashboardMetricsService = dashboardMetricsService;
+        this.inventoryIndex = inventoryIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Version of the cars table, for conditional GETs, answered from memory. It moves on
+     * every committed car change on this terminal, and when {@link #checkCarsTableVersion()}
+     * notices changes made by other terminals.
+     */
+    public DataVersion getCarsVersion() {
+        return DataVersion.of("cars", versionEpoch, carsVersion.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChanged event) {
+        carsVersion.incrementAndGet();
     }
 
+    /**
+     * Compare the cars table's aggregate version with the one seen last time and move
+     * {@link #getCarsVersion()} if it differs, to pick up other terminals' writes. Run
+     * periodically rather than per request, since it scans the table.
+     *
+     * @return true if the table changed since the last check
+     */
     @Transactional(readOnly = true)
-    public List<Car> getAllCars() {
-        return carRepository.findAll();
+    public boolean checkCarsTableVersion() {
+        Object[] version = ReplicaRoutingDataSource.readFromPrimary(carRepository::findTableVersion).get(0);
+        boolean changed = lastTableVersion != null && !Arrays.equals(version, lastTableVersion);
+        lastTableVersion = version;
+        if (changed) {
+            carsVersion.incrementAndGet();
+        }
+        return changed;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Car> getCarsPage(String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<Car> fetched = carRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursor.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, Car::getId);
     }
 
+    /**
+     * Offset page of cars in id order, for random access where no keyset cursor is known.
+     */
+    @Transactional(readOnly = true)
+    public List<Car> getCarsAtPage(int pageNumber, int size) {
+        return carRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(pageNumber, size));
+    }
+
+    @Transactional(readOnly = true)
+    public long countCars() {
+        return carRepository.count();
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllCars(Consumer<Car> consumer) {
+        EntityStreams.forEach(carRepository.streamAllOrderById(), entityManager, consumer);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CARS, key = "#id")
     @Transactional(readOnly = true)
     public Car getCarById(Long id) {
-        return carRepository.findById(id)
+        return ReplicaRoutingDataSource.readFromPrimary(() -> carRepository.findById(id))
                 .orElseThrow(() -> new CarNotFoundException("Car not found with id: " + id));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, key = "#car.id", condition = "#car.id != null"),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_CARS, allEntries = true)
+    })
     @Transactional
     public Car saveCar(Car car) {
-        return carRepository.save(car);
+        boolean created = car.getId() == null;
+        if (created) {
+            dashboardMetricsService.carAvailabilityChanged(null, car.getSold());
+        } else {
+            dashboardMetricsService.invalidate();
+        }
+        Car savedCar = carRepository.save(car);
+        eventPublisher.publishEvent(new CarChanged(created ? ChangeType.CREATED : ChangeType.UPDATED, savedCar));
+        return savedCar;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_CARS, allEntries = true)
+    })
     @Transactional
     public Car updateCar(Long id, Car carDetails) {
         Car car = getCarById(id);
+        dashboardMetricsService.carAvailabilityChanged(car.getSold(), carDetails.getSold());
 
         car.setMake(carDetails.getMake());
         car.setModel(carDetails.getModel());
@@ -51,25 +172,41 @@ public class CarService {
         car.setMileage(carDetails.getMileage());
         car.setSold(carDetails.getSold());
 
-        return carRepository.save(car);
+        Car savedCar = carRepository.save(car);
+        eventPublisher.publishEvent(new CarChanged(ChangeType.UPDATED, savedCar));
+        return savedCar;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_CARS, allEntries = true)
+    })
     @Transactional
     public void deleteCar(Long id) {
         Car car = getCarById(id);
+        dashboardMetricsService.carAvailabilityChanged(car.getSold(), null);
         carRepository.delete(car);
+        eventPublisher.publishEvent(new CarChanged(ChangeType.DELETED, car));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_CARS, allEntries = true)
+    })
     @Transactional
     public Car markCarAsSold(Long id) {
         Car car = getCarById(id);
+        dashboardMetricsService.carAvailabilityChanged(car.getSold(), true);
         car.setSold(true);
-        return carRepository.save(car);
+        Car savedCar = carRepository.save(car);
+        eventPublisher.publishEvent(new CarChanged(ChangeType.UPDATED, savedCar));
+        return savedCar;
     }
 
+    @Cacheable(CacheConfig.AVAILABLE_CARS)
     @Transactional(readOnly = true)
     public List<Car> getAvailableCars() {
-        return carRepository.findBySold(false);
+        return ReplicaRoutingDataSource.readFromPrimary(() -> carRepository.findBySold(false));
     }
 
     @Transactional(readOnly = true)
@@ -106,9 +243,136 @@ public class CarService {
         return car;
     }
 
+    /**
+     * Search by any combination of make, model and year; null parameters are ignored.
+     */
     @Transactional(readOnly = true)
     public List<Car> searchCars(String make, String model, Integer year) {
-        return carRepository.findByMakeIgnoreCaseAndModelIgnoreCaseAndYear(make, model, year);
+        List<InventoryQuery> criteria = new ArrayList<>();
+        if (make != null && !make.isBlank()) {
+            criteria.add(InventoryQuery.make(make));
+        }
+        if (model != null && !model.isBlank()) {
+            criteria.add(InventoryQuery.model(model));
+        }
+        if (year != null) {
+            criteria.add(InventoryQuery.year(year));
+        }
+        return searchInventory(InventoryQuery.allOf(criteria));
+    }
+
+    /**
+     * List cars matching a filter in the given order, one keyset page at a time. Cars with
+     * no value for the sort attribute are listed last, in id order.
+     *
+     * @param filter The criteria; unset fields match everything
+     * @param sort The attribute to sort on; ties are broken by id
+     * @param descending Whether to sort in descending order
+     * @param cursor The cursor from the previous page, or null for the first page
+     * @param size The requested page size
+     * @return The page, with a cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Car> filterCars(CarFilter filter, CarSort sort, boolean descending, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        String sortKey = sort.getAttribute() + (descending ? ".desc" : ".asc");
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Specification<Car> spec = CarSpecifications.matching(filter);
+        KeysetCursor.Position after = KeysetCursor.decode(cursor, sortKey);
+
+        List<Car> fetched = new ArrayList<>();
+        boolean pastValues = after != null && after.getValue() == null;
+        if (!pastValues) {
+            Comparable<?> value = after == null ? null : sort.parse(after.getValue());
+            Long lastId = after == null ? null : after.getLastId();
+            Specification<Car> seek = sort == CarSort.ID
+                    ? CarSpecifications.idAfter(lastId, descending)
+                    : CarSpecifications.valueAfter(sort.getAttribute(), value, lastId, descending);
+            fetched.addAll(carRepository.findAll(spec.and(seek),
+                    Sort.by(direction, sort.getAttribute()).and(Sort.by(direction, "id")), pageSize + 1));
+        }
+        if (sort != CarSort.ID && fetched.size() <= pageSize) {
+            // Ran out of cars with a sort value; continue with the ones without
+            Long lastId = pastValues ? after.getLastId() : null;
+            fetched.addAll(carRepository.findAll(
+                    spec.and(CarSpecifications.isNull(sort.getAttribute())).and(CarSpecifications.idAfter(lastId, descending)),
+                    Sort.by(direction, "id"), pageSize + 1 - fetched.size()));
+        }
+        return CursorPage.ofSorted(fetched, pageSize, car -> KeysetCursor.encode(sortKey, sort.format(car), car.getId()));
+    }
+
+    /**
+     * Answer an arbitrary attribute query from the in-memory inventory index and load the
+     * matching cars by id, a chunk of ids per query.
+     */
+    @Transactional(readOnly = true)
+    public List<Car> searchInventory(InventoryQuery query) {
+        return findCarsByIds(findInventoryIds(query));
+    }
+
+    /**
+     * Like {@link #searchInventory(InventoryQuery)}, one keyset page at a time in id order,
+     * so a broad query only loads the cars of the requested page.
+     *
+     * @param query The query
+     * @param cursor The cursor from the previous page, or null for the first page
+     * @param size The requested page size
+     * @return The page, with a cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Car> searchInventoryPage(InventoryQuery query, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        long lastId = KeysetCursor.decode(cursor);
+        List<Long> ids = findInventoryIds(query);
+
+        // Ids are sorted, so the page starts at the first id after the cursor
+        int from = Collections.binarySearch(ids, lastId + 1);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        List<Long> pageIds = ids.subList(from, Math.min(ids.size(), from + pageSize + 1));
+        return CursorPage.of(findCarsByIds(pageIds), pageSize, Car::getId);
+    }
+
+    /**
+     * Re-index cars written by other terminals sharing the database; see
+     * {@link InventoryIndex#reconcile(Map)}.
+     *
+     * @return The number of cars re-read from the database
+     */
+    @Transactional(readOnly = true)
+    public int reconcileInventoryIndex() {
+        if (!inventoryIndex.isLoaded()) {
+            return 0;
+        }
+        Map<Long, Long> versions = new HashMap<>();
+        ReplicaRoutingDataSource.runOnPrimary(() -> {
+            try (Stream<Object[]> rows = carRepository.streamIdsAndVersions()) {
+                rows.forEach(row -> versions.put((Long) row[0], (Long) row[1]));
+            }
+        });
+        List<Long> stale = inventoryIndex.reconcile(versions);
+        for (Car car : findCarsByIds(stale)) {
+            inventoryIndex.refresh(car.getId(), InventoryIndex.CarTerms.of(car));
+        }
+        return stale.size();
+    }
+
+    // Load cars by id in id order, a bounded IN list at a time
+    private List<Car> findCarsByIds(List<Long> ids) {
+        List<Car> cars = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_FETCH_CHUNK) {
+            cars.addAll(carRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + ID_FETCH_CHUNK))));
+        }
+        cars.sort(Comparator.comparing(Car::getId));
+        return cars;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findInventoryIds(InventoryQuery query) {
+        inventoryIndex.loadIfNeeded(consumer -> ReplicaRoutingDataSource.runOnPrimary(() ->
+                EntityStreams.forEach(carRepository.streamAllOrderById(), entityManager, consumer)));
+        return inventoryIndex.search(query);
     }
 
     @Transactional(readOnly = true)
@@ -1,31 +1,96 @@
 package com.cardealership.managementsystem.service;
 
+import com.cardealership.managementsystem.config.CacheConfig;
+import com.cardealership.managementsystem.config.ReplicaRoutingDataSource;
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.CustomerRanking;
+import com.cardealership.managementsystem.dto.CustomerSuggestion;
+import com.cardealership.managementsystem.dto.KeysetCursor;
+import com.cardealership.managementsystem.event.ChangeType;
+import com.cardealership.managementsystem.event.CustomerChanged;
+import com.cardealership.managementsystem.event.SaleChanged;
 import com.cardealership.managementsystem.exception.CustomerNotFoundException;
 import com.cardealership.managementsystem.model.Customer;
 import com.cardealership.managementsystem.repository.CustomerRepository;
+import com.cardealership.managementsystem.search.CustomerSearchIndex;
+import com.cardealership.managementsystem.search.Leaderboard;
+import com.cardealership.managementsystem.search.SalesLeaderboards;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class CustomerService {
 
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final CustomerRepository customerRepository;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final SalesLeaderboards salesLeaderboards;
+    private final SalesRollupService salesRollupService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, DashboardMetricsService dashboardMetricsService,
+                           ApplicationEventPublisher eventPublisher, CustomerSearchIndex customerSearchIndex,
+                           SalesLeaderboards salesLeaderboards, SalesRollupService salesRollupService) {
         this.customerRepository = customerRepository;
+        this.dashboardMetricsService = dashboardMetricsService;
+        this.eventPublisher = eventPublisher;
+        this.customerSearchIndex = customerSearchIndex;
+        this.salesLeaderboards = salesLeaderboards;
+        this.salesRollupService = salesRollupService;
     }
 
+    @Cacheable(CacheConfig.CUSTOMERS)
     @Transactional(readOnly = true)
     public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+        return ReplicaRoutingDataSource.readFromPrimary(customerRepository::findAll);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Customer> getCustomersPage(String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<Customer> fetched = customerRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursor.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, Customer::getId);
+    }
+
+    /**
+     * Offset page of customers in id order, for random access where no keyset cursor is known.
+     */
+    @Transactional(readOnly = true)
+    public List<Customer> getCustomersAtPage(int pageNumber, int size) {
+        return customerRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(pageNumber, size));
+    }
+
+    @Transactional(readOnly = true)
+    public long countCustomers() {
+        return customerRepository.count();
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(Consumer<Customer> consumer) {
+        EntityStreams.forEach(customerRepository.streamAllOrderById(), entityManager, consumer);
     }
 
     @Transactional(readOnly = true)
@@ -34,11 +99,19 @@ public class CustomerService {
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with id: " + id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMERS, allEntries = true)
     @Transactional
     public Customer saveCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        boolean created = customer.getId() == null;
+        if (created) {
+            dashboardMetricsService.adjustCustomers(1);
+        }
+        Customer savedCustomer = customerRepository.save(customer);
+        eventPublisher.publishEvent(new CustomerChanged(created ? ChangeType.CREATED : ChangeType.UPDATED, savedCustomer));
+        return savedCustomer;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMERS, allEntries = true)
     @Transactional
     public Customer updateCustomer(Long id, Customer customerDetails) {
         Customer customer = getCustomerById(id);
@@ -49,13 +122,26 @@ public class CustomerService {
         customer.setPhone(customerDetails.getPhone());
         customer.setAddress(customerDetails.getAddress());
 
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        eventPublisher.publishEvent(new CustomerChanged(ChangeType.UPDATED, savedCustomer));
+        return savedCustomer;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMERS, allEntries = true)
     @Transactional
     public void deleteCustomer(Long id) {
         Customer customer = getCustomerById(id);
+        if (customer.getPurchases().isEmpty()) {
+            dashboardMetricsService.adjustCustomers(-1);
+        } else {
+            // Purchases are removed by cascade, so recount everything
+            dashboardMetricsService.invalidate();
+            salesRollupService.removeSales(customer.getPurchases());
+        }
+        // Purchases go with the customer (cascade), so announce them as deleted too
+        customer.getPurchases().forEach(sale -> eventPublisher.publishEvent(new SaleChanged(ChangeType.DELETED, sale)));
         customerRepository.delete(customer);
+        eventPublisher.publishEvent(new CustomerChanged(ChangeType.DELETED, customer));
     }
 
     @Transactional(readOnly = true)
@@ -67,8 +153,49 @@ public class CustomerService {
         } else if (lastName != null) {
             return customerRepository.findByLastNameIgnoreCase(lastName);
         } else {
-            return customerRepository.findAll();
+            // No name to match; listing everyone is what the paged endpoints are for
+            return List.of();
+        }
+    }
+
+    /**
+     * Typeahead suggestions for a partial name, email or phone number, answered from the
+     * in-memory customer index.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerSuggestion> suggestCustomers(String query, Integer limit) {
+        customerSearchIndex.loadIfNeeded(consumer -> ReplicaRoutingDataSource.runOnPrimary(() ->
+                EntityStreams.forEach(customerRepository.streamAllOrderById(), entityManager, consumer)));
+        int size = limit == null || limit < 1 ? DEFAULT_SUGGESTIONS : Math.min(limit, MAX_SUGGESTIONS);
+        return customerSearchIndex.suggest(query, size);
+    }
+
+    /**
+     * Re-index customers written by other terminals sharing the database; see
+     * {@link CustomerSearchIndex#reconcile}.
+     *
+     * @return The number of customers added, re-indexed or dropped
+     */
+    @Transactional(readOnly = true)
+    public int reconcileSearchIndex() {
+        if (!customerSearchIndex.isLoaded()) {
+            return 0;
         }
+        return customerSearchIndex.reconcile(consumer -> ReplicaRoutingDataSource.runOnPrimary(() ->
+                EntityStreams.forEach(customerRepository.streamAllOrderById(), entityManager, consumer)));
+    }
+
+    /**
+     * Load customers by id, in the order given; ids that no longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<Customer> getCustomersByIds(List<Long> ids) {
+        Map<Long, Customer> byId = customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, customer -> customer));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -102,7 +229,8 @@ public class CustomerService {
     @Transactional(readOnly = true)
     public Map<Customer, Long> findTopCustomersByPurchaseCount() {
         List<Object[]> results = customerRepository.findTopCustomersByPurchaseCount();
-        Map<Customer, Long> topCustomers = new HashMap<>();
+        // Keep the query's ranking order
+        Map<Customer, Long> topCustomers = new LinkedHashMap<>();
 
         for (Object[] result : results) {
             Customer customer = (Customer) result[0];
@@ -112,4 +240,28 @@ public class CustomerService {
 
         return topCustomers;
     }
+
+    /**
+     * The top customers by number of purchases, then amount spent.
+     *
+     * @param limit How many to return (default 10, at most 100)
+     * @param startDate Count only sales on or after this date; may be null
+     * @param endDate Count only sales on or before this date; may be null
+     * @return The ranking, best first
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerRanking> findTopCustomers(Integer limit, LocalDate startDate, LocalDate endDate) {
+        int k = Rankings.limit(limit);
+        if (!Rankings.allTime(startDate, endDate)) {
+            return customerRepository.findTopCustomers(Rankings.start(startDate), Rankings.end(endDate),
+                    PageRequest.of(0, k));
+        }
+
+        // All-time ranking comes from the leaderboard; only the K customers are loaded
+        Leaderboard leaderboard = salesLeaderboards.customers();
+        leaderboard.loadIfNeeded(() -> ReplicaRoutingDataSource.readFromPrimary(customerRepository::findPurchaseTotals));
+        return Rankings.join(leaderboard.top(k), customerRepository::findAllById, Customer::getId,
+                (customer, total) -> new CustomerRanking(customer.getId(), customer.getFirstName(),
+                        customer.getLastName(), customer.getEmail(), total.getCount(), total.getAmount()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.cardealership.managementsystem.service;
+
+import com.cardealership.managementsystem.config.ReplicaRoutingDataSource;
+import com.cardealership.managementsystem.dto.DashboardMetrics;
+import com.cardealership.managementsystem.repository.CarRepository;
+import com.cardealership.managementsystem.repository.CustomerRepository;
+import com.cardealership.managementsystem.repository.SaleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an in-memory snapshot of the dashboard counters. The snapshot is loaded once with
+ * COUNT/SUM queries and then adjusted incrementally by the services on every committed
+ * save or delete, so opening the dashboard never touches the underlying tables.
+ *
+ * <p>A reload must not count a commit whose delta is still to be applied, or the delta
+ * would count it twice. Transactions carrying updates are counted from just before they
+ * commit until their deltas are applied; a reload waits until none are in that window,
+ * and commits that start while it runs wait for it, so each commit lands either in the
+ * reloaded counts or in a delta, never both.</p>
+ *
+ * <p>Other terminals' writes reach the counters through a reload every
+ * {@code app.dashboard.reload-seconds} (default 60). A reload waits at most
+ * {@code MAX_COMMIT_WAIT_MILLIS} for commits in flight; after that a still-current
+ * snapshot is served as it is, and a snapshot that must be replaced is reloaded anyway
+ * and reloaded again on the next read.</p>
+ */
+@Service
+public class DashboardMetricsService {
+
+    private static final long MAX_COMMIT_WAIT_MILLIS = 2000;
+
+    private final CarRepository carRepository;
+    private final CustomerRepository customerRepository;
+    private final SaleRepository saleRepository;
+
+    private long availableCars;
+    private long totalCustomers;
+    private long totalSales;
+    private long todaySales;
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+
+    // Day the snapshot was loaded for; null when it must be reloaded
+    private LocalDate snapshotDate;
+
+    // System.nanoTime() after which the snapshot is reloaded to pick up other terminals' writes
+    private long reloadDueAt;
+
+    // Transactions with counter updates that are committing and not yet applied
+    private int committing;
+
+    private final long reloadIntervalNanos;
+
+    @Autowired
+    public DashboardMetricsService(CarRepository carRepository, CustomerRepository customerRepository,
+                                   SaleRepository saleRepository,
+                                   @Value("${app.dashboard.reload-seconds:60}") long reloadSeconds) {
+        this.carRepository = carRepository;
+        this.customerRepository = customerRepository;
+        this.saleRepository = saleRepository;
+        this.reloadIntervalNanos = TimeUnit.SECONDS.toNanos(reloadSeconds);
+    }
+
+    @Transactional(readOnly = true)
+    public synchronized DashboardMetrics getMetrics() {
+        long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_COMMIT_WAIT_MILLIS);
+        while (needsReload()) {
+            if (committing == 0) {
+                // The snapshot is adjusted by this terminal's commits, so it must not start out behind them
+                ReplicaRoutingDataSource.runOnPrimary(this::reload);
+                break;
+            }
+            long remaining = waitUntil - System.nanoTime();
+            if (remaining > 0 && awaitCommits(remaining)) {
+                // An invalidating commit may have finished meanwhile; check again
+                continue;
+            }
+            // Commits keep coming: don't starve the dashboard
+            if (!LocalDate.now().equals(snapshotDate)) {
+                ReplicaRoutingDataSource.runOnPrimary(this::reload);
+                // It may have counted a commit whose delta is still pending
+                reloadDueAt = System.nanoTime();
+            }
+            break;
+        }
+        return new DashboardMetrics(availableCars, totalCustomers, totalSales, todaySales, totalRevenue);
+    }
+
+    /**
+     * Drop the snapshot so the next read reloads it from the database.
+     * Used when a change cascades in ways that cannot be tracked incrementally.
+     */
+    public void invalidate() {
+        afterCommit(() -> snapshotDate = null);
+    }
+
+    public void adjustAvailableCars(long delta) {
+        if (delta != 0) {
+            afterCommit(() -> availableCars += delta);
+        }
+    }
+
+    /**
+     * Translate a change of a car's sold flag into an available-car delta.
+     *
+     * @param wasSold The sold flag before the change, null if the car did not exist
+     * @param isSold The sold flag after the change, null if the car was deleted
+     */
+    public void carAvailabilityChanged(Boolean wasSold, Boolean isSold) {
+        adjustAvailableCars(availability(isSold) - availability(wasSold));
+    }
+
+    public void adjustCustomers(long delta) {
+        afterCommit(() -> totalCustomers += delta);
+    }
+
+    /**
+     * Add (sign = 1) or remove (sign = -1) a sale from the counters.
+     *
+     * @param saleDate The sale date
+     * @param totalPrice The sale total
+     * @param sign 1 for a new sale, -1 for a removed one
+     */
+    public void recordSale(LocalDate saleDate, BigDecimal totalPrice, int sign) {
+        afterCommit(() -> {
+            totalSales += sign;
+            if (saleDate != null && saleDate.equals(snapshotDate)) {
+                todaySales += sign;
+            }
+            if (totalPrice != null) {
+                totalRevenue = totalRevenue.add(totalPrice.multiply(BigDecimal.valueOf(sign)));
+            }
+        });
+    }
+
+    private void reload() {
+        LocalDate today = LocalDate.now();
+        availableCars = carRepository.countBySold(false);
+        totalCustomers = customerRepository.count();
+        totalSales = saleRepository.count();
+        todaySales = saleRepository.countBySaleDate(today);
+        totalRevenue = saleRepository.sumTotalPrice();
+        snapshotDate = today;
+        reloadDueAt = System.nanoTime() + reloadIntervalNanos;
+    }
+
+    private boolean needsReload() {
+        return !LocalDate.now().equals(snapshotDate) || System.nanoTime() - reloadDueAt >= 0;
+    }
+
+    /**
+     * Wait, releasing the lock, until a committing transaction has applied its updates or
+     * the time runs out.
+     *
+     * @return false if interrupted, in which case the caller stops waiting
+     */
+    private boolean awaitCommits(long timeoutNanos) {
+        try {
+            TimeUnit.NANOSECONDS.timedWait(this, timeoutNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long availability(Boolean sold) {
+        return sold != null && !sold ? 1 : 0;
+    }
+
+    // Apply a counter update once the surrounding transaction commits, or right away outside one
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean counted;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Blocks while a reload runs, so this commit comes after its queries
+                    commitStarting();
+                    counted = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    applyUpdate(update);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (counted) {
+                        commitFinished();
+                    }
+                }
+            });
+        } else {
+            applyUpdate(update);
+        }
+    }
+
+    private synchronized void applyUpdate(Runnable update) {
+        update.run();
+    }
+
+    private synchronized void commitStarting() {
+        committing++;
+    }
+
+    private synchronized void commitFinished() {
+        committing--;
+        notifyAll();
+    }
+}
\ No newline at end of file
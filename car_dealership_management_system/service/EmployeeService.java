@@ -1,31 +1,68 @@
 package com.cardealership.managementsystem.service;
 
+import com.cardealership.managementsystem.config.CacheConfig;
+import com.cardealership.managementsystem.config.ReplicaRoutingDataSource;
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.KeysetCursor;
+import com.cardealership.managementsystem.dto.SalespersonRanking;
+import com.cardealership.managementsystem.event.ChangeType;
+import com.cardealership.managementsystem.event.SaleChanged;
 import com.cardealership.managementsystem.exception.EmployeeNotFoundException;
 import com.cardealership.managementsystem.model.Employee;
 import com.cardealership.managementsystem.repository.EmployeeRepository;
+import com.cardealership.managementsystem.search.Leaderboard;
+import com.cardealership.managementsystem.search.SalesLeaderboards;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final SalesLeaderboards salesLeaderboards;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, DashboardMetricsService dashboardMetricsService,
+                           SalesLeaderboards salesLeaderboards, SalesRollupService salesRollupService,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.dashboardMetricsService = dashboardMetricsService;
+        this.salesLeaderboards = salesLeaderboards;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public CursorPage<Employee> getEmployeesPage(String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<Employee> fetched = employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursor.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, Employee::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        EntityStreams.forEach(employeeRepository.streamAllOrderById(), entityManager, consumer);
     }
 
     @Transactional(readOnly = true)
@@ -34,11 +71,13 @@ public class EmployeeService {
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_POSITION, allEntries = true)
     @Transactional
     public Employee saveEmployee(Employee employee) {
         return employeeRepository.save(employee);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_POSITION, allEntries = true)
     @Transactional
     public Employee updateEmployee(Long id, Employee employeeDetails) {
         Employee employee = getEmployeeById(id);
@@ -54,9 +93,17 @@ public class EmployeeService {
         return employeeRepository.save(employee);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_POSITION, allEntries = true)
     @Transactional
     public void deleteEmployee(Long id) {
         Employee employee = getEmployeeById(id);
+        if (!employee.getSales().isEmpty()) {
+            // Sales are removed by cascade, so recount everything
+            dashboardMetricsService.invalidate();
+            salesRollupService.removeSales(employee.getSales());
+        }
+        // Sales go with the salesperson (cascade), so announce them as deleted too
+        employee.getSales().forEach(sale -> eventPublisher.publishEvent(new SaleChanged(ChangeType.DELETED, sale)));
         employeeRepository.delete(employee);
     }
 
@@ -82,9 +129,11 @@ public class EmployeeService {
         return employee;
     }
 
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_POSITION, key = "#position.toLowerCase()",
+            condition = "#position != null")
     @Transactional(readOnly = true)
     public List<Employee> findByPosition(String position) {
-        return employeeRepository.findByPositionIgnoreCase(position);
+        return ReplicaRoutingDataSource.readFromPrimary(() -> employeeRepository.findByPositionIgnoreCase(position));
     }
 
     @Transactional(readOnly = true)
@@ -100,7 +149,8 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public Map<Employee, BigDecimal> findTopSalespeopleByTotalSales() {
         List<Object[]> results = employeeRepository.findTopSalespeopleByTotalSales();
-        Map<Employee, BigDecimal> topSalespeople = new HashMap<>();
+        // Keep the query's ranking order
+        Map<Employee, BigDecimal> topSalespeople = new LinkedHashMap<>();
 
         for (Object[] result : results) {
             Employee employee = (Employee) result[0];
@@ -111,6 +161,30 @@ public class EmployeeService {
         return topSalespeople;
     }
 
+    /**
+     * The top salespeople by value sold, then number of sales.
+     *
+     * @param limit How many to return (default 10, at most 100)
+     * @param startDate Count only sales on or after this date; may be null
+     * @param endDate Count only sales on or before this date; may be null
+     * @return The ranking, best first
+     */
+    @Transactional(readOnly = true)
+    public List<SalespersonRanking> findTopSalespeople(Integer limit, LocalDate startDate, LocalDate endDate) {
+        int k = Rankings.limit(limit);
+        if (!Rankings.allTime(startDate, endDate)) {
+            return employeeRepository.findTopSalespeople(Rankings.start(startDate), Rankings.end(endDate),
+                    PageRequest.of(0, k));
+        }
+
+        // All-time ranking comes from the leaderboard; only the K employees are loaded
+        Leaderboard leaderboard = salesLeaderboards.salespeople();
+        leaderboard.loadIfNeeded(() -> ReplicaRoutingDataSource.readFromPrimary(employeeRepository::findSalesTotals));
+        return Rankings.join(leaderboard.top(k), employeeRepository::findAllById, Employee::getId,
+                (employee, total) -> new SalespersonRanking(employee.getId(), employee.getFirstName(),
+                        employee.getLastName(), total.getCount(), total.getAmount()));
+    }
+
     @Transactional(readOnly = true)
     public List<Employee> findSalespeopleWithNoSales() {
         return employeeRepository.findSalespeopleWithNoSales();
@@ -0,0 +1,39 @@
+package com.cardealership.managementsystem.service;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Helper for consuming repository streams with a bounded persistence context.
+ */
+final class EntityStreams {
+
+    // Entities are released from the persistence context every this many rows
+    private static final int CLEAR_INTERVAL = 500;
+
+    private EntityStreams() {
+    }
+
+    /**
+     * Feed every element of a repository stream to a consumer, periodically clearing
+     * the persistence context so memory stays flat regardless of table size.
+     * Must be called inside a read-only transaction.
+     *
+     * @param stream The repository stream, closed when done
+     * @param entityManager The entity manager that owns the stream
+     * @param consumer The consumer receiving each entity
+     */
+    static <T> void forEach(Stream<T> stream, EntityManager entityManager, Consumer<T> consumer) {
+        try (stream) {
+            int[] seen = {0};
+            stream.forEach(entity -> {
+                consumer.accept(entity);
+                if (++seen[0] % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+}
\ No newline at end of file
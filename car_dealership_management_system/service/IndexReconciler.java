@@ -0,0 +1,74 @@
+package com.cardealership.managementsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Periodically brings in-memory state in line with the database, so changes made on other
+ * terminals show up on this one. Each index is reconciled once it has been loaded, and
+ * each check runs on its own interval (0 disables):
+ * <ul>
+ *   <li>inventory index: {@code app.search.inventory-reconcile-seconds} (default 60)</li>
+ *   <li>customer typeahead: {@code app.search.customer-reconcile-seconds} (default 60)</li>
+ *   <li>cars ETag version: {@code app.etag.cars-check-seconds} (default 30)</li>
+ * </ul>
+ *
+ * <p>Nothing injects it, so it is created eagerly even when the context is started with
+ * lazy initialization; the services are still only created on the first run.</p>
+ */
+@Component
+@Lazy(false)
+public class IndexReconciler {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "index-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public IndexReconciler(@Lazy CarService carService, @Lazy CustomerService customerService,
+                           @Value("${app.search.inventory-reconcile-seconds:60}") long inventorySeconds,
+                           @Value("${app.search.customer-reconcile-seconds:60}") long customerSeconds,
+                           @Value("${app.etag.cars-check-seconds:30}") long carsVersionSeconds) {
+        schedule("Inventory index", "cars", carService::reconcileInventoryIndex, inventorySeconds);
+        schedule("Customer index", "customers", customerService::reconcileSearchIndex, customerSeconds);
+        schedule("Cars version", () -> carService.checkCarsTableVersion(), carsVersionSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(String index, String rows, IntSupplier reconcile, long intervalSeconds) {
+        schedule(index, () -> {
+            int refreshed = reconcile.getAsInt();
+            if (refreshed > 0) {
+                System.out.println(index + ": re-read " + refreshed + " " + rows + " changed elsewhere");
+            }
+        }, intervalSeconds);
+    }
+
+    private void schedule(String name, Runnable check, long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(() -> {
+            // Nothing may escape, or the scheduler cancels every later run
+            try {
+                check.run();
+            } catch (RuntimeException e) {
+                System.err.println(name + " reconciliation failed: " + e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.cardealership.managementsystem.service;
+
+import com.cardealership.managementsystem.dto.SalesTotal;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Shared parameter handling for the top-K ranking queries.
+ */
+final class Rankings {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+
+    // Stand-ins for an open end of the date window
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private Rankings() {
+    }
+
+    static int limit(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    static boolean allTime(LocalDate startDate, LocalDate endDate) {
+        return startDate == null && endDate == null;
+    }
+
+    static LocalDate start(LocalDate startDate) {
+        return startDate == null ? EARLIEST : startDate;
+    }
+
+    static LocalDate end(LocalDate endDate) {
+        return endDate == null ? LATEST : endDate;
+    }
+
+    /**
+     * Pair leaderboard totals with their entities, loaded in one query, keeping rank order.
+     * Totals whose entity no longer exists are dropped.
+     */
+    static <E, R> List<R> join(List<SalesTotal> totals, Function<List<Long>, List<E>> loader,
+                               Function<E, Long> idExtractor, RankingMapper<E, R> mapper) {
+        Map<Long, E> byId = loader.apply(totals.stream().map(SalesTotal::getId).toList()).stream()
+                .collect(Collectors.toMap(idExtractor, entity -> entity));
+        return totals.stream()
+                .filter(total -> byId.containsKey(total.getId()))
+                .map(total -> mapper.map(byId.get(total.getId()), total))
+                .toList();
+    }
+
+    @FunctionalInterface
+    interface RankingMapper<E, R> {
+        R map(E entity, SalesTotal total);
+    }
+}
\ No newline at end of file
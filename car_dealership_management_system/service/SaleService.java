@@ -1,5 +1,15 @@
 package com.cardealership.managementsystem.service;
 
+import com.cardealership.managementsystem.config.CacheConfig;
+import com.cardealership.managementsystem.dto.BatchSaleResult;
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.KeysetCursor;
+import com.cardealership.managementsystem.dto.SaleRequest;
+import com.cardealership.managementsystem.dto.SaleSummary;
+import com.cardealership.managementsystem.event.CarChanged;
+import com.cardealership.managementsystem.event.ChangeType;
+import com.cardealership.managementsystem.event.SaleChanged;
+import com.cardealership.managementsystem.event.SaleProcessed;
 import com.cardealership.managementsystem.exception.CarNotFoundException;
 import com.cardealership.managementsystem.exception.CustomerNotFoundException;
 import com.cardealership.managementsystem.exception.EmployeeNotFoundException;
@@ -13,37 +23,120 @@ import com.cardealership.managementsystem.repository.CarRepository;
 import com.cardealership.managementsystem.repository.CustomerRepository;
 import com.cardealership.managementsystem.repository.EmployeeRepository;
 import com.cardealership.managementsystem.repository.SaleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class SaleService {
 
+    // Largest number of sales accepted by one processSales call
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final SaleRepository saleRepository;
     private final CarRepository carRepository;
     private final CustomerRepository customerRepository;
     private final EmployeeRepository employeeRepository;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final SalesRollupService salesRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Lock the car row (SELECT ... FOR UPDATE) while selling it; when false only @Version checks apply
+    @Value("${app.sales.pessimistic-locking:true}")
+    private boolean pessimisticLocking;
+
+    // Attempts made by processSale before giving up on a contended car
+    @Value("${app.sales.max-attempts:3}")
+    private int maxAttempts;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     public SaleService(SaleRepository saleRepository, CarRepository carRepository,
-                       CustomerRepository customerRepository, EmployeeRepository employeeRepository) {
+                       CustomerRepository customerRepository, EmployeeRepository employeeRepository,
+                       DashboardMetricsService dashboardMetricsService, SalesRollupService salesRollupService,
+                       PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
         this.saleRepository = saleRepository;
         this.carRepository = carRepository;
         this.customerRepository = customerRepository;
         this.employeeRepository = employeeRepository;
+        this.dashboardMetricsService = dashboardMetricsService;
+        this.salesRollupService = salesRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+
+    @Transactional(readOnly = true)
+    public CursorPage<Sale> getSalesPage(String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<Sale> fetched = saleRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursor.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, Sale::getId);
+    }
+
+    /**
+     * Offset page of sales in id order, for random access where no keyset cursor is known.
+     */
+    @Transactional(readOnly = true)
+    public List<Sale> getSalesAtPage(int pageNumber, int size) {
+        return saleRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(pageNumber, size));
+    }
+
+    @Transactional(readOnly = true)
+    public long countSales() {
+        return saleRepository.count();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<SaleSummary> getSaleSummariesPage(String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<SaleSummary> fetched = saleRepository.findSummariesByIdGreaterThan(
+                KeysetCursor.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, SaleSummary::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SaleSummary> getSaleSummariesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return saleRepository.findSummariesBySaleDateBetween(startDate, endDate);
     }
 
     @Transactional(readOnly = true)
-    public List<Sale> getAllSales() {
-        return saleRepository.findAll();
+    public List<SaleSummary> getSaleSummariesByCustomer(Long customerId) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new CustomerNotFoundException("Customer not found with id: " + customerId);
+        }
+        return saleRepository.findSummariesByCustomerId(customerId);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllSales(Consumer<Sale> consumer) {
+        EntityStreams.forEach(saleRepository.streamAllOrderById(), entityManager, consumer);
     }
 
     @Transactional(readOnly = true)
@@ -54,12 +147,25 @@ public class SaleService {
 
     @Transactional
     public Sale saveSale(Sale sale) {
-        return saleRepository.save(sale);
+        boolean created = sale.getId() == null;
+        if (created) {
+            dashboardMetricsService.recordSale(sale.getSaleDate(), sale.getTotalPrice(), 1);
+        } else {
+            dashboardMetricsService.invalidate();
+            saleRepository.findById(sale.getId()).ifPresent(existing ->
+                    salesRollupService.removeSale(existing.getSaleDate(), existing.getTotalPrice()));
+        }
+        salesRollupService.addSale(sale.getSaleDate(), sale.getTotalPrice());
+        Sale savedSale = saleRepository.save(sale);
+        eventPublisher.publishEvent(new SaleChanged(created ? ChangeType.CREATED : ChangeType.UPDATED, savedSale));
+        return savedSale;
     }
 
     @Transactional
     public Sale updateSale(Long id, Sale saleDetails) {
         Sale sale = getSaleById(id);
+        dashboardMetricsService.recordSale(sale.getSaleDate(), sale.getTotalPrice(), -1);
+        salesRollupService.removeSale(sale.getSaleDate(), sale.getTotalPrice());
 
         sale.setCar(saleDetails.getCar());
         sale.setCustomer(saleDetails.getCustomer());
@@ -69,10 +175,18 @@ public class SaleService {
         sale.setTax(saleDetails.getTax());
         sale.setPaymentMethod(saleDetails.getPaymentMethod());
         sale.setSaleStatus(saleDetails.getSaleStatus());
+        dashboardMetricsService.recordSale(sale.getSaleDate(), sale.getTotalPrice(), 1);
+        salesRollupService.addSale(sale.getSaleDate(), sale.getTotalPrice());
 
-        return saleRepository.save(sale);
+        Sale savedSale = saleRepository.save(sale);
+        eventPublisher.publishEvent(new SaleChanged(ChangeType.UPDATED, savedSale));
+        return savedSale;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_CARS, allEntries = true)
+    })
     @Transactional
     public void deleteSale(Long id) {
         Sale sale = getSaleById(id);
@@ -82,16 +196,66 @@ public class SaleService {
             Car car = sale.getCar();
             car.setSold(false);
             carRepository.save(car);
+            dashboardMetricsService.carAvailabilityChanged(true, false);
+            eventPublisher.publishEvent(new CarChanged(ChangeType.UPDATED, car));
         }
 
+        dashboardMetricsService.recordSale(sale.getSaleDate(), sale.getTotalPrice(), -1);
+        salesRollupService.removeSale(sale.getSaleDate(), sale.getTotalPrice());
         saleRepository.delete(sale);
+        eventPublisher.publishEvent(new SaleChanged(ChangeType.DELETED, sale));
     }
 
-    @Transactional
+    /**
+     * Sell a car. Each attempt runs in its own transaction; when two salespeople race for
+     * the same car, the loser's attempt fails on the row lock or version check and is
+     * retried, at which point it sees the car as sold.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, key = "#carId"),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_CARS, allEntries = true)
+    })
     public Sale processSale(Long carId, Long customerId, Long salespersonId,
                             BigDecimal salePrice, BigDecimal tax, String paymentMethod) {
+        return executeWithRetry(() -> doProcessSale(carId, customerId, salespersonId, salePrice, tax, paymentMethod));
+    }
+
+    /**
+     * Process many sales in one transaction. Cars, customers and salespeople are each
+     * loaded with a single query, and the inserts and car updates are sent as JDBC batches.
+     * Items that fail validation are rejected individually; the rest are committed.
+     *
+     * @param requests The sales to process
+     * @return One result per request, in request order
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_CARS, allEntries = true)
+    })
+    public List<BatchSaleResult> processSales(List<SaleRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new SaleProcessingException("A batch may contain at most " + MAX_BATCH_SIZE + " sales");
+        }
+        return executeWithRetry(() -> doProcessSales(requests));
+    }
+
+    // Run an operation in its own transaction, retrying it when it loses a lock or version race
+    private <T> T executeWithRetry(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> operation.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new SaleProcessingException("Car is being sold concurrently, please retry", e);
+                }
+            }
+        }
+    }
+
+    private Sale doProcessSale(Long carId, Long customerId, Long salespersonId,
+                               BigDecimal salePrice, BigDecimal tax, String paymentMethod) {
         // Validate car
-        Car car = carRepository.findById(carId)
+        Car car = (pessimisticLocking ? carRepository.findByIdForUpdate(carId) : carRepository.findById(carId))
                 .orElseThrow(() -> new CarNotFoundException("Car not found with id: " + carId));
 
         // Check if car is already sold
@@ -118,9 +282,101 @@ public class SaleService {
         // Update car status
         car.setSold(true);
         carRepository.save(car);
+        dashboardMetricsService.carAvailabilityChanged(false, true);
+        dashboardMetricsService.recordSale(sale.getSaleDate(), sale.getTotalPrice(), 1);
+        salesRollupService.addSale(sale.getSaleDate(), sale.getTotalPrice());
+
+        // Save and flush so version conflicts surface inside the retry loop
+        Sale savedSale = saleRepository.saveAndFlush(sale);
+
+        // Delivered to @TransactionalEventListeners only if this attempt commits
+        eventPublisher.publishEvent(new CarChanged(ChangeType.UPDATED, car));
+        eventPublisher.publishEvent(new SaleProcessed(savedSale));
+        return savedSale;
+    }
+
+    private List<BatchSaleResult> doProcessSales(List<SaleRequest> requests) {
+        Set<Long> carIds = collectIds(requests, SaleRequest::getCarId);
+        List<Car> lockedCars = pessimisticLocking
+                ? carRepository.findAllByIdForUpdate(carIds)
+                : carRepository.findAllById(carIds);
+        Map<Long, Car> cars = lockedCars.stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+        Map<Long, Customer> customers = customerRepository.findAllById(collectIds(requests, SaleRequest::getCustomerId))
+                .stream().collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, Employee> salespeople = employeeRepository.findAllById(collectIds(requests, SaleRequest::getSalespersonId))
+                .stream().collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        BatchSaleResult[] results = new BatchSaleResult[requests.size()];
+        List<Sale> sales = new ArrayList<>();
+        List<Integer> saleIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            SaleRequest request = requests.get(i);
+            Car car = cars.get(request.getCarId());
+            Customer customer = customers.get(request.getCustomerId());
+            Employee salesperson = salespeople.get(request.getSalespersonId());
+
+            String error = validateSaleRequest(request, car, customer, salesperson);
+            if (error != null) {
+                results[i] = BatchSaleResult.rejected(i, error);
+                continue;
+            }
+
+            Sale sale = new Sale(car, customer, salesperson, request.getSalePrice(), request.getTax(),
+                    request.getPaymentMethod());
+
+            // Managed car is flushed with the batch; marking it sold also rejects duplicates later in the batch
+            car.setSold(true);
+            dashboardMetricsService.carAvailabilityChanged(false, true);
+            dashboardMetricsService.recordSale(sale.getSaleDate(), sale.getTotalPrice(), 1);
+
+            sales.add(sale);
+            saleIndexes.add(i);
+        }
+
+        salesRollupService.addSales(sales);
+        saleRepository.saveAll(sales);
+        saleRepository.flush();
+
+        for (int i = 0; i < sales.size(); i++) {
+            int index = saleIndexes.get(i);
+            Sale sale = sales.get(i);
+            results[index] = BatchSaleResult.processed(index, sale.getId());
+            eventPublisher.publishEvent(new CarChanged(ChangeType.UPDATED, sale.getCar()));
+            eventPublisher.publishEvent(new SaleProcessed(sale));
+        }
+
+        return List.of(results);
+    }
 
-        // Save and return the sale
-        return saleRepository.save(sale);
+    private String validateSaleRequest(SaleRequest request, Car car, Customer customer, Employee salesperson) {
+        if (car == null) {
+            return "Car not found with id: " + request.getCarId();
+        }
+        if (car.getSold()) {
+            return "Car is already sold";
+        }
+        if (customer == null) {
+            return "Customer not found with id: " + request.getCustomerId();
+        }
+        if (salesperson == null) {
+            return "Employee not found with id: " + request.getSalespersonId();
+        }
+        if (!"Salesperson".equalsIgnoreCase(salesperson.getPosition())) {
+            return "Employee is not a salesperson";
+        }
+        if (request.getSalePrice() == null || request.getTax() == null) {
+            return "Sale price and tax are required";
+        }
+        return null;
+    }
+
+    private static Set<Long> collectIds(List<SaleRequest> requests, Function<SaleRequest, Long> idExtractor) {
+        return requests.stream()
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
     @Transactional(readOnly = true)
@@ -177,24 +433,12 @@ public class SaleService {
 
     @Transactional(readOnly = true)
     public Map<String, Object> getMonthlySalesTotals() {
-        List<Object[]> monthlySalesTotals = saleRepository.findMonthlySalesTotals();
-        Map<String, Object> results = new HashMap<>();
-
-        for (Object[] result : monthlySalesTotals) {
-            Integer year = (Integer) result[0];
-            Integer month = (Integer) result[1];
-            BigDecimal total = (BigDecimal) result[2];
-            Long count = (Long) result[3];
-
-            String monthKey = year + "-" + (month < 10 ? "0" + month : month);
-            Map<String, Object> monthData = new HashMap<>();
-            monthData.put("total", total);
-            monthData.put("count", count);
-
-            results.put(monthKey, monthData);
-        }
+        return salesRollupService.getMonthlySalesTotals();
+    }
 
-        return results;
+    @Transactional
+    public int rebuildMonthlySalesTotals() {
+        return salesRollupService.rebuild();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,31 @@
+package com.cardealership.managementsystem.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the monthly sales rollup at startup when the application is launched
+ * with {@code --rebuild-sales-rollup}.
+ */
+@Component
+public class SalesRollupRebuildRunner implements ApplicationRunner {
+
+    private static final String REBUILD_OPTION = "rebuild-sales-rollup";
+
+    private final SalesRollupService salesRollupService;
+
+    @Autowired
+    public SalesRollupRebuildRunner(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            int months = salesRollupService.rebuild();
+            System.out.println("Rebuilt sales monthly rollup: " + months + " months");
+        }
+    }
+}
\ No newline at end of file
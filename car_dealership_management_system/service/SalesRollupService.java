@@ -0,0 +1,205 @@
+package com.cardealership.managementsystem.service;
+
+import com.cardealership.managementsystem.model.Sale;
+import com.cardealership.managementsystem.model.SalesMonthlyRollup;
+import com.cardealership.managementsystem.repository.SaleRepository;
+import com.cardealership.managementsystem.repository.SalesMonthlyRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the sales_monthly_rollup table. Sale writes apply their deltas in the same
+ * transaction as the sale itself, so monthly reports read one row per month instead of
+ * grouping over the whole sales table.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final String POSTGRESQL_UPSERT =
+            "INSERT INTO sales_monthly_rollup (period, sale_year, sale_month, total, sale_count) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5) ON CONFLICT (period) DO UPDATE SET " +
+            "total = sales_monthly_rollup.total + EXCLUDED.total, " +
+            "sale_count = sales_monthly_rollup.sale_count + EXCLUDED.sale_count";
+
+    private static final String MYSQL_UPSERT =
+            "INSERT INTO sales_monthly_rollup (period, sale_year, sale_month, total, sale_count) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5) ON DUPLICATE KEY UPDATE " +
+            "total = total + VALUES(total), sale_count = sale_count + VALUES(sale_count)";
+
+    // Standard SQL MERGE, for H2 and the other databases
+    private static final String MERGE_UPSERT =
+            "MERGE INTO sales_monthly_rollup r " +
+            "USING (VALUES (CAST(?1 AS INTEGER), CAST(?2 AS INTEGER), CAST(?3 AS INTEGER), " +
+            "CAST(?4 AS DECIMAL(38, 2)), CAST(?5 AS BIGINT))) AS d (period, sale_year, sale_month, total, sale_count) " +
+            "ON r.period = d.period " +
+            "WHEN MATCHED THEN UPDATE SET total = r.total + d.total, sale_count = r.sale_count + d.sale_count " +
+            "WHEN NOT MATCHED THEN INSERT (period, sale_year, sale_month, total, sale_count) " +
+            "VALUES (d.period, d.sale_year, d.sale_month, d.total, d.sale_count)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final SalesMonthlyRollupRepository rollupRepository;
+    private final SaleRepository saleRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Chosen on first use, since the JPA bootstrap may be deferred
+    private volatile String upsertStatement;
+
+    @Autowired
+    public SalesRollupService(SalesMonthlyRollupRepository rollupRepository, SaleRepository saleRepository,
+                              EntityManagerFactory entityManagerFactory) {
+        this.rollupRepository = rollupRepository;
+        this.saleRepository = saleRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addSale(LocalDate saleDate, BigDecimal totalPrice) {
+        applyDelta(saleDate, totalPrice, 1);
+    }
+
+    /**
+     * Add many sales at once, issuing one rollup update per month touched
+     * rather than one per sale.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addSales(Collection<Sale> sales) {
+        applySales(sales, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSale(LocalDate saleDate, BigDecimal totalPrice) {
+        applyDelta(saleDate, totalPrice, -1);
+    }
+
+    /**
+     * Remove many sales at once, e.g. those deleted by cascade with their customer or
+     * salesperson, issuing one rollup update per month touched.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSales(Collection<Sale> sales) {
+        applySales(sales, -1);
+    }
+
+    private void applySales(Collection<Sale> sales, int sign) {
+        Map<YearMonth, BigDecimal> totals = new HashMap<>();
+        Map<YearMonth, Long> counts = new HashMap<>();
+
+        for (Sale sale : sales) {
+            if (sale.getSaleDate() == null) {
+                continue;
+            }
+            YearMonth month = YearMonth.from(sale.getSaleDate());
+            BigDecimal total = sale.getTotalPrice() == null ? BigDecimal.ZERO : sale.getTotalPrice();
+            totals.merge(month, total.multiply(BigDecimal.valueOf(sign)), BigDecimal::add);
+            counts.merge(month, (long) sign, Long::sum);
+        }
+
+        for (Map.Entry<YearMonth, BigDecimal> entry : totals.entrySet()) {
+            YearMonth month = entry.getKey();
+            applyMonthDelta(month.getYear(), month.getMonthValue(), entry.getValue(), counts.get(month));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getMonthlySalesTotals() {
+        Map<String, Object> results = new LinkedHashMap<>();
+
+        for (SalesMonthlyRollup rollup : rollupRepository.findAllByOrderByPeriodDesc()) {
+            if (rollup.getSaleCount() <= 0) {
+                continue;
+            }
+
+            Integer month = rollup.getMonth();
+            String monthKey = rollup.getYear() + "-" + (month < 10 ? "0" + month : month);
+            Map<String, Object> monthData = new LinkedHashMap<>();
+            monthData.put("total", rollup.getTotal());
+            monthData.put("count", rollup.getSaleCount());
+
+            results.put(monthKey, monthData);
+        }
+
+        return results;
+    }
+
+    /**
+     * Rebuild the rollup table from the sales table. Used to backfill existing data
+     * or to repair drift.
+     *
+     * @return The number of months written
+     */
+    @Transactional
+    public int rebuild() {
+        rollupRepository.deleteAllInBatch();
+
+        List<Object[]> monthlySalesTotals = saleRepository.findMonthlySalesTotals();
+        for (Object[] result : monthlySalesTotals) {
+            Integer year = ((Number) result[0]).intValue();
+            Integer month = ((Number) result[1]).intValue();
+            BigDecimal total = (BigDecimal) result[2];
+            Long count = ((Number) result[3]).longValue();
+            rollupRepository.save(new SalesMonthlyRollup(year, month, total, count));
+        }
+
+        return monthlySalesTotals.size();
+    }
+
+    private void applyDelta(LocalDate saleDate, BigDecimal totalPrice, int sign) {
+        if (saleDate == null) {
+            return;
+        }
+
+        BigDecimal amount = totalPrice == null ? BigDecimal.ZERO : totalPrice.multiply(BigDecimal.valueOf(sign));
+        applyMonthDelta(saleDate.getYear(), saleDate.getMonthValue(), amount, (long) sign);
+    }
+
+    private void applyMonthDelta(int year, int month, BigDecimal amount, Long count) {
+        Integer period = SalesMonthlyRollup.periodOf(year, month);
+
+        if (rollupRepository.applyDelta(period, amount, count) == 0) {
+            // First sale of the month. Two sales racing here would both insert the row, so
+            // the insert falls back to adding the delta, in the sale's own transaction
+            entityManager.createNativeQuery(upsertStatement())
+                    .setParameter(1, period)
+                    .setParameter(2, year)
+                    .setParameter(3, month)
+                    .setParameter(4, amount)
+                    .setParameter(5, count)
+                    .executeUpdate();
+        }
+    }
+
+    private String upsertStatement() {
+        if (upsertStatement == null) {
+            Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect();
+            if (dialect instanceof PostgreSQLDialect) {
+                upsertStatement = POSTGRESQL_UPSERT;
+            } else if (dialect instanceof MySQLDialect) {
+                upsertStatement = MYSQL_UPSERT;
+            } else {
+                upsertStatement = MERGE_UPSERT;
+            }
+        }
+        return upsertStatement;
+    }
+}
\ No newline at end of file
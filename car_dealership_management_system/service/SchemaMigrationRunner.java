@@ -0,0 +1,204 @@
+package com.cardealership.managementsystem.service;
+
+import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.model.Customer;
+import com.cardealership.managementsystem.model.Employee;
+import com.cardealership.managementsystem.model.Sale;
+import com.cardealership.managementsystem.repository.CarRepository;
+import com.cardealership.managementsystem.repository.CustomerRepository;
+import com.cardealership.managementsystem.repository.EmployeeRepository;
+import com.cardealership.managementsystem.repository.SaleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies one-time data migrations that Hibernate's schema update cannot express. Each
+ * migration is recorded in the {@code app_migrations} table in the same transaction that
+ * runs it, so it runs once per database, even when several terminals start together: the
+ * second insert of the marker blocks on the first and is then rejected.
+ * Runs before the other startup runners.
+ *
+ * <p>The normalized search-key columns are backfilled by one of these migrations. Rows
+ * inserted later with plain SQL lack them; start once with
+ * {@code app.search.backfill-keys=true} to fill them again.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchemaMigrationRunner implements ApplicationRunner {
+
+    // Rows loaded, re-keyed and flushed at a time by the search-key backfill
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final String CREATE_MARKER_TABLE =
+            "CREATE TABLE IF NOT EXISTS app_migrations (id VARCHAR(100) PRIMARY KEY, applied_at TIMESTAMP)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CarRepository carRepository;
+    private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SaleRepository saleRepository;
+    private final SalesRollupService salesRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Runnable> migrations = new LinkedHashMap<>();
+
+    @Value("${app.search.backfill-keys:false}")
+    private boolean forceKeyBackfill;
+
+    @Autowired
+    public SchemaMigrationRunner(EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 CarRepository carRepository, CustomerRepository customerRepository,
+                                 EmployeeRepository employeeRepository, SaleRepository saleRepository,
+                                 SalesRollupService salesRollupService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.carRepository = carRepository;
+        this.customerRepository = customerRepository;
+        this.employeeRepository = employeeRepository;
+        this.saleRepository = saleRepository;
+        this.salesRollupService = salesRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        migrations.put("restart-id-sequences", () -> {
+            restartSequence(Car.ID_SEQUENCE, "cars", Car.ID_ALLOCATION_SIZE);
+            restartSequence(Sale.ID_SEQUENCE, "sales", Sale.ID_ALLOCATION_SIZE);
+        });
+        // Rows from before the @Version columns have NULL there, which Spring Data reads as
+        // "new": save() would try to insert them again instead of updating
+        migrations.put("backfill-row-versions", () -> {
+            entityManager.createNativeQuery("UPDATE cars SET version = 0 WHERE version IS NULL").executeUpdate();
+            entityManager.createNativeQuery("UPDATE sales SET version = 0 WHERE version IS NULL").executeUpdate();
+        });
+        // Rows from before the normalized search-key columns
+        migrations.put("backfill-search-keys", this::backfillSearchKeys);
+        // Sales from before the monthly rollup table, so reports keep their history
+        migrations.put("rebuild-sales-rollup", salesRollupService::rebuild);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.createNativeQuery(CREATE_MARKER_TABLE).executeUpdate());
+        for (Map.Entry<String, Runnable> migration : migrations.entrySet()) {
+            if (applyOnce(migration.getKey(), migration.getValue())) {
+                System.out.println("Applied migration: " + migration.getKey());
+            }
+        }
+        if (forceKeyBackfill) {
+            transactionTemplate.executeWithoutResult(status -> backfillSearchKeys());
+        }
+    }
+
+    private boolean applyOnce(String id, Runnable migration) {
+        if (isApplied(id)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.createNativeQuery(
+                                "INSERT INTO app_migrations (id, applied_at) VALUES (?1, CURRENT_TIMESTAMP)")
+                        .setParameter(1, id)
+                        .executeUpdate();
+                migration.run();
+            });
+            return true;
+        } catch (RuntimeException e) {
+            if (isApplied(id)) {
+                // Another terminal applied it while this one waited on the marker row
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private boolean isApplied(String id) {
+        Number count = transactionTemplate.execute(status -> (Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM app_migrations WHERE id = ?1")
+                .setParameter(1, id)
+                .getSingleResult());
+        return count != null && count.longValue() > 0;
+    }
+
+    /**
+     * Fill the normalized search-key columns of rows that lack them. The keys are computed
+     * in Java by the entities' own {@code updateSearchKeys}, so backfilled rows get exactly
+     * the keys a normal write would, which SQL's TRIM and REPLACE cannot promise. Rows are
+     * loaded, updated and flushed in batches so memory stays flat. Must run inside a
+     * transaction.
+     *
+     * @return The number of rows updated
+     */
+    public int backfillSearchKeys() {
+        int updated = backfill(carRepository::findMissingSearchKeys, Car::getId, Car::updateSearchKeys)
+                + backfill(customerRepository::findMissingSearchKeys, Customer::getId, Customer::updateSearchKeys)
+                + backfill(employeeRepository::findMissingSearchKeys, Employee::getId, Employee::updateSearchKeys)
+                + backfill(saleRepository::findMissingSearchKeys, Sale::getId, Sale::updateSearchKeys);
+        if (updated > 0) {
+            System.out.println("Backfilled search keys: " + updated + " rows");
+        }
+        return updated;
+    }
+
+    // Walk the rows missing keys in id order, one batch at a time
+    private <T> int backfill(BiFunction<Long, Pageable, List<T>> findMissing, Function<T, Long> id,
+                             Consumer<T> updateKeys) {
+        int updated = 0;
+        long lastId = 0;
+        while (true) {
+            List<T> batch = findMissing.apply(lastId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return updated;
+            }
+            batch.forEach(updateKeys);
+            lastId = id.apply(batch.get(batch.size() - 1));
+            updated += batch.size();
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Car and Sale moved from IDENTITY columns to pooled sequences, which Hibernate created
+     * starting at 1 on existing databases. The pooled optimizer treats each value it reads
+     * as the top of a block of {@code allocationSize} ids, so the next value must be
+     * MAX(id) + allocationSize for the first new id to be MAX(id) + 1. The increment is reset
+     * too, in case the sequence was created by hand with a different one.
+     */
+    private void restartSequence(String sequence, String table, int allocationSize) {
+        long maxId = ((Number) entityManager.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)
+                .getSingleResult()).longValue();
+        long next = maxId + allocationSize;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            entityManager.createNativeQuery("ALTER SEQUENCE " + sequence + " RESTART WITH " + next
+                    + " INCREMENT BY " + allocationSize).executeUpdate();
+        } else {
+            // Databases without sequences (MySQL) get a one-row table with the next value
+            entityManager.createNativeQuery("UPDATE " + sequence + " SET next_val = ?1")
+                    .setParameter(1, next)
+                    .executeUpdate();
+        }
+    }
+}
\ No newline at end of file
@@ -4,23 +4,30 @@ import com.cardealership.managementsystem.service.CarService;
 import com.cardealership.managementsystem.service.CustomerService;
 import com.cardealership.managementsystem.service.EmployeeService;
 import com.cardealership.managementsystem.service.SaleService;
+import com.cardealership.managementsystem.ui.util.StartupTimer;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import javafx.util.Callback;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Component
 public class JavaFXApplication {
 
     private Stage primaryStage;
 
+    // Parsed screens and their controllers, reused across navigation; FX thread only
+    private final Map<Screen, CachedView> viewCache = new EnumMap<>(Screen.class);
+
     @Autowired
     private ApplicationContext applicationContext;
 
@@ -48,30 +55,40 @@ public class JavaFXApplication {
 
     public void showLoginScreen() {
         try {
-            // Load the login screen
-            FXMLLoader loader = new FXMLLoader();
-            URL fxmlUrl = getClass().getResource("/fxml/login.fxml");
-            loader.setLocation(fxmlUrl);
-            loader.setControllerFactory(applicationContext::getBean);
-
-            Parent root = loader.load();
-            Scene scene = new Scene(root, 600, 400);
-
-            // Set stylesheet
-            URL cssUrl = getClass().getResource("/static/css/styles.css");
-            if (cssUrl != null) {
-                scene.getStylesheets().add(cssUrl.toExternalForm());
-            } else {
-                System.err.println("CSS file not found");
-            }
-
-            primaryStage.setScene(scene);
+            primaryStage.setScene(createLoginScene(applicationContext::getBean));
             primaryStage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Build the login scene. Needs no Spring context, so the launcher can show it while
+     * the context is still starting.
+     *
+     * @param controllerFactory Supplies the login controller
+     * @return The login scene
+     */
+    public static Scene createLoginScene(Callback<Class<?>, Object> controllerFactory) throws IOException {
+        // Load the login screen
+        FXMLLoader loader = new FXMLLoader();
+        URL fxmlUrl = JavaFXApplication.class.getResource("/fxml/login.fxml");
+        loader.setLocation(fxmlUrl);
+        loader.setControllerFactory(controllerFactory);
+
+        Parent root = loader.load();
+        Scene scene = new Scene(root, 600, 400);
+
+        // Set stylesheet
+        URL cssUrl = JavaFXApplication.class.getResource("/static/css/styles.css");
+        if (cssUrl != null) {
+            scene.getStylesheets().add(cssUrl.toExternalForm());
+        } else {
+            System.err.println("CSS file not found");
+        }
+        return scene;
+    }
+
     public void showDashboard() {
         try {
             // Load the dashboard
@@ -92,6 +109,9 @@ public class JavaFXApplication {
             primaryStage.setScene(scene);
             primaryStage.setMaximized(true);
             primaryStage.show();
+            StartupTimer.mark(StartupTimer.DASHBOARD);
+
+            preloadScreens();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -99,29 +119,74 @@ public class JavaFXApplication {
 
     // Helper methods to load other screens
     public Parent loadCarInventoryScreen() throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        URL fxmlUrl = getClass().getResource("/fxml/car_inventory.fxml");
-        loader.setLocation(fxmlUrl);
-        loader.setControllerFactory(applicationContext::getBean);
-
-        return loader.load();
+        return loadScreen(Screen.CAR_INVENTORY);
     }
 
     public Parent loadCustomerManagementScreen() throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        URL fxmlUrl = getClass().getResource("/fxml/customer_management.fxml");
-        loader.setLocation(fxmlUrl);
-        loader.setControllerFactory(applicationContext::getBean);
-
-        return loader.load();
+        return loadScreen(Screen.CUSTOMER_MANAGEMENT);
     }
 
     public Parent loadSalesManagementScreen() throws IOException {
+        return loadScreen(Screen.SALES_MANAGEMENT);
+    }
+
+    /**
+     * Get a screen, parsing its FXML only the first time. When a cached screen is shown
+     * again its controller refreshes the data instead.
+     *
+     * @param screen The screen
+     * @return The screen's root node
+     */
+    public Parent loadScreen(Screen screen) throws IOException {
+        CachedView view = viewCache.get(screen);
+        if (view == null) {
+            view = parseScreen(screen);
+        } else if (view.shown && view.controller instanceof RefreshableView refreshable) {
+            refreshable.refresh();
+        }
+        view.shown = true;
+        return view.root;
+    }
+
+    /**
+     * Parse the management screens after login, one per FX pulse, so the first click on
+     * each is instant. Controller initialization starts their data loads in the background.
+     */
+    private void preloadScreens() {
+        for (Screen screen : Screen.values()) {
+            Platform.runLater(() -> {
+                if (!viewCache.containsKey(screen)) {
+                    try {
+                        parseScreen(screen);
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+        }
+    }
+
+    private CachedView parseScreen(Screen screen) throws IOException {
         FXMLLoader loader = new FXMLLoader();
-        URL fxmlUrl = getClass().getResource("/fxml/sales_management.fxml");
+        URL fxmlUrl = getClass().getResource(screen.getFxml());
         loader.setLocation(fxmlUrl);
         loader.setControllerFactory(applicationContext::getBean);
 
-        return loader.load();
+        Parent root = loader.load();
+        CachedView view = new CachedView(root, loader.getController());
+        viewCache.put(screen, view);
+        return view;
+    }
+
+    private static class CachedView {
+        private final Parent root;
+        private final Object controller;
+        // Freshly parsed views already loaded their data, so the first show skips the refresh
+        private boolean shown;
+
+        CachedView(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
     }
 }
\ No newline at end of file
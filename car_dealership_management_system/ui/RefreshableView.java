@@ -0,0 +1,13 @@
+package com.cardealership.managementsystem.ui;
+
+/**
+ * Controller of a cached screen. The view is parsed once; when the user navigates back to
+ * it only {@link #refresh()} runs instead of a new FXML load.
+ */
+public interface RefreshableView {
+
+    /**
+     * Reload the screen's data. Called on the FX application thread.
+     */
+    void refresh();
+}
\ No newline at end of file
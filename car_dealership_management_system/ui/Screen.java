@@ -0,0 +1,20 @@
+package com.cardealership.managementsystem.ui;
+
+/**
+ * The management screens shown in the dashboard, with the FXML each one is loaded from.
+ */
+public enum Screen {
+    CAR_INVENTORY("/fxml/car_inventory.fxml"),
+    CUSTOMER_MANAGEMENT("/fxml/customer_management.fxml"),
+    SALES_MANAGEMENT("/fxml/sales_management.fxml");
+
+    private final String fxml;
+
+    Screen(String fxml) {
+        this.fxml = fxml;
+    }
+
+    public String getFxml() {
+        return fxml;
+    }
+}
\ No newline at end of file
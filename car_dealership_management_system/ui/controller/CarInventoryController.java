@@ -1,8 +1,15 @@
 package com.cardealership.managementsystem.ui.controller;
 
+import com.cardealership.managementsystem.event.CarChanged;
 import com.cardealership.managementsystem.model.Car;
+import com.cardealership.managementsystem.search.InventoryQuery;
 import com.cardealership.managementsystem.service.CarService;
+import com.cardealership.managementsystem.ui.RefreshableView;
+import com.cardealership.managementsystem.ui.util.AsyncLoader;
+import com.cardealership.managementsystem.ui.util.PagedObservableList;
+import com.cardealership.managementsystem.ui.util.RowDiffs;
 import com.cardealership.managementsystem.ui.util.UIUtils;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -11,14 +18,18 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 @Component
-public class CarInventoryController {
+public class CarInventoryController implements RefreshableView {
 
     @FXML
     private TableView<Car> carTable;
@@ -107,17 +118,61 @@ public class CarInventoryController {
     @Autowired
     private UIUtils uiUtils;
 
+    @Autowired
+    private AsyncLoader asyncLoader;
+
     private ObservableList<Car> carsList = FXCollections.observableArrayList();
+    private PagedObservableList<Car> allCars;
     private Car selectedCar;
 
     @FXML
     public void initialize() {
         setupTableColumns();
         setupComboBoxes();
+        // The full inventory is paged in as the table scrolls; search results use carsList
+        allCars = new PagedObservableList<>(PagedObservableList.PageSource.of(
+                carService::countCars, carService::getCarsPage, carService::getCarsAtPage), Car::getId, asyncLoader);
+        carTable.setSortPolicy(PagedObservableList.sortPolicy());
         loadCars();
         setupEventHandlers();
     }
 
+    @Override
+    public void refresh() {
+        loadCars();
+    }
+
+    /**
+     * Apply a committed car change to the rows on screen. Sales mark cars as sold from the
+     * sales screen, so this also keeps the Sold column current without a reload.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChanged event) {
+        if (allCars == null) {
+            // Screen not opened yet; it loads fresh data when it is
+            return;
+        }
+        Platform.runLater(() -> {
+            Car car = event.getEntity();
+            switch (event.getType()) {
+                case CREATED:
+                    allCars.append(car);
+                    if (carTable.getItems() == carsList) {
+                        carsList.add(car);
+                    }
+                    break;
+                case UPDATED:
+                    allCars.replace(car);
+                    RowDiffs.replace(carsList, car, Car::getId);
+                    break;
+                case DELETED:
+                    allCars.removeById(event.getId());
+                    RowDiffs.remove(carsList, event.getId(), Car::getId);
+                    break;
+            }
+        });
+    }
+
     private void setupTableColumns() {
         colId.setCellValueFactory(new PropertyValueFactory<>("id"));
         colMake.setCellValueFactory(new PropertyValueFactory<>("make"));
@@ -135,14 +190,22 @@ public class CarInventoryController {
         cmbCondition.getItems().addAll("New", "Used", "Certified Pre-Owned");
         cmbCondition.setValue("New");
 
-        cmbSearchFilter.getItems().addAll("Make", "Model", "Year", "VIN", "Price Range", "Condition");
+        cmbSearchFilter.getItems().addAll("Make", "Model", "Year", "VIN", "Price Range", "Condition", "Keywords");
         cmbSearchFilter.setValue("Make");
     }
 
     private void loadCars() {
-        carsList.clear();
-        carsList.addAll(carService.getAllCars());
+        carTable.setItems(allCars);
+        allCars.refresh();
+    }
+
+    /**
+     * Load cars in the background and show them in the table, replacing any load or
+     * search still in progress.
+     */
+    private void showCars(Callable<List<Car>> loader) {
         carTable.setItems(carsList);
+        asyncLoader.loadInto(carTable, loader, carsList::setAll);
     }
 
     private void setupEventHandlers() {
@@ -183,8 +246,7 @@ public class CarInventoryController {
                 );
                 newCar.setSold(chkSold.isSelected());
 
-                Car savedCar = carService.saveCar(newCar);
-                carsList.add(savedCar);
+                carService.saveCar(newCar);
                 clearFields();
                 uiUtils.showInfoAlert("Success", "Car Added", "Car has been added successfully.");
             } catch (Exception e) {
@@ -212,13 +274,8 @@ public class CarInventoryController {
                 selectedCar.setMileage(uiUtils.parseInteger(txtMileage.getText(), 0));
                 selectedCar.setSold(chkSold.isSelected());
 
-                Car updatedCar = carService.updateCar(selectedCar.getId(), selectedCar);
-
-                // Update the list
-                int index = carsList.indexOf(selectedCar);
-                if (index >= 0) {
-                    carsList.set(index, updatedCar);
-                }
+                // The table row is replaced by onCarChanged
+                carService.updateCar(selectedCar.getId(), selectedCar);
 
                 uiUtils.showInfoAlert("Success", "Car Updated", "Car has been updated successfully.");
             } catch (Exception e) {
@@ -240,7 +297,6 @@ public class CarInventoryController {
         if (confirm) {
             try {
                 carService.deleteCar(selectedCar.getId());
-                carsList.remove(selectedCar);
                 clearFields();
                 selectedCar = null;
                 uiUtils.showInfoAlert("Success", "Car Deleted", "Car has been deleted successfully.");
@@ -266,49 +322,69 @@ public class CarInventoryController {
         }
 
         String filter = cmbSearchFilter.getValue();
-        try {
-            carsList.clear();
-
-            switch (filter) {
-                case "Make":
-                    carsList.addAll(carService.getCarsByMake(searchTerm));
-                    break;
-                case "Model":
-                    carsList.addAll(carService.getCarsByModel(searchTerm));
-                    break;
-                case "Year":
-                    Integer year = uiUtils.parseInteger(searchTerm, 0);
-                    if (year > 0) {
-                        carsList.addAll(carService.getCarsByYear(year));
-                    }
-                    break;
-                case "VIN":
+        switch (filter) {
+            case "Make":
+                showCars(() -> carService.getCarsByMake(searchTerm));
+                break;
+            case "Model":
+                showCars(() -> carService.getCarsByModel(searchTerm));
+                break;
+            case "Year":
+                Integer year = uiUtils.parseInteger(searchTerm, 0);
+                showCars(() -> year > 0 ? carService.getCarsByYear(year) : List.of());
+                break;
+            case "VIN":
+                showCars(() -> {
                     try {
-                        Car car = carService.getCarByVin(searchTerm);
-                        carsList.add(car);
+                        return List.of(carService.getCarByVin(searchTerm));
                     } catch (Exception e) {
                         // No car found with the VIN
+                        return List.of();
                     }
-                    break;
-                case "Price Range":
-                    // Expecting a price range format: min-max
-                    String[] range = searchTerm.split("-");
-                    if (range.length == 2) {
-                        BigDecimal minPrice = uiUtils.parseBigDecimal(range[0], BigDecimal.ZERO);
-                        BigDecimal maxPrice = uiUtils.parseBigDecimal(range[1], new BigDecimal("1000000"));
-                        carsList.addAll(carService.getCarsByPriceRange(minPrice, maxPrice));
-                    }
-                    break;
-                case "Condition":
-                    carsList.addAll(carService.getCarsByCondition(searchTerm));
-                    break;
-                default:
-                    loadCars();
-                    break;
+                });
+                break;
+            case "Price Range":
+                // Expecting a price range format: min-max
+                String[] range = searchTerm.split("-");
+                if (range.length == 2) {
+                    BigDecimal minPrice = uiUtils.parseBigDecimal(range[0], BigDecimal.ZERO);
+                    BigDecimal maxPrice = uiUtils.parseBigDecimal(range[1], new BigDecimal("1000000"));
+                    showCars(() -> carService.getCarsByPriceRange(minPrice, maxPrice));
+                } else {
+                    showCars(List::of);
+                }
+                break;
+            case "Condition":
+                showCars(() -> carService.getCarsByCondition(searchTerm));
+                break;
+            case "Keywords":
+                InventoryQuery query = keywordQuery(searchTerm);
+                showCars(() -> carService.searchInventory(query));
+                break;
+            default:
+                loadCars();
+                break;
+        }
+    }
+
+    /**
+     * Every word must match the make, model, color, condition or year of a car,
+     * e.g. "red toyota 2020".
+     */
+    private InventoryQuery keywordQuery(String searchTerm) {
+        List<InventoryQuery> criteria = new ArrayList<>();
+        for (String word : searchTerm.split("\\s+")) {
+            InventoryQuery wordQuery = InventoryQuery.make(word)
+                    .or(InventoryQuery.model(word))
+                    .or(InventoryQuery.color(word))
+                    .or(InventoryQuery.condition(word));
+            Integer year = uiUtils.parseInteger(word, 0);
+            if (year > 0) {
+                wordQuery = wordQuery.or(InventoryQuery.year(year));
             }
-        } catch (Exception e) {
-            uiUtils.showErrorAlert("Error", "Search Failed", e.getMessage());
+            criteria.add(wordQuery);
         }
+        return InventoryQuery.allOf(criteria);
     }
 
     private boolean validateCarInput() {
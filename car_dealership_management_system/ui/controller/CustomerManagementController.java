@@ -1,27 +1,45 @@
 package com.cardealership.managementsystem.ui.controller;
 
+import com.cardealership.managementsystem.dto.CustomerSuggestion;
+import com.cardealership.managementsystem.dto.SaleSummary;
+import com.cardealership.managementsystem.event.CustomerChanged;
+import com.cardealership.managementsystem.event.SaleChanged;
 import com.cardealership.managementsystem.exception.CustomerNotFoundException;
 import com.cardealership.managementsystem.model.Customer;
-import com.cardealership.managementsystem.model.Sale;
 import com.cardealership.managementsystem.service.CustomerService;
 import com.cardealership.managementsystem.service.SaleService;
+import com.cardealership.managementsystem.ui.RefreshableView;
+import com.cardealership.managementsystem.ui.util.AsyncLoader;
+import com.cardealership.managementsystem.ui.util.PagedObservableList;
+import com.cardealership.managementsystem.ui.util.RowDiffs;
 import com.cardealership.managementsystem.ui.util.UIUtils;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Duration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 @Component
-public class CustomerManagementController {
+public class CustomerManagementController implements RefreshableView {
+
+    private static final int TYPEAHEAD_DELAY_MILLIS = 150;
+    private static final int TYPEAHEAD_LIMIT = 50;
 
     @FXML
     private TableView<Customer> customerTable;
@@ -84,19 +102,19 @@ public class CustomerManagementController {
     private ComboBox<String> cmbSearchFilter;
 
     @FXML
-    private TableView<Sale> purchasesTable;
+    private TableView<SaleSummary> purchasesTable;
 
     @FXML
-    private TableColumn<Sale, Long> colSaleId;
+    private TableColumn<SaleSummary, Long> colSaleId;
 
     @FXML
-    private TableColumn<Sale, String> colCarDetails;
+    private TableColumn<SaleSummary, String> colCarDetails;
 
     @FXML
-    private TableColumn<Sale, LocalDate> colSaleDate;
+    private TableColumn<SaleSummary, LocalDate> colSaleDate;
 
     @FXML
-    private TableColumn<Sale, Double> colSaleAmount;
+    private TableColumn<SaleSummary, BigDecimal> colSaleAmount;
 
     @Autowired
     private CustomerService customerService;
@@ -107,18 +125,80 @@ public class CustomerManagementController {
     @Autowired
     private UIUtils uiUtils;
 
+    @Autowired
+    private AsyncLoader asyncLoader;
+
     private ObservableList<Customer> customerList = FXCollections.observableArrayList();
-    private ObservableList<Sale> purchasesList = FXCollections.observableArrayList();
+    private PagedObservableList<Customer> allCustomers;
+    private ObservableList<SaleSummary> purchasesList = FXCollections.observableArrayList();
     private Customer selectedCustomer;
 
     @FXML
     public void initialize() {
         setupTableColumns();
         setupSearchFilter();
+        // All customers are paged in as the table scrolls; search results use customerList
+        allCustomers = new PagedObservableList<>(PagedObservableList.PageSource.of(
+                customerService::countCustomers, customerService::getCustomersPage, customerService::getCustomersAtPage),
+                Customer::getId, asyncLoader);
+        customerTable.setSortPolicy(PagedObservableList.sortPolicy());
+        purchasesTable.setItems(purchasesList);
         loadCustomers();
         setupEventHandlers();
     }
 
+    @Override
+    public void refresh() {
+        loadCustomers();
+    }
+
+    /**
+     * Apply a committed customer change to the rows on screen, so edits made here or
+     * elsewhere show up without reloading the table.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChanged event) {
+        if (allCustomers == null) {
+            // Screen not opened yet; it loads fresh data when it is
+            return;
+        }
+        Platform.runLater(() -> {
+            Customer customer = event.getEntity();
+            switch (event.getType()) {
+                case CREATED:
+                    allCustomers.append(customer);
+                    if (customerTable.getItems() == customerList) {
+                        customerList.add(customer);
+                    }
+                    break;
+                case UPDATED:
+                    allCustomers.replace(customer);
+                    RowDiffs.replace(customerList, customer, Customer::getId);
+                    break;
+                case DELETED:
+                    allCustomers.removeById(event.getId());
+                    RowDiffs.remove(customerList, event.getId(), Customer::getId);
+                    break;
+            }
+        });
+    }
+
+    /**
+     * Keep the purchase history of the selected customer current.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaleChanged(SaleChanged event) {
+        if (allCustomers == null || event.getEntity().getCustomer() == null) {
+            return;
+        }
+        Long customerId = event.getEntity().getCustomer().getId();
+        Platform.runLater(() -> {
+            if (selectedCustomer != null && selectedCustomer.getId().equals(customerId)) {
+                loadCustomerPurchases(selectedCustomer);
+            }
+        });
+    }
+
     private void setupTableColumns() {
         // Setup main customer table columns
         colId.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -129,19 +209,11 @@ public class CustomerManagementController {
         colAddress.setCellValueFactory(new PropertyValueFactory<>("address"));
         colRegistrationDate.setCellValueFactory(new PropertyValueFactory<>("registrationDate"));
 
-        // Setup purchases table columns
-        colSaleId.setCellValueFactory(new PropertyValueFactory<>("id"));
-        colCarDetails.setCellValueFactory(cellData -> {
-            Sale sale = cellData.getValue();
-            if (sale.getCar() != null) {
-                return javafx.beans.binding.Bindings.createStringBinding(
-                        () -> sale.getCar().getYear() + " " + sale.getCar().getMake() + " " + sale.getCar().getModel()
-                );
-            }
-            return javafx.beans.binding.Bindings.createStringBinding(() -> "N/A");
-        });
-        colSaleDate.setCellValueFactory(new PropertyValueFactory<>("saleDate"));
-        colSaleAmount.setCellValueFactory(new PropertyValueFactory<>("totalPrice"));
+        // Setup purchases table columns (projection rows, so read the getters directly)
+        colSaleId.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getId()));
+        colCarDetails.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getCarDescription()));
+        colSaleDate.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getSaleDate()));
+        colSaleAmount.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getTotalPrice()));
     }
 
     private void setupSearchFilter() {
@@ -150,12 +222,25 @@ public class CustomerManagementController {
     }
 
     private void loadCustomers() {
-        customerList.clear();
-        customerList.addAll(customerService.getAllCustomers());
+        customerTable.setItems(allCustomers);
+        allCustomers.refresh();
+    }
+
+    /**
+     * Load customers in the background and show them in the table, replacing any load or
+     * search still in progress.
+     */
+    private void showCustomers(Callable<List<Customer>> loader) {
         customerTable.setItems(customerList);
+        asyncLoader.loadInto(customerTable, loader, customerList::setAll);
     }
 
     private void setupEventHandlers() {
+        // Suggest matches as the user types, once typing pauses; Search still runs the exact filters
+        PauseTransition typingPause = new PauseTransition(Duration.millis(TYPEAHEAD_DELAY_MILLIS));
+        typingPause.setOnFinished(e -> showSuggestions(txtSearch.getText()));
+        txtSearch.textProperty().addListener((obs, oldText, newText) -> typingPause.playFromStart());
+
         // Handle customer selection
         customerTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
@@ -166,6 +251,18 @@ public class CustomerManagementController {
         });
     }
 
+    private void showSuggestions(String text) {
+        String query = text == null ? "" : text.trim();
+        if (query.isEmpty()) {
+            loadCustomers();
+            return;
+        }
+        showCustomers(() -> customerService.getCustomersByIds(
+                customerService.suggestCustomers(query, TYPEAHEAD_LIMIT).stream()
+                        .map(CustomerSuggestion::getId)
+                        .toList()));
+    }
+
     private void displayCustomerDetails(Customer customer) {
         txtFirstName.setText(customer.getFirstName());
         txtLastName.setText(customer.getLastName());
@@ -175,14 +272,9 @@ public class CustomerManagementController {
     }
 
     private void loadCustomerPurchases(Customer customer) {
-        purchasesList.clear();
-        try {
-            List<Sale> sales = saleService.getSalesByCustomer(customer.getId());
-            purchasesList.addAll(sales);
-            purchasesTable.setItems(purchasesList);
-        } catch (Exception e) {
-            uiUtils.showErrorAlert("Error", "Failed to load customer purchases", e.getMessage());
-        }
+        Long customerId = customer.getId();
+        asyncLoader.loadInto(purchasesTable, () -> saleService.getSaleSummariesByCustomer(customerId),
+                purchasesList::setAll);
     }
 
     @FXML
@@ -197,8 +289,7 @@ public class CustomerManagementController {
                         txtAddress.getText().trim()
                 );
 
-                Customer savedCustomer = customerService.saveCustomer(newCustomer);
-                customerList.add(savedCustomer);
+                customerService.saveCustomer(newCustomer);
                 clearFields();
                 uiUtils.showInfoAlert("Success", "Customer Added", "Customer has been added successfully.");
             } catch (Exception e) {
@@ -222,13 +313,8 @@ public class CustomerManagementController {
                 selectedCustomer.setPhone(txtPhone.getText().trim());
                 selectedCustomer.setAddress(txtAddress.getText().trim());
 
-                Customer updatedCustomer = customerService.updateCustomer(selectedCustomer.getId(), selectedCustomer);
-
-                // Update the list
-                int index = customerList.indexOf(selectedCustomer);
-                if (index >= 0) {
-                    customerList.set(index, updatedCustomer);
-                }
+                // The table row is replaced by onCustomerChanged
+                customerService.updateCustomer(selectedCustomer.getId(), selectedCustomer);
 
                 uiUtils.showInfoAlert("Success", "Customer Updated", "Customer has been updated successfully.");
             } catch (Exception e) {
@@ -250,7 +336,6 @@ public class CustomerManagementController {
         if (confirm) {
             try {
                 customerService.deleteCustomer(selectedCustomer.getId());
-                customerList.remove(selectedCustomer);
                 clearFields();
                 selectedCustomer = null;
                 uiUtils.showInfoAlert("Success", "Customer Deleted", "Customer has been deleted successfully.");
@@ -265,6 +350,7 @@ public class CustomerManagementController {
         clearFields();
         selectedCustomer = null;
         customerTable.getSelectionModel().clearSelection();
+        asyncLoader.cancel(purchasesTable);
         purchasesList.clear();
     }
 
@@ -277,32 +363,30 @@ public class CustomerManagementController {
         }
 
         String filter = cmbSearchFilter.getValue();
-        try {
-            customerList.clear();
-
-            if ("Name".equals(filter)) {
-                // Assuming the search term contains first name and last name separated by space
-                String[] nameParts = searchTerm.split("\\s+", 2);
-                String firstName = nameParts[0];
-                String lastName = nameParts.length > 1 ? nameParts[1] : null;
-                customerList.addAll(customerService.findByName(firstName, lastName));
-            } else if ("Email".equals(filter)) {
+        if ("Name".equals(filter)) {
+            // Assuming the search term contains first name and last name separated by space
+            String[] nameParts = searchTerm.split("\\s+", 2);
+            String firstName = nameParts[0];
+            String lastName = nameParts.length > 1 ? nameParts[1] : null;
+            showCustomers(() -> customerService.findByName(firstName, lastName));
+        } else if ("Email".equals(filter)) {
+            showCustomers(() -> {
                 try {
-                    Customer customer = customerService.findByEmail(searchTerm);
-                    customerList.add(customer);
+                    return List.of(customerService.findByEmail(searchTerm));
                 } catch (CustomerNotFoundException e) {
                     // No customer found with the email
+                    return List.of();
                 }
-            } else if ("Phone".equals(filter)) {
+            });
+        } else if ("Phone".equals(filter)) {
+            showCustomers(() -> {
                 try {
-                    Customer customer = customerService.findByPhone(searchTerm);
-                    customerList.add(customer);
+                    return List.of(customerService.findByPhone(searchTerm));
                 } catch (CustomerNotFoundException e) {
                     // No customer found with the phone
+                    return List.of();
                 }
-            }
-        } catch (Exception e) {
-            uiUtils.showErrorAlert("Error", "Search Failed", e.getMessage());
+            });
         }
     }
 
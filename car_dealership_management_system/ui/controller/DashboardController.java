@@ -1,9 +1,8 @@
 package com.cardealership.managementsystem.ui.controller;
 
-import com.cardealership.managementsystem.service.CarService;
-import com.cardealership.managementsystem.service.CustomerService;
+import com.cardealership.managementsystem.dto.DashboardMetrics;
+import com.cardealership.managementsystem.service.DashboardMetricsService;
 import com.cardealership.managementsystem.service.EmployeeService;
-import com.cardealership.managementsystem.service.SaleService;
 import com.cardealership.managementsystem.ui.JavaFXApplication;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -55,17 +54,11 @@ public class DashboardController {
     private PieChart inventoryChart;
 
     @Autowired
-    private CarService carService;
-
-    @Autowired
-    private CustomerService customerService;
+    private DashboardMetricsService dashboardMetricsService;
 
     @Autowired
     private EmployeeService employeeService;
 
-    @Autowired
-    private SaleService saleService;
-
     @Autowired
     private JavaFXApplication javaFXApplication;
 
@@ -75,11 +68,12 @@ public class DashboardController {
     }
 
     private void updateDashboardMetrics() {
-        // Update metrics
-        lblAvailableCars.setText(String.valueOf(carService.getAvailableCars().size()));
-        lblTotalCustomers.setText(String.valueOf(customerService.getAllCustomers().size()));
-        lblTotalSales.setText(String.valueOf(saleService.getAllSales().size()));
-        lblTodaySales.setText(String.valueOf(saleService.getTodaySales().size()));
+        // Update metrics from the counter snapshot instead of loading whole tables
+        DashboardMetrics metrics = dashboardMetricsService.getMetrics();
+        lblAvailableCars.setText(String.valueOf(metrics.getAvailableCars()));
+        lblTotalCustomers.setText(String.valueOf(metrics.getTotalCustomers()));
+        lblTotalSales.setText(String.valueOf(metrics.getTotalSales()));
+        lblTodaySales.setText(String.valueOf(metrics.getTodaySales()));
 
         // Update charts
         updateSalesChart();
@@ -30,12 +30,27 @@ public class LoginController {
     @Autowired
     private JavaFXApplication javaFXApplication;
 
+    // Button caption from the FXML, restored once startup finishes
+    private String loginText;
+
     @Autowired
     private UIUtils uiUtils;
 
     @Autowired(required = false)
     private AuthenticationManager authenticationManager;
 
+    /**
+     * Disable the login button while the application context is still starting; the
+     * credentials can already be typed in.
+     */
+    public void setStarting(boolean starting) {
+        if (loginText == null) {
+            loginText = btnLogin.getText();
+        }
+        btnLogin.setDisable(starting);
+        btnLogin.setText(starting ? "Starting..." : loginText);
+    }
+
     @FXML
     private void handleLoginAction(ActionEvent event) {
         String username = txtUsername.getText().trim();
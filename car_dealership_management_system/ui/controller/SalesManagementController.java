@@ -1,5 +1,9 @@
 package com.cardealership.managementsystem.ui.controller;
 
+import com.cardealership.managementsystem.event.CarChanged;
+import com.cardealership.managementsystem.event.ChangeType;
+import com.cardealership.managementsystem.event.CustomerChanged;
+import com.cardealership.managementsystem.event.SaleChanged;
 import com.cardealership.managementsystem.exception.SaleProcessingException;
 import com.cardealership.managementsystem.model.Car;
 import com.cardealership.managementsystem.model.Customer;
@@ -9,7 +13,12 @@ import com.cardealership.managementsystem.service.CarService;
 import com.cardealership.managementsystem.service.CustomerService;
 import com.cardealership.managementsystem.service.EmployeeService;
 import com.cardealership.managementsystem.service.SaleService;
+import com.cardealership.managementsystem.ui.RefreshableView;
+import com.cardealership.managementsystem.ui.util.AsyncLoader;
+import com.cardealership.managementsystem.ui.util.PagedObservableList;
+import com.cardealership.managementsystem.ui.util.RowDiffs;
 import com.cardealership.managementsystem.ui.util.UIUtils;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -18,15 +27,15 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Component
-public class SalesManagementController {
+public class SalesManagementController implements RefreshableView {
 
     @FXML
     private TableView<Sale> salesTable;
@@ -127,24 +136,121 @@ public class SalesManagementController {
     @Autowired
     private UIUtils uiUtils;
 
+    @Autowired
+    private AsyncLoader asyncLoader;
+
     private ObservableList<Sale> salesList = FXCollections.observableArrayList();
+    private PagedObservableList<Sale> allSales;
     private ObservableList<Car> carsList = FXCollections.observableArrayList();
     private ObservableList<Customer> customersList = FXCollections.observableArrayList();
     private ObservableList<Employee> salesPersonsList = FXCollections.observableArrayList();
     private Sale selectedSale;
+    // Date range salesList was last searched with; the pickers may change without a search
+    private LocalDate filterStartDate;
+    private LocalDate filterEndDate;
 
     @FXML
     public void initialize() {
         setupTableColumns();
         setupComboBoxes();
+        // All sales are paged in as the table scrolls; date-range results use salesList
+        allSales = new PagedObservableList<>(PagedObservableList.PageSource.of(
+                saleService::countSales, saleService::getSalesPage, saleService::getSalesAtPage), Sale::getId, asyncLoader);
+        salesTable.setSortPolicy(PagedObservableList.sortPolicy());
         loadSales();
         setupEventHandlers();
     }
 
+    @Override
+    public void refresh() {
+        loadAvailableCars();
+        loadCustomers();
+        loadSalespeople();
+        loadSales();
+    }
+
+    /**
+     * Apply a committed sale change to the sales table. Processed sales arrive here too,
+     * as {@link com.cardealership.managementsystem.event.SaleProcessed}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaleChanged(SaleChanged event) {
+        if (allSales == null) {
+            // Screen not opened yet; it loads fresh data when it is
+            return;
+        }
+        Platform.runLater(() -> {
+            Sale sale = event.getEntity();
+            switch (event.getType()) {
+                case CREATED:
+                    allSales.append(sale);
+                    if (salesTable.getItems() == salesList && inDateFilter(sale)) {
+                        salesList.add(sale);
+                    }
+                    break;
+                case UPDATED:
+                    allSales.replace(sale);
+                    if (salesTable.getItems() == salesList && inDateFilter(sale)) {
+                        RowDiffs.upsert(salesList, sale, Sale::getId);
+                    } else {
+                        // Its date may have moved out of the searched range
+                        RowDiffs.remove(salesList, sale.getId(), Sale::getId);
+                    }
+                    break;
+                case DELETED:
+                    allSales.removeById(event.getId());
+                    RowDiffs.remove(salesList, event.getId(), Sale::getId);
+                    break;
+            }
+        });
+    }
+
+    private boolean inDateFilter(Sale sale) {
+        LocalDate saleDate = sale.getSaleDate();
+        return saleDate != null && filterStartDate != null && filterEndDate != null
+                && !saleDate.isBefore(filterStartDate) && !saleDate.isAfter(filterEndDate);
+    }
+
+    /**
+     * Keep the car picker limited to unsold cars as cars are sold, returned or edited.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChanged event) {
+        if (allSales == null) {
+            return;
+        }
+        Platform.runLater(() -> {
+            Car car = event.getEntity();
+            if (event.getType() == ChangeType.DELETED || Boolean.TRUE.equals(car.getSold())) {
+                RowDiffs.remove(carsList, event.getId(), Car::getId);
+            } else {
+                RowDiffs.upsert(carsList, car, Car::getId);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChanged event) {
+        if (allSales == null) {
+            return;
+        }
+        Platform.runLater(() -> {
+            if (event.getType() == ChangeType.DELETED) {
+                RowDiffs.remove(customersList, event.getId(), Customer::getId);
+            } else {
+                RowDiffs.upsert(customersList, event.getEntity(), Customer::getId);
+            }
+        });
+    }
+
     private void setupTableColumns() {
         colId.setCellValueFactory(new PropertyValueFactory<>("id"));
         colCar.setCellValueFactory(cellData -> {
             Sale sale = cellData.getValue();
+            if (sale == null) {
+                // Row not paged in yet
+                return javafx.beans.binding.Bindings.createStringBinding(() -> "");
+            }
             if (sale.getCar() != null) {
                 return javafx.beans.binding.Bindings.createStringBinding(
                         () -> sale.getCar().getYear() + " " + sale.getCar().getMake() + " " + sale.getCar().getModel()
@@ -154,6 +260,10 @@ public class SalesManagementController {
         });
         colCustomer.setCellValueFactory(cellData -> {
             Sale sale = cellData.getValue();
+            if (sale == null) {
+                // Row not paged in yet
+                return javafx.beans.binding.Bindings.createStringBinding(() -> "");
+            }
             if (sale.getCustomer() != null) {
                 return javafx.beans.binding.Bindings.createStringBinding(
                         () -> sale.getCustomer().getFirstName() + " " + sale.getCustomer().getLastName()
@@ -163,6 +273,10 @@ public class SalesManagementController {
         });
         colSalesperson.setCellValueFactory(cellData -> {
             Sale sale = cellData.getValue();
+            if (sale == null) {
+                // Row not paged in yet
+                return javafx.beans.binding.Bindings.createStringBinding(() -> "");
+            }
             if (sale.getSalesperson() != null) {
                 return javafx.beans.binding.Bindings.createStringBinding(
                         () -> sale.getSalesperson().getFirstName() + " " + sale.getSalesperson().getLastName()
@@ -237,26 +351,21 @@ public class SalesManagementController {
     }
 
     private void loadAvailableCars() {
-        carsList.clear();
-        carsList.addAll(carService.getAvailableCars());
+        asyncLoader.load(cmbCar, carService::getAvailableCars, carsList::setAll);
     }
 
     private void loadCustomers() {
-        customersList.clear();
-        customersList.addAll(customerService.getAllCustomers());
+        asyncLoader.load(cmbCustomer, customerService::getAllCustomers, customersList::setAll);
     }
 
     private void loadSalespeople() {
-        salesPersonsList.clear();
         // Filter only salespeople
-        List<Employee> allEmployees = employeeService.findByPosition("Salesperson");
-        salesPersonsList.addAll(allEmployees);
+        asyncLoader.load(cmbSalesperson, () -> employeeService.findByPosition("Salesperson"), salesPersonsList::setAll);
     }
 
     private void loadSales() {
-        salesList.clear();
-        salesList.addAll(saleService.getAllSales());
-        salesTable.setItems(salesList);
+        salesTable.setItems(allSales);
+        allSales.refresh();
     }
 
     private void setupEventHandlers() {
@@ -314,7 +423,8 @@ public class SalesManagementController {
                 BigDecimal tax = uiUtils.parseBigDecimal(txtTax.getText(), BigDecimal.ZERO);
                 String paymentMethod = cmbPaymentMethod.getValue();
 
-                Sale processedSale = saleService.processSale(
+                // The new sale row and the car picker are updated by the change listeners
+                saleService.processSale(
                         selectedCar.getId(),
                         selectedCustomer.getId(),
                         selectedSalesperson.getId(),
@@ -323,12 +433,8 @@ public class SalesManagementController {
                         paymentMethod
                 );
 
-                salesList.add(processedSale);
                 clearFields();
 
-                // Refresh available cars
-                loadAvailableCars();
-
                 uiUtils.showInfoAlert("Success", "Sale Processed", "Sale has been processed successfully.");
             } catch (Exception e) {
                 uiUtils.showErrorAlert("Error", "Failed to process sale", e.getMessage());
@@ -354,13 +460,8 @@ public class SalesManagementController {
                 selectedSale.setPaymentMethod(cmbPaymentMethod.getValue());
                 selectedSale.setSaleStatus(cmbStatus.getValue());
 
-                Sale updatedSale = saleService.updateSale(selectedSale.getId(), selectedSale);
-
-                // Update the list
-                int index = salesList.indexOf(selectedSale);
-                if (index >= 0) {
-                    salesList.set(index, updatedSale);
-                }
+                // The table row is replaced by onSaleChanged
+                saleService.updateSale(selectedSale.getId(), selectedSale);
 
                 uiUtils.showInfoAlert("Success", "Sale Updated", "Sale has been updated successfully.");
             } catch (Exception e) {
@@ -382,13 +483,9 @@ public class SalesManagementController {
         if (confirm) {
             try {
                 saleService.deleteSale(selectedSale.getId());
-                salesList.remove(selectedSale);
                 clearFields();
                 selectedSale = null;
 
-                // Refresh available cars
-                loadAvailableCars();
-
                 uiUtils.showInfoAlert("Success", "Sale Deleted", "Sale has been deleted successfully.");
             } catch (Exception e) {
                 uiUtils.showErrorAlert("Error", "Failed to delete sale", e.getMessage());
@@ -418,13 +515,10 @@ public class SalesManagementController {
             return;
         }
 
-        try {
-            List<Sale> salesInRange = saleService.getSalesByDateRange(startDate, endDate);
-            salesList.clear();
-            salesList.addAll(salesInRange);
-        } catch (Exception e) {
-            uiUtils.showErrorAlert("Error", "Search Failed", e.getMessage());
-        }
+        filterStartDate = startDate;
+        filterEndDate = endDate;
+        salesTable.setItems(salesList);
+        asyncLoader.loadInto(salesTable, () -> saleService.getSalesByDateRange(startDate, endDate), salesList::setAll);
     }
 
     @FXML
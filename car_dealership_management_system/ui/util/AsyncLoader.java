@@ -0,0 +1,152 @@
+package com.cardealership.managementsystem.ui.util;
+
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs data loads for the screens off the FX application thread. Loads are grouped by a
+ * key (usually the control being filled): starting a new load cancels the previous one for
+ * the same key, so only the latest search ever reaches the screen. Results are delivered
+ * on the FX thread.
+ */
+@Component
+public class AsyncLoader {
+
+    private final ExecutorService executor;
+    private final UIUtils uiUtils;
+
+    // Latest load per key; only touched on the FX thread
+    private final Map<Object, Task<?>> currentLoads = new HashMap<>();
+
+    @Autowired
+    public AsyncLoader(UIUtils uiUtils, @Value("${app.ui.loader-threads:2}") int threads) {
+        this.uiUtils = uiUtils;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ui-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load data into a table, showing a progress indicator as the table placeholder while
+     * the load runs.
+     *
+     * @param table The table being filled; also the key for superseding earlier loads
+     * @param loader Fetches the data on a background thread
+     * @param onSuccess Receives the data on the FX thread
+     * @return The running task
+     */
+    public <T> Task<T> loadInto(TableView<?> table, Callable<T> loader, Consumer<T> onSuccess) {
+        Node placeholder = table.getPlaceholder();
+        ProgressIndicator progress = new ProgressIndicator();
+        table.setPlaceholder(progress);
+        table.getItems().clear();
+
+        Task<T> task = load(table, loader, onSuccess);
+        progress.progressProperty().bind(task.progressProperty());
+        task.runningProperty().addListener((obs, wasRunning, isRunning) -> {
+            if (!isRunning && table.getPlaceholder() == progress) {
+                table.setPlaceholder(placeholder);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Load data in the background, reporting failures in an error dialog.
+     *
+     * @param key Identifies the load; a newer load with the same key cancels this one
+     * @param loader Fetches the data on a background thread
+     * @param onSuccess Receives the data on the FX thread
+     * @return The running task
+     */
+    public <T> Task<T> load(Object key, Callable<T> loader, Consumer<T> onSuccess) {
+        return load(key, loader, onSuccess,
+                error -> uiUtils.showErrorAlert("Error", "Failed to load data", error.getMessage()));
+    }
+
+    /**
+     * Load data in the background.
+     *
+     * @param key Identifies the load; a newer load with the same key cancels this one.
+     *            Null for loads that should never be superseded
+     * @param loader Fetches the data on a background thread
+     * @param onSuccess Receives the data on the FX thread
+     * @param onFailure Receives the error on the FX thread
+     * @return The running task
+     */
+    public <T> Task<T> load(Object key, Callable<T> loader, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        checkFxThread();
+
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                updateProgress(-1, 1);
+                return loader.call();
+            }
+        };
+
+        task.setOnSucceeded(event -> {
+            finished(key, task);
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(event -> {
+            finished(key, task);
+            onFailure.accept(task.getException());
+        });
+        task.setOnCancelled(event -> finished(key, task));
+
+        Task<?> previous = key == null ? null : currentLoads.put(key, task);
+        if (previous != null) {
+            // Don't interrupt: the superseded query finishes quietly and its result is dropped
+            previous.cancel(false);
+        }
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancel the running load for a key, if any.
+     */
+    public void cancel(Object key) {
+        checkFxThread();
+        Task<?> task = currentLoads.remove(key);
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void finished(Object key, Task<?> task) {
+        if (key != null) {
+            currentLoads.remove(key, task);
+        }
+    }
+
+    private static void checkFxThread() {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Loads must be started on the FX application thread");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,344 @@
+package com.cardealership.managementsystem.ui.util;
+
+import com.cardealership.managementsystem.dto.CursorPage;
+import com.cardealership.managementsystem.dto.KeysetCursor;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-only {@link javafx.collections.ObservableList} over a database table that only
+ * holds the pages a {@code TableView} is currently showing. {@link #get(int)} returns
+ * {@code null} for rows whose page is not loaded yet and starts fetching that page in the
+ * background; once it arrives the rows are replaced and the table redraws them.
+ *
+ * <p>Pages are fetched with keyset queries when the cursor of the previous page is known
+ * (scrolling), and by offset otherwise (jumping with the scroll bar). At most
+ * {@code maxCachedPages} pages are kept; the least recently read ones are dropped without
+ * a change notification and fetched again if they come back into view, and at most as many
+ * page loads are queued: scrolling past more pages than that cancels the oldest loads.</p>
+ *
+ * <p>The list cannot be sorted in memory without reading every page, so tables showing it
+ * must use {@link #sortPolicy()}.</p>
+ *
+ * <p>All methods must be called on the FX application thread.</p>
+ *
+ * @param <T> The row type
+ */
+public class PagedObservableList<T> extends ObservableListBase<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_CACHED_PAGES = 10;
+
+    /**
+     * Where pages come from. Methods are called on a background thread.
+     */
+    public interface PageSource<T> {
+
+        long count();
+
+        /**
+         * Keyset page: the rows after the given cursor, or the first rows for a null cursor.
+         */
+        CursorPage<T> fetchAfter(String cursor, int size);
+
+        /**
+         * Offset page, used when the previous page's cursor is unknown.
+         */
+        List<T> fetchPage(int pageNumber, int size);
+
+        static <T> PageSource<T> of(LongSupplier count, BiFunction<String, Integer, CursorPage<T>> fetchAfter,
+                                    BiFunction<Integer, Integer, List<T>> fetchPage) {
+            return new PageSource<>() {
+                @Override
+                public long count() {
+                    return count.getAsLong();
+                }
+
+                @Override
+                public CursorPage<T> fetchAfter(String cursor, int size) {
+                    return fetchAfter.apply(cursor, size);
+                }
+
+                @Override
+                public List<T> fetchPage(int pageNumber, int size) {
+                    return fetchPage.apply(pageNumber, size);
+                }
+            };
+        }
+    }
+
+    private final PageSource<T> source;
+    private final Function<T, Long> idExtractor;
+    private final AsyncLoader asyncLoader;
+    private final int pageSize;
+    private final int maxCachedPages;
+    private final Map<Integer, List<T>> pages;
+
+    // Cursor after the last row of each page seen so far; tiny compared to the rows
+    private final Map<Integer, String> nextCursors = new HashMap<>();
+    // Page loads in flight, oldest first
+    private final Map<Integer, Task<List<T>>> loading = new LinkedHashMap<>();
+
+    // Load key for the row count; the list itself can't be a key since its hashCode reads every row
+    private final Object countKey = new Object();
+
+    private int size;
+    private int generation;
+
+    public PagedObservableList(PageSource<T> source, Function<T, Long> idExtractor, AsyncLoader asyncLoader) {
+        this(source, idExtractor, asyncLoader, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    public PagedObservableList(PageSource<T> source, Function<T, Long> idExtractor, AsyncLoader asyncLoader,
+                               int pageSize, int maxCachedPages) {
+        this.source = source;
+        this.idExtractor = idExtractor;
+        this.asyncLoader = asyncLoader;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Sort policy for tables that may show a paged list. The default policy sorts the items
+     * in place, which would read every page of the table and then fail on this read-only
+     * list; for a paged list the sort is refused and the table keeps its previous order.
+     * Other item lists are sorted as usual.
+     */
+    public static <S> Callback<TableView<S>, Boolean> sortPolicy() {
+        return table -> {
+            if (table.getItems() instanceof PagedObservableList) {
+                return false;
+            }
+            return TableView.DEFAULT_SORT_POLICY.call(table);
+        };
+    }
+
+    /**
+     * Drop all loaded pages and re-read the row count, e.g. after rows were added or removed.
+     */
+    public void refresh() {
+        int currentGeneration = ++generation;
+        pages.clear();
+        nextCursors.clear();
+        cancelLoads();
+
+        asyncLoader.load(countKey, source::count, count -> {
+            if (currentGeneration == generation) {
+                resize((int) Math.min(count, Integer.MAX_VALUE));
+            }
+        });
+    }
+
+    /**
+     * Swap a loaded row for its updated version, matching by id. Rows on pages that are not
+     * loaded are simply fetched fresh when they are next shown.
+     *
+     * @return true if the row was loaded and replaced
+     */
+    public boolean replace(T updated) {
+        Long id = idExtractor.apply(updated);
+        for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+            List<T> rows = page.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (Objects.equals(idExtractor.apply(rows.get(i)), id)) {
+                    T previous = rows.set(i, updated);
+                    int index = page.getKey() * pageSize + i;
+                    beginChange();
+                    nextSet(index, previous);
+                    endChange();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add a newly created row at the end. Ids are assigned in increasing order, so a new
+     * row always sorts last.
+     */
+    public void append(T row) {
+        int index = size;
+        List<T> rows = pages.get(index / pageSize);
+        if (rows != null && rows.size() == index % pageSize) {
+            rows.add(row);
+        }
+        size++;
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    /**
+     * Remove a deleted row. Later rows shift up by one, so pages after it are dropped and
+     * fetched again when shown. If the row is not loaded its position is unknown and the
+     * whole list is refreshed.
+     *
+     * @return true if the row was loaded and removed
+     */
+    public boolean removeById(Long id) {
+        for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+            List<T> rows = page.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (Objects.equals(idExtractor.apply(rows.get(i)), id)) {
+                    int pageNumber = page.getKey();
+                    T removed = rows.remove(i);
+                    pages.keySet().removeIf(number -> number > pageNumber);
+                    nextCursors.keySet().removeIf(number -> number >= pageNumber);
+                    restartLoads();
+                    size--;
+                    beginChange();
+                    nextRemove(pageNumber * pageSize + i, removed);
+                    endChange();
+                    return true;
+                }
+            }
+        }
+        refresh();
+        return false;
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int pageNumber = index / pageSize;
+        List<T> rows = pages.get(pageNumber);
+        if (rows == null) {
+            requestPage(pageNumber);
+            return null;
+        }
+        int offset = index % pageSize;
+        if (offset < rows.size()) {
+            return rows.get(offset);
+        }
+        // The page lost a row to a deletion since it was fetched; read it again
+        pages.remove(pageNumber);
+        requestPage(pageNumber);
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Only loaded rows are searched, so selection bookkeeping never pulls in the whole table
+
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<T>> page : new ArrayList<>(pages.entrySet())) {
+            int offset = page.getValue().indexOf(o);
+            if (offset >= 0) {
+                return page.getKey() * pageSize + offset;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private void requestPage(int pageNumber) {
+        if (loading.containsKey(pageNumber)) {
+            return;
+        }
+        if (loading.size() >= maxCachedPages) {
+            // The oldest request has scrolled out of view and would be evicted on arrival anyway
+            Integer oldest = loading.keySet().iterator().next();
+            loading.remove(oldest).cancel(false);
+        }
+        int currentGeneration = generation;
+        String cursor = pageNumber == 0 ? null : nextCursors.get(pageNumber - 1);
+        boolean keyset = pageNumber == 0 || cursor != null;
+
+        Task<List<T>> task = asyncLoader.load(null, () -> keyset
+                ? source.fetchAfter(cursor, pageSize).getItems()
+                : source.fetchPage(pageNumber, pageSize), fetched -> {
+            if (currentGeneration != generation) {
+                return;
+            }
+            loading.remove(pageNumber);
+            pageLoaded(pageNumber, fetched);
+        }, error -> {
+            if (currentGeneration == generation) {
+                loading.remove(pageNumber);
+            }
+        });
+        loading.put(pageNumber, task);
+    }
+
+    /**
+     * Fetch the pages in flight again, since rows they read may have shifted.
+     */
+    private void restartLoads() {
+        List<Integer> inFlight = new ArrayList<>(loading.keySet());
+        generation++;
+        cancelLoads();
+        inFlight.forEach(this::requestPage);
+    }
+
+    /**
+     * Cancel the page loads in flight. Loads still queued never run; a load already running
+     * finishes and its result is dropped.
+     */
+    private void cancelLoads() {
+        loading.values().forEach(task -> task.cancel(false));
+        loading.clear();
+    }
+
+    private void pageLoaded(int pageNumber, List<T> fetched) {
+        List<T> rows = new ArrayList<>(fetched);
+        pages.put(pageNumber, rows);
+        if (!rows.isEmpty()) {
+            // Lets the next page be read with a keyset query
+            nextCursors.put(pageNumber, KeysetCursor.encode(idExtractor.apply(rows.get(rows.size() - 1))));
+        }
+
+        int from = pageNumber * pageSize;
+        int to = Math.min(from + rows.size(), size);
+        if (from < to) {
+            beginChange();
+            nextReplace(from, to, Collections.nCopies(to - from, null));
+            endChange();
+        }
+    }
+
+    private void resize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, null));
+        }
+        if (newSize > 0) {
+            nextAdd(0, newSize);
+        }
+        endChange();
+    }
+}
\ No newline at end of file
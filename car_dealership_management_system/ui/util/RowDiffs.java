@@ -0,0 +1,62 @@
+package com.cardealership.managementsystem.ui.util;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Row-level updates for lists of entities, matched by id since entities don't define
+ * equality.
+ */
+public final class RowDiffs {
+
+    private RowDiffs() {
+    }
+
+    /**
+     * Replace the row with the same id, if present.
+     *
+     * @return true if a row was replaced
+     */
+    public static <T> boolean replace(List<T> rows, T updated, Function<T, Long> idExtractor) {
+        int index = indexOf(rows, idExtractor.apply(updated), idExtractor);
+        if (index < 0) {
+            return false;
+        }
+        rows.set(index, updated);
+        return true;
+    }
+
+    /**
+     * Replace the row with the same id, or add it at the end.
+     */
+    public static <T> void upsert(List<T> rows, T row, Function<T, Long> idExtractor) {
+        if (!replace(rows, row, idExtractor)) {
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Remove the row with the given id, if present.
+     *
+     * @return true if a row was removed
+     */
+    public static <T> boolean remove(List<T> rows, Long id, Function<T, Long> idExtractor) {
+        int index = indexOf(rows, id, idExtractor);
+        if (index < 0) {
+            return false;
+        }
+        rows.remove(index);
+        return true;
+    }
+
+    private static <T> int indexOf(List<T> rows, Long id, Function<T, Long> idExtractor) {
+        for (int i = 0; i < rows.size(); i++) {
+            T row = rows.get(i);
+            if (row != null && Objects.equals(idExtractor.apply(row), id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.cardealership.managementsystem.ui.util;
+
+import javafx.application.Platform;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records how long the desktop client takes to reach its startup milestones, measured
+ * from JVM start. Enabled with {@code -Dapp.startup.report=true}; with
+ * {@code -Dapp.startup.measure=true} the application also exits once the dashboard is
+ * shown, so it can be run repeatedly by a script (or as an AppCDS training run).
+ */
+public final class StartupTimer {
+
+    public static final String FIRST_FRAME = "time-to-first-frame";
+    public static final String CONTEXT_READY = "time-to-context-ready";
+    public static final String DASHBOARD = "time-to-dashboard";
+
+    private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final Map<String, Long> milestones = new LinkedHashMap<>();
+
+    private StartupTimer() {
+    }
+
+    public static boolean isMeasuring() {
+        return Boolean.getBoolean("app.startup.measure");
+    }
+
+    private static boolean isReporting() {
+        return isMeasuring() || Boolean.getBoolean("app.startup.report");
+    }
+
+    /**
+     * Record a milestone the first time it is reached; later calls are ignored.
+     */
+    public static synchronized void mark(String milestone) {
+        if (milestones.containsKey(milestone)) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - JVM_START_MILLIS;
+        milestones.put(milestone, elapsed);
+        if (isReporting()) {
+            System.out.println("[startup] " + milestone + ": " + elapsed + " ms");
+        }
+
+        if (DASHBOARD.equals(milestone) && isMeasuring()) {
+            System.out.println("[startup] " + milestones);
+            Platform.exit();
+        }
+    }
+
+    public static synchronized Map<String, Long> getMilestones() {
+        return new LinkedHashMap<>(milestones);
+    }
+}
\ No newline at end of file